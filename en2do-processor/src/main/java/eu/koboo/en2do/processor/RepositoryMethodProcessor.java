@@ -0,0 +1,285 @@
+package eu.koboo.en2do.processor;
+
+import eu.koboo.en2do.operators.MethodOperator;
+import eu.koboo.en2do.parser.methods.MethodDescriptor;
+import eu.koboo.en2do.parser.methods.MethodDescriptorFile;
+import eu.koboo.en2do.parser.methods.MethodNameParser;
+import eu.koboo.en2do.parser.methods.MethodParseException;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.entity.TransformField;
+import eu.koboo.en2do.repository.methods.aggregate.Pipeline;
+import eu.koboo.en2do.repository.methods.async.Async;
+import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.repository.methods.sort.Sort;
+import eu.koboo.en2do.repository.methods.transform.NestedField;
+import eu.koboo.en2do.repository.methods.transform.Transform;
+import eu.koboo.en2do.repository.methods.watch.Watch;
+import eu.koboo.en2do.utility.MethodUtils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.io.OutputStreamWriter;
+import java.util.*;
+
+/**
+ * Runs the same method name parsing as the MongoManager on compile time.
+ * Invalid method names are reported as compile errors and the parsed method descriptors
+ * are written to "META-INF/en2do/methods/", so the MongoManager doesn't need to parse them again.
+ */
+@SupportedAnnotationTypes("*")
+public class RepositoryMethodProcessor extends AbstractProcessor {
+
+    /**
+     * These method names are handled by predefined methods of en2do.
+     */
+    private static final Set<String> PREDEFINED_METHOD_NAMES = new HashSet<>(Arrays.asList(
+        "equals", "hashCode", "toString", "getClass"
+    ));
+
+    static {
+        for (java.lang.reflect.Method method : Repository.class.getMethods()) {
+            PREDEFINED_METHOD_NAMES.add(method.getName());
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement repositoryElement = processingEnv.getElementUtils().getTypeElement(Repository.class.getName());
+        if (repositoryElement == null) {
+            return false;
+        }
+        List<TypeElement> repositoryTypeList = new ArrayList<>();
+        for (Element rootElement : roundEnv.getRootElements()) {
+            collectRepositoryTypes(rootElement, repositoryElement, repositoryTypeList);
+        }
+        for (TypeElement repositoryType : repositoryTypeList) {
+            processRepository(repositoryType, repositoryElement);
+        }
+        // We never claim any annotation, other processors should still be able to process them.
+        return false;
+    }
+
+    private void collectRepositoryTypes(Element element, TypeElement repositoryElement, List<TypeElement> repositoryTypeList) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        TypeElement typeElement = (TypeElement) element;
+        Types types = processingEnv.getTypeUtils();
+        if (typeElement.getKind() == ElementKind.INTERFACE
+            && !typeElement.equals(repositoryElement)
+            && types.isSubtype(types.erasure(typeElement.asType()), types.erasure(repositoryElement.asType()))) {
+            repositoryTypeList.add(typeElement);
+        }
+        for (Element enclosedElement : typeElement.getEnclosedElements()) {
+            collectRepositoryTypes(enclosedElement, repositoryElement, repositoryTypeList);
+        }
+    }
+
+    private void processRepository(TypeElement repositoryType, TypeElement repositoryElement) {
+        // The MongoManager only supports directly implemented repository interfaces.
+        TypeElement entityType = null;
+        for (TypeMirror interfaceType : repositoryType.getInterfaces()) {
+            DeclaredType declaredType = (DeclaredType) interfaceType;
+            if (!declaredType.asElement().equals(repositoryElement)) {
+                continue;
+            }
+            List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+            if (typeArguments.size() != 2 || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+                return;
+            }
+            entityType = (TypeElement) ((DeclaredType) typeArguments.get(0)).asElement();
+        }
+        if (entityType == null) {
+            return;
+        }
+
+        Map<String, String> sortedFieldMap = MethodNameParser.sortFieldNames(collectBsonNames(entityType));
+
+        boolean hasErrors = false;
+        List<MethodDescriptor> descriptorList = new ArrayList<>();
+        for (ExecutableElement methodElement : ElementFilter.methodsIn(repositoryType.getEnclosedElements())) {
+            Set<Modifier> modifiers = methodElement.getModifiers();
+            if (modifiers.contains(Modifier.DEFAULT) || modifiers.contains(Modifier.STATIC)) {
+                continue;
+            }
+            String originalMethodName = methodElement.getSimpleName().toString();
+            String methodName = originalMethodName;
+            Transform transform = methodElement.getAnnotation(Transform.class);
+            if (transform != null) {
+                methodName = transform.value();
+            }
+            if (PREDEFINED_METHOD_NAMES.contains(methodName) || PREDEFINED_METHOD_NAMES.contains(originalMethodName)) {
+                continue;
+            }
+            if (MethodUtils.IGNORED_DEFAULT_METHODS.contains(methodName)) {
+                continue;
+            }
+            if (methodElement.getAnnotation(Async.class) != null && methodName.startsWith("async")) {
+                // Async methods of the predefined methods are validated by the MongoManager.
+                continue;
+            }
+
+            Map<String, String> nestedFieldMap = new LinkedHashMap<>();
+            for (NestedField nestedField : methodElement.getAnnotationsByType(NestedField.class)) {
+                nestedFieldMap.put(nestedField.key(), nestedField.query());
+            }
+
+            MethodDescriptor methodDescriptor;
+            try {
+                methodDescriptor = MethodNameParser.parse(methodName, sortedFieldMap, nestedFieldMap);
+            } catch (MethodParseException e) {
+                error(methodElement, e.getMessage() + " Used in method \"" + originalMethodName + "\" of the repository " +
+                    repositoryType.getQualifiedName() + " with entity " + entityType.getQualifiedName() + ".");
+                hasErrors = true;
+                continue;
+            }
+            if (!validateParameterCount(methodElement, methodDescriptor)) {
+                hasErrors = true;
+                continue;
+            }
+            descriptorList.add(methodDescriptor);
+        }
+        if (hasErrors) {
+            return;
+        }
+        writeDescriptors(repositoryType, descriptorList);
+    }
+
+    private Map<String, String> collectBsonNames(TypeElement entityType) {
+        // Same as FieldUtils#collectFields, all fields of the entity and its super classes.
+        Map<String, String> bsonNameFieldMap = new HashMap<>();
+        TypeElement currentType = entityType;
+        while (currentType != null && !currentType.getQualifiedName().contentEquals(Object.class.getName())) {
+            for (VariableElement fieldElement : ElementFilter.fieldsIn(currentType.getEnclosedElements())) {
+                String fieldName = fieldElement.getSimpleName().toString();
+                String bsonName = fieldName;
+                TransformField transformField = fieldElement.getAnnotation(TransformField.class);
+                if (transformField != null && !transformField.value().trim().equalsIgnoreCase("")) {
+                    bsonName = transformField.value();
+                }
+                bsonNameFieldMap.put(bsonName, fieldName);
+            }
+            TypeMirror superType = currentType.getSuperclass();
+            if (superType.getKind() != TypeKind.DECLARED) {
+                break;
+            }
+            currentType = (TypeElement) ((DeclaredType) superType).asElement();
+        }
+        return bsonNameFieldMap;
+    }
+
+    private boolean validateParameterCount(ExecutableElement methodElement, MethodDescriptor methodDescriptor) {
+        String methodName = methodElement.getSimpleName().toString();
+        MethodOperator methodOperator = methodDescriptor.getMethodOperator();
+        List<? extends VariableElement> parameterList = methodElement.getParameters();
+        int methodParameterCount = parameterList.size();
+        int expectedParameterCount = methodDescriptor.getExpectedParameterCount();
+
+        if (methodOperator.isPageOperator() && methodParameterCount == 0) {
+            error(methodElement, "Method \"" + methodName + "\" needs a parameter of type " + Pagination.class.getName() + ".");
+            return false;
+        }
+        if (methodOperator == MethodOperator.WATCH && (methodParameterCount == 0 || !processingEnv.getTypeUtils()
+            .erasure(parameterList.get(methodParameterCount - 1).asType()).toString().equals(Watch.class.getName()))) {
+            error(methodElement, "Method \"" + methodName + "\" needs a parameter of type " + Watch.class.getName() + ".");
+            return false;
+        }
+        if (methodOperator == MethodOperator.AGGREGATE) {
+            // The parameters after the filters are bound into the placeholders of the pipeline.
+            if (methodElement.getAnnotation(Pipeline.class) == null) {
+                error(methodElement, "Method \"" + methodName + "\" requires the annotation " + Pipeline.class.getName() + ".");
+                return false;
+            }
+            if (methodParameterCount < expectedParameterCount) {
+                error(methodElement, "Method \"" + methodName + "\" expects at least " + expectedParameterCount +
+                    " parameters, but declares " + methodParameterCount + ".");
+                return false;
+            }
+            return true;
+        }
+        if (expectedParameterCount == methodParameterCount) {
+            return true;
+        }
+        if (methodParameterCount == 0) {
+            error(methodElement, "Method \"" + methodName + "\" expects " + expectedParameterCount +
+                " parameters, but declares " + methodParameterCount + ".");
+            return false;
+        }
+        // The last parameter could be a Sort, Pagination, UpdateBatch or Watch object.
+        TypeMirror lastParameterType = processingEnv.getTypeUtils().erasure(parameterList.get(methodParameterCount - 1).asType());
+        String lastParameterName = lastParameterType.toString();
+        boolean isSpecialParameter = false;
+        if (lastParameterName.equals(Sort.class.getName())) {
+            if (methodOperator.isPageOperator()) {
+                error(methodElement, "Method \"" + methodName + "\" is not allowed to use " + Sort.class.getName() + ".");
+                return false;
+            }
+            isSpecialParameter = true;
+        }
+        if (lastParameterName.equals(Pagination.class.getName())) {
+            if (!methodOperator.isPageOperator()) {
+                error(methodElement, "Method \"" + methodName + "\" is not allowed to use " + Pagination.class.getName() + ".");
+                return false;
+            }
+            isSpecialParameter = true;
+        }
+        if (lastParameterName.equals(UpdateBatch.class.getName())) {
+            if (methodOperator != MethodOperator.UPDATE_FIELD) {
+                error(methodElement, "Method \"" + methodName + "\" is not allowed to use " + UpdateBatch.class.getName() + ".");
+                return false;
+            }
+            isSpecialParameter = true;
+        }
+        if (lastParameterName.equals(Watch.class.getName())) {
+            if (methodOperator != MethodOperator.WATCH) {
+                error(methodElement, "Method \"" + methodName + "\" is not allowed to use " + Watch.class.getName() + ".");
+                return false;
+            }
+            isSpecialParameter = true;
+        }
+        if (isSpecialParameter && (expectedParameterCount + 1) != methodParameterCount) {
+            error(methodElement, "Method \"" + methodName + "\" expects " + (expectedParameterCount + 1) +
+                " parameters, but declares " + methodParameterCount + ".");
+            return false;
+        }
+        return true;
+    }
+
+    private void writeDescriptors(TypeElement repositoryType, List<MethodDescriptor> descriptorList) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(repositoryType).toString();
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                MethodDescriptorFile.resourcePath(binaryName), repositoryType);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                MethodDescriptorFile.write(writer, descriptorList);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Couldn't write en2do method descriptors of " + binaryName + ": " + e.getMessage(), repositoryType);
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,60 @@
+package eu.koboo.en2do.benchmark;
+
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.SettingsBuilder;
+import eu.koboo.en2do.test.user.UserRepository;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Compares the dispatch of the java.lang.reflect.Proxy with the generated repository classes.
+ * Only predefined methods without any database access are called, so the measured time
+ * is the overhead of en2do itself. Run it with "gradle benchmark", it isn't part of the test-suite.
+ */
+public class RepositoryDispatchBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURE_ITERATIONS = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        MongoManager proxyManager = new MongoManager(new SettingsBuilder()
+            .disableMongoDBLogger());
+        MongoManager generatedManager = new MongoManager(new SettingsBuilder()
+            .disableMongoDBLogger()
+            .enableRepositoryClassGeneration());
+        try {
+            UserRepository proxyRepository = proxyManager.create(UserRepository.class);
+            UserRepository generatedRepository = generatedManager.create(UserRepository.class);
+            if (!Proxy.isProxyClass(proxyRepository.getClass()) || Proxy.isProxyClass(generatedRepository.getClass())) {
+                throw new IllegalStateException("The repository class wasn't generated, is byte-buddy missing?");
+            }
+
+            measure(proxyRepository, WARMUP_ITERATIONS);
+            measure(generatedRepository, WARMUP_ITERATIONS);
+            for (int round = 1; round <= ROUNDS; round++) {
+                long proxyNanos = measure(proxyRepository, MEASURE_ITERATIONS);
+                long generatedNanos = measure(generatedRepository, MEASURE_ITERATIONS);
+                System.out.printf("Round %d: proxy %.2f ns/op, generated %.2f ns/op%n", round,
+                    (double) proxyNanos / MEASURE_ITERATIONS, (double) generatedNanos / MEASURE_ITERATIONS);
+            }
+        } finally {
+            proxyManager.close();
+            generatedManager.close();
+        }
+    }
+
+    private static long measure(UserRepository repository, int iterations) {
+        long hashSum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            hashSum += repository.getCollectionName().length();
+            hashSum += repository.getEntityClass().hashCode();
+        }
+        long duration = System.nanoTime() - start;
+        if (hashSum == 0) {
+            throw new IllegalStateException("The calls were eliminated.");
+        }
+        return duration;
+    }
+}
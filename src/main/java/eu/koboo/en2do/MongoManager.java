@@ -6,39 +6,59 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import eu.koboo.en2do.mongodb.InvocationPlan;
 import eu.koboo.en2do.mongodb.RepositoryData;
 import eu.koboo.en2do.mongodb.RepositoryInvocationHandler;
 import eu.koboo.en2do.mongodb.Validator;
+import eu.koboo.en2do.mongodb.advisor.IndexAdvice;
+import eu.koboo.en2do.mongodb.advisor.IndexAdvisor;
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
+import eu.koboo.en2do.mongodb.bulk.BulkWriteEngine;
+import eu.koboo.en2do.mongodb.cache.EntityCache;
 import eu.koboo.en2do.mongodb.codec.InternalPropertyCodecProvider;
 import eu.koboo.en2do.mongodb.convention.AnnotationConvention;
 import eu.koboo.en2do.mongodb.convention.MethodMappingConvention;
+import eu.koboo.en2do.mongodb.explain.ExplainSampler;
 import eu.koboo.en2do.mongodb.exception.methods.*;
 import eu.koboo.en2do.mongodb.exception.repository.RepositoryIdNotFoundException;
 import eu.koboo.en2do.mongodb.exception.repository.RepositoryInvalidException;
 import eu.koboo.en2do.mongodb.exception.repository.RepositoryNameDuplicateException;
+import eu.koboo.en2do.mongodb.exception.repository.RepositoryWriteBehindException;
+import eu.koboo.en2do.mongodb.exception.returntype.MethodFieldReturnTypeException;
+import eu.koboo.en2do.mongodb.exception.returntype.MethodIdReturnTypeException;
+import eu.koboo.en2do.mongodb.generator.RepositoryClassGenerator;
 import eu.koboo.en2do.mongodb.methods.dynamic.IndexedFilter;
 import eu.koboo.en2do.mongodb.methods.dynamic.IndexedMethod;
+import eu.koboo.en2do.mongodb.methods.dynamic.RegexPatternCache;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
 import eu.koboo.en2do.mongodb.methods.predefined.impl.*;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
 import eu.koboo.en2do.operators.Chain;
-import eu.koboo.en2do.operators.FilterOperator;
 import eu.koboo.en2do.operators.MethodOperator;
 import eu.koboo.en2do.parser.RepositoryParser;
+import eu.koboo.en2do.parser.methods.*;
 import eu.koboo.en2do.repository.Collection;
 import eu.koboo.en2do.repository.Repository;
 import eu.koboo.en2do.repository.entity.Id;
+import eu.koboo.en2do.repository.methods.aggregate.Pipeline;
 import eu.koboo.en2do.repository.methods.async.Async;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
 import eu.koboo.en2do.repository.methods.pagination.Pagination;
 import eu.koboo.en2do.repository.methods.sort.*;
 import eu.koboo.en2do.repository.methods.transform.NestedField;
 import eu.koboo.en2do.repository.methods.transform.Transform;
+import eu.koboo.en2do.repository.methods.watch.Watch;
+import eu.koboo.en2do.repository.options.BatchLookups;
+import eu.koboo.en2do.repository.options.CacheEntities;
 import eu.koboo.en2do.repository.options.DropEntitiesOnStart;
 import eu.koboo.en2do.repository.options.DropIndexesOnStart;
+import eu.koboo.en2do.repository.options.WriteBehind;
 import eu.koboo.en2do.utility.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.java.Log;
 import org.bson.UuidRepresentation;
 import org.bson.codecs.Codec;
 import org.bson.codecs.configuration.CodecRegistry;
@@ -53,12 +73,17 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
+@Log
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @SuppressWarnings("unused")
 public class MongoManager {
@@ -69,12 +94,35 @@ public class MongoManager {
 
     Map<Class<?>, RepositoryData<?, ?, ?>> repositoryDataByClassMap;
     Map<Class<?>, Repository<?, ?>> repositoryByClassRegistry;
+    Map<Class<?>, List<IndexAdvice>> indexAdviceByClassMap;
     Map<String, GlobalPredefinedMethod> predefinedMethodRegistry;
+    @Getter
     ExecutorService executorService;
+    // Only created, if the chunks of bulk operations are sent concurrently.
+    // Separated from the executor of the async methods, which would deadlock on waiting for its own chunks.
+    @Getter
+    ExecutorService fanOutExecutorService;
 
     InternalPropertyCodecProvider internalPropertyCodecProvider;
     CodecRegistry codecRegistry;
 
+    @Getter
+    RegexPatternCache regexPatternCache;
+
+    @Getter
+    BulkWriteEngine bulkWriteEngine;
+
+    @Getter
+    ExplainSampler explainSampler;
+
+    // Only created, if any repository uses the write-behind mode.
+    @NonFinal
+    ScheduledExecutorService writeBehindScheduler;
+
+    // Only created, if any repository batches its lookups.
+    @NonFinal
+    ScheduledExecutorService lookupBatchScheduler;
+
     @Getter
     MongoClient mongoClient;
 
@@ -91,11 +139,20 @@ public class MongoManager {
         this.parser = new RepositoryParser(settingsBuilder);
         this.repositoryDataByClassMap = new ConcurrentHashMap<>();
         this.repositoryByClassRegistry = new ConcurrentHashMap<>();
+        this.indexAdviceByClassMap = new ConcurrentHashMap<>();
         this.predefinedMethodRegistry = new LinkedHashMap<>();
         if (executorService == null) {
             executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
         }
         this.executorService = executorService;
+        if (settingsBuilder.isConcurrentBulkWrites() || settingsBuilder.isConcurrentIdLookups()) {
+            this.fanOutExecutorService = createFanOutExecutorService();
+        } else {
+            this.fanOutExecutorService = null;
+        }
+        this.regexPatternCache = new RegexPatternCache();
+        this.bulkWriteEngine = new BulkWriteEngine(settingsBuilder, fanOutExecutorService);
+        this.explainSampler = new ExplainSampler(settingsBuilder);
 
         // If no credentials given, try loading them from the default sources,
         // like resource files, system properties of environment variables.
@@ -173,12 +230,59 @@ public class MongoManager {
         this(null, null, null);
     }
 
+    /**
+     * Returns the data of an already created repository, e.g. to read the statistics of its entity cache
+     * or write-behind buffer.
+     *
+     * @param repositoryClass The class of the repository
+     * @param <E>             The generic type of the entity
+     * @param <ID>            The generic type of the entity id
+     * @param <R>             The generic type of the repository
+     * @return The data of the repository, or null if the repository wasn't created yet
+     */
+    @SuppressWarnings("unchecked")
+    public <E, ID, R extends Repository<E, ID>> RepositoryData<E, ID, R> getRepositoryData(Class<R> repositoryClass) {
+        return (RepositoryData<E, ID, R>) repositoryDataByClassMap.get(repositoryClass);
+    }
+
     public void close() {
         close(true);
     }
 
     public void close(boolean shutdownExecutorService) {
+        // The failed flushes don't stop the closing, they are thrown after everything was closed.
+        List<Exception> flushExceptionList = new ArrayList<>();
         try {
+            // The buffered writes need to be flushed, before the client is closed.
+            for (RepositoryData<?, ?, ?> meta : repositoryDataByClassMap.values()) {
+                if (meta.getWriteBehindBuffer() == null) {
+                    continue;
+                }
+                try {
+                    BulkResult bulkResult = meta.getWriteBehindBuffer().close();
+                    if (!bulkResult.isSuccessful()) {
+                        flushExceptionList.add(new RepositoryWriteBehindException(meta.getRepositoryClass(), bulkResult));
+                    }
+                } catch (Exception e) {
+                    flushExceptionList.add(e);
+                }
+            }
+            if (writeBehindScheduler != null) {
+                writeBehindScheduler.shutdown();
+                writeBehindScheduler = null;
+            }
+            for (RepositoryData<?, ?, ?> meta : repositoryDataByClassMap.values()) {
+                if (meta.getLookupBatcher() != null) {
+                    meta.getLookupBatcher().close();
+                }
+            }
+            if (lookupBatchScheduler != null) {
+                lookupBatchScheduler.shutdown();
+                lookupBatchScheduler = null;
+            }
+            if (fanOutExecutorService != null) {
+                fanOutExecutorService.shutdown();
+            }
             if (executorService != null && shutdownExecutorService) {
                 executorService.shutdown();
             }
@@ -187,15 +291,26 @@ public class MongoManager {
                 meta.destroy();
             }
             repositoryDataByClassMap.clear();
+            indexAdviceByClassMap.clear();
+            explainSampler.clear();
             if (mongoClient != null) {
                 mongoClient.close();
             }
             if (parser != null) {
                 parser.destroy();
             }
+            regexPatternCache.clear();
         } catch (Exception e) {
             throw new RuntimeException("Error while closing: " + MongoManager.class, e);
         }
+        if (!flushExceptionList.isEmpty()) {
+            RuntimeException exception = new RuntimeException("Couldn't flush the buffered writes of " +
+                flushExceptionList.size() + " repositories while closing: " + MongoManager.class, flushExceptionList.get(0));
+            for (int i = 1; i < flushExceptionList.size(); i++) {
+                exception.addSuppressed(flushExceptionList.get(i));
+            }
+            throw exception;
+        }
     }
 
     private void registerPredefinedMethod(GlobalPredefinedMethod predefinedMethod) {
@@ -219,8 +334,12 @@ public class MongoManager {
         registerPredefinedMethod(new MethodEquals());
         registerPredefinedMethod(new MethodExists());
         registerPredefinedMethod(new MethodExistsById());
+        registerPredefinedMethod(new MethodExistsManyById());
         registerPredefinedMethod(new MethodFindAll());
         registerPredefinedMethod(new MethodFindFirstById());
+        registerPredefinedMethod(new MethodFindManyById());
+        registerPredefinedMethod(new MethodFindManyByIdOrdered());
+        registerPredefinedMethod(new MethodFlush());
         registerPredefinedMethod(new MethodGetClass());
         registerPredefinedMethod(new MethodGetCollectionName());
         registerPredefinedMethod(new MethodGetEntityClass());
@@ -229,12 +348,96 @@ public class MongoManager {
         registerPredefinedMethod(new MethodGetUniqueId());
         registerPredefinedMethod(new MethodHashCode());
         registerPredefinedMethod(new MethodInsertAll());
+        registerPredefinedMethod(new MethodMissingIds());
         registerPredefinedMethod(new MethodPageAll());
+        registerPredefinedMethod(new MethodPageAllWithCount());
         registerPredefinedMethod(new MethodSave());
+        registerPredefinedMethod(new MethodSaveAndReturnPrevious());
         registerPredefinedMethod(new MethodSaveAll());
         registerPredefinedMethod(new MethodSortAll());
+        registerPredefinedMethod(new MethodStreamAll());
         registerPredefinedMethod(new MethodToString());
         registerPredefinedMethod(new MethodUpdateAllFields());
+        registerPredefinedMethod(new MethodWatch());
+    }
+
+    private <E, ID, R extends Repository<E, ID>> EntityCache<E, ID> createEntityCache(Class<R> repositoryClass,
+                                                                                   MongoCollection<E> entityCollection) {
+        CacheEntities cacheEntities = repositoryClass.getAnnotation(CacheEntities.class);
+        if (cacheEntities == null) {
+            return null;
+        }
+        // The codec registry of the collection applies the uuid representation of the client.
+        Codec<E> entityCodec = entityCollection.getCodecRegistry().get(entityCollection.getDocumentClass());
+        return new EntityCache<>(entityCodec,
+            cacheEntities.maximumSize(), cacheEntities.expireAfterWriteMillis());
+    }
+
+    private ExecutorService createFanOutExecutorService() {
+        int maximumPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        // The pool never queues, if all threads are busy, the calling thread sends the chunk itself.
+        // So a chunk never waits behind the callers, which are waiting for it.
+        return new ThreadPoolExecutor(0, maximumPoolSize, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "en2do-fan-out");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private <E, ID, R extends Repository<E, ID>> WriteBehindBuffer<E, ID> createWriteBehindBuffer(Class<R> repositoryClass,
+                                                                                             MongoCollection<E> entityCollection,
+                                                                                             EntityCache<E, ID> entityCache) {
+        WriteBehind writeBehind = repositoryClass.getAnnotation(WriteBehind.class);
+        int maxBufferSize;
+        long flushIntervalMillis;
+        int maxAttempts;
+        if (writeBehind != null) {
+            maxBufferSize = writeBehind.maxBufferSize();
+            flushIntervalMillis = writeBehind.flushIntervalMillis();
+            maxAttempts = writeBehind.maxAttempts();
+        } else if (settingsBuilder.isWriteBehind()) {
+            maxBufferSize = 1000;
+            flushIntervalMillis = 1000;
+            maxAttempts = WriteBehindBuffer.DEFAULT_MAX_ATTEMPTS;
+        } else {
+            return null;
+        }
+        if (writeBehindScheduler == null) {
+            writeBehindScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "en2do-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        WriteBehindBuffer<E, ID> writeBehindBuffer = new WriteBehindBuffer<>(bulkWriteEngine, entityCollection,
+            entityCache, maxBufferSize, maxAttempts);
+        writeBehindBuffer.schedule(writeBehindScheduler, flushIntervalMillis);
+        return writeBehindBuffer;
+    }
+
+    private <E, ID, R extends Repository<E, ID>> void enableLookupBatching(RepositoryData<E, ID, R> repositoryData) {
+        BatchLookups batchLookups = repositoryData.getRepositoryClass().getAnnotation(BatchLookups.class);
+        int maxBatchSize;
+        long windowMillis;
+        if (batchLookups != null) {
+            maxBatchSize = batchLookups.maxBatchSize();
+            windowMillis = batchLookups.windowMillis();
+        } else if (settingsBuilder.isBatchLookups()) {
+            maxBatchSize = 100;
+            windowMillis = 2;
+        } else {
+            return;
+        }
+        if (lookupBatchScheduler == null) {
+            // The batches are loaded on these threads, so the window doesn't block the executor.
+            lookupBatchScheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "en2do-lookup-batch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        repositoryData.enableLookupBatching(lookupBatchScheduler, maxBatchSize, windowMillis);
     }
 
     @SuppressWarnings("unchecked")
@@ -281,14 +484,28 @@ public class MongoManager {
             // Creating the native mongodb collection object,
             // and it's respective repository data object.
             MongoCollection<E> entityCollection = mongoDatabase.getCollection(entityCollectionName, entityClass);
+            EntityCache<E, ID> entityCache = createEntityCache(repositoryClass, entityCollection);
             RepositoryData<E, ID, R> repositoryData = new RepositoryData<>(this,
                 repositoryClass, entityClass,
                 entityFieldSet,
                 entityIdClass, entityUniqueIdField,
-                entityCollection, entityCollectionName
+                entityCollection, entityCollectionName,
+                CollationUtils.parseEntityCollation(repositoryClass, entityClass),
+                createWriteBehindBuffer(repositoryClass, entityCollection, entityCache),
+                entityCache
             );
+            enableLookupBatching(repositoryData);
 
             Map<String, Field> sortedFieldMap = parser.parseSortedFieldBsonNames(entityClass);
+            Map<String, String> sortedFieldNameMap = new LinkedHashMap<>();
+            Map<String, Field> entityFieldByNameMap = new HashMap<>();
+            for (Field field : sortedFieldMap.values()) {
+                sortedFieldNameMap.put(field.getName(), FieldUtils.parseBsonName(field));
+                entityFieldByNameMap.put(field.getName(), field);
+            }
+
+            // Load the method descriptors, which were created by the en2do-processor on compile time.
+            Map<String, MethodDescriptor> precompiledDescriptorMap = MethodDescriptorFile.read(repositoryClass);
 
             // Iterate through the repository methods
             for (Method method : repositoryClass.getMethods()) {
@@ -341,171 +558,111 @@ public class MongoManager {
                 }
 
 
-                // Parse the MethodOperator by the methodName
-                MethodOperator methodOperator = MethodOperator.parseMethodStartsWith(methodName);
-                if (methodOperator == null) {
-                    throw new MethodNoMethodOperatorException(method, repositoryClass);
+                // Use the method descriptor of the en2do-processor if it's available and still matches the entity,
+                // otherwise parse, validate and handle the method name and "compile" it
+                // so en2do can use the extracted information for the internal usage.
+                Map<String, String> nestedFieldMap = new LinkedHashMap<>();
+                for (NestedField nestedField : AnnotationUtils.getNestedKeySet(method)) {
+                    nestedFieldMap.put(nestedField.key(), nestedField.query());
+                }
+                MethodDescriptor methodDescriptor = precompiledDescriptorMap.get(methodName);
+                if (methodDescriptor == null || isOutdated(methodDescriptor, sortedFieldNameMap, nestedFieldMap)) {
+                    methodDescriptor = parseMethodDescriptor(method, methodName, sortedFieldNameMap, nestedFieldMap,
+                        entityClass, repositoryClass);
                 }
+                MethodOperator methodOperator = methodDescriptor.getMethodOperator();
 
                 // Check the returnTypes by using the predefined validator.
                 methodOperator.validate(method, returnType, entityClass, repositoryClass);
 
-                // Remove the leading methodOperator to ensure it doesn't trick the validation
-                String strippedMethodName = methodOperator.removeOperatorFrom(methodName);
-
-                // Parse the defined entity count, by checking for the keywords
-                // "Top" - The first X entities
-                // "Many" - All entities
-                // "First" - Only the first entity
-                Long methodDefinedEntityCount = null;
-                if (strippedMethodName.startsWith("Top")) {
-                    strippedMethodName = strippedMethodName.replaceFirst("Top", "");
-                    if (strippedMethodName.startsWith("0")) {
-                        throw new RuntimeException("The number you want to filter can not start with \"0\".");
+                // Check if the ids are returned as the type of the id field.
+                if (methodOperator.isIdOperator()) {
+                    Class<?> returnedIdClass = GenericUtils.getElementTypeOfReturnType(method, isAsyncMethod);
+                    if (GenericUtils.isNotTypeOf(returnedIdClass, entityIdClass)) {
+                        throw new MethodIdReturnTypeException(method, repositoryClass, entityIdClass, returnedIdClass);
                     }
-                    methodDefinedEntityCount = MethodUtils.getPrefixedNumber(strippedMethodName);
-                    if (methodDefinedEntityCount == 0) {
-                        throw new RuntimeException("The number 0 is not a valid top number.");
-                    }
-                    strippedMethodName = strippedMethodName.replaceFirst(String.valueOf(methodDefinedEntityCount), "");
-                }
-                if (strippedMethodName.startsWith("Many")) {
-                    strippedMethodName = strippedMethodName.replaceFirst("Many", "");
-                    methodDefinedEntityCount = -1L;
                 }
-                if (strippedMethodName.startsWith("First")) {
-                    strippedMethodName = strippedMethodName.replaceFirst("First", "");
-                    methodDefinedEntityCount = 1L;
-                }
-
-                // Remove the string "By" from the method name.
-                strippedMethodName = strippedMethodName.replaceFirst("By", "");
-
-                // Parse, validate and handle the method name and "compile" it
-                // so en2do can use the extracted information for the internal usage.
-                Set<NestedField> nestedFieldSet = AnnotationUtils.getNestedKeySet(method);
-
-                // Counts for further validation
-                int expectedParameterCount = 0;
-                int nextParameterIndex = 0;
-                int itemCount = 0;
-
-                // The list of the filters of this method.
-                List<IndexedFilter> indexedFilterList = new LinkedList<>();
 
-                // The previous method name, but stripped by the method operator.
-                // So only the filters are left and lower cased.
-                String loweredStrip = strippedMethodName.toLowerCase(Locale.ROOT);
-
-                // Chain represents either AND or OR for all filters.
-                Chain chain = null;
-
-                // We are using a while loop. Just to ensure we are not doing
-                // infinite loops, we also track the execution amount using the safeBreakAmount.
-                int safeBreakAmount = 200;
-                while (!loweredStrip.equalsIgnoreCase("") && safeBreakAmount > 0) {
-                    // Add safe break to avoid infinite loops
-                    safeBreakAmount--;
-
-                    String bsonFilterKey = null;
-                    // Check if we can find any nested fields
-                    for (NestedField nestedField : nestedFieldSet) {
-                        String loweredKey = nestedField.key().toLowerCase(Locale.ROOT);
-                        if (!loweredStrip.startsWith(loweredKey)) {
-                            continue;
-                        }
-                        loweredStrip = loweredStrip.replaceFirst(loweredKey, "");
-                        bsonFilterKey = nestedField.query();
-                        break;
+                // Check if the field of field operators can be returned as the return type.
+                String targetFieldName = methodDescriptor.getTargetFieldName();
+                if (targetFieldName != null) {
+                    Field targetField = entityFieldByNameMap.get(targetFieldName);
+                    Class<?> fieldClass = targetField.getType();
+                    Class<?> targetReturnType = returnType;
+                    if (methodOperator == MethodOperator.COUNT_GROUPED) {
+                        targetReturnType = GenericUtils.getMapTypesOfReturnType(method, isAsyncMethod)[0];
                     }
-
-                    // Check if we can find any direct entity fields
-                    Field entityField = null;
-                    for (Field field : sortedFieldMap.values()) {
-                        String fieldName = field.getName();
-                        String loweredFieldName = fieldName.toLowerCase(Locale.ROOT);
-                        if (!loweredStrip.startsWith(loweredFieldName)) {
-                            continue;
+                    if (methodOperator == MethodOperator.DISTINCT) {
+                        targetReturnType = GenericUtils.getElementTypeOfReturnType(method, isAsyncMethod);
+                        // The values of array fields are returned separately.
+                        if (fieldClass.isArray()) {
+                            fieldClass = fieldClass.getComponentType();
+                        } else if (java.util.Collection.class.isAssignableFrom(fieldClass)) {
+                            fieldClass = GenericUtils.getGenericTypeOfField(targetField, 0);
                         }
-                        loweredStrip = loweredStrip.replaceFirst(loweredFieldName, "");
-                        entityField = field;
-                        bsonFilterKey = FieldUtils.parseBsonName(field);
-                        break;
-                    }
-
-                    // Check if we found any field.
-                    if (bsonFilterKey == null) {
-                        throw new MethodFieldNotFoundException(strippedMethodName, method, entityClass, repositoryClass);
                     }
-
-                    boolean notFilter = false;
-                    if (loweredStrip.startsWith("not")) {
-                        notFilter = true;
-                        loweredStrip = loweredStrip.replaceFirst("not", "");
-                    }
-
-                    FilterOperator filterOperator = FilterOperator.EQUALS;
-                    for (FilterOperator value : FilterOperator.VALUES) {
-                        if (loweredStrip.startsWith("and") || loweredStrip.startsWith("or")) {
-                            break;
-                        }
-                        if (value == FilterOperator.EQUALS) {
-                            continue;
-                        }
-                        String loweredKeyword = value.getKeyword().toLowerCase(Locale.ROOT);
-                        boolean startsWith = loweredStrip.startsWith(loweredKeyword);
-                        if (!startsWith) {
-                            continue;
-                        }
-                        loweredStrip = loweredStrip.replaceFirst(loweredKeyword, "");
-                        filterOperator = value;
-                        break;
-                    }
-
-                    if (loweredStrip.startsWith("and")) {
-                        loweredStrip = loweredStrip.replaceFirst("and", "");
-                        if (chain != null && chain != Chain.AND) {
-                            throw new MethodDuplicatedChainException(method, repositoryClass);
-                        }
-                        chain = Chain.AND;
-                    } else if (loweredStrip.startsWith("or")) {
-                        loweredStrip = loweredStrip.replaceFirst("or", "");
-                        if (chain != null && chain != Chain.OR) {
-                            throw new MethodDuplicatedChainException(method, repositoryClass);
-                        }
-                        chain = Chain.OR;
+                    boolean isNumberField = GenericUtils.isNumber(fieldClass);
+                    boolean invalidNumberField = (methodOperator == MethodOperator.SUM || methodOperator == MethodOperator.AVG)
+                        && !isNumberField;
+                    boolean invalidFieldType = !(isNumberField && GenericUtils.isNumber(targetReturnType))
+                        && GenericUtils.isNotTypeOf(GenericUtils.boxType(targetReturnType), GenericUtils.boxType(fieldClass));
+                    if (invalidNumberField || invalidFieldType) {
+                        throw new MethodFieldReturnTypeException(method, repositoryClass, targetFieldName,
+                            fieldClass, targetReturnType);
                     }
+                }
 
-                    if (entityField != null) {
-                        Validator.validateTypes(repositoryClass, method, entityField, filterOperator, nextParameterIndex);
+                // The list of the filters of this method.
+                List<IndexedFilter> indexedFilterList = new LinkedList<>();
+                for (FilterDescriptor filterDescriptor : methodDescriptor.getFilterList()) {
+                    String fieldName = filterDescriptor.getFieldName();
+                    Field entityField = null;
+                    if (fieldName != null) {
+                        entityField = entityFieldByNameMap.get(fieldName);
+                        Validator.validateTypes(repositoryClass, method, entityField,
+                            filterDescriptor.getOperator(), filterDescriptor.getNextParameterIndex());
                     }
-
-                    IndexedFilter indexedFilter = new IndexedFilter(bsonFilterKey, notFilter, filterOperator, nextParameterIndex);
-                    indexedFilterList.add(indexedFilter);
-                    int operatorParameterCount = filterOperator.getExpectedParameterCount();
-                    expectedParameterCount += operatorParameterCount;
-                    nextParameterIndex = itemCount + operatorParameterCount;
-                    itemCount += 1;
-                }
-                if (chain == null) {
-                    chain = Chain.NONE;
+                    indexedFilterList.add(new IndexedFilter(filterDescriptor.getBsonFilterFieldKey(),
+                        filterDescriptor.isNotFilter(), filterDescriptor.getOperator(),
+                        filterDescriptor.getNextParameterIndex(),
+                        CollationUtils.isCollationSensitive(filterDescriptor.getOperator(), entityField)));
                 }
+                Chain chain = methodDescriptor.getChain();
+                Long methodDefinedEntityCount = methodDescriptor.getMethodDefinedEntityCount();
+                int expectedParameterCount = methodDescriptor.getExpectedParameterCount();
 
                 int methodParameterCount = method.getParameterCount();
 
                 // If the method is a pageBy, it needs at least one parameter of type Pagination
-                if (methodOperator == MethodOperator.PAGE && methodParameterCount == 0) {
+                if (methodOperator.isPageOperator() && methodParameterCount == 0) {
                     throw new MethodPageRequiredException(method, repositoryClass, Pagination.class);
                 }
 
+                // If the method is a watchBy, it needs a Watch as last parameter.
+                if (methodOperator == MethodOperator.WATCH && (methodParameterCount == 0
+                    || !Watch.class.isAssignableFrom(method.getParameterTypes()[methodParameterCount - 1]))) {
+                    throw new MethodWatchRequiredException(method, repositoryClass, Watch.class);
+                }
+
+                // If the method is an aggregation, it needs a pipeline. The parameters after the filters
+                // are bound into the placeholders of the pipeline, which are validated with the invocation plan.
+                if (methodOperator == MethodOperator.AGGREGATE) {
+                    if (!method.isAnnotationPresent(Pipeline.class)) {
+                        throw new MethodPipelineRequiredException(method, repositoryClass, Pipeline.class);
+                    }
+                    if (methodParameterCount < expectedParameterCount) {
+                        throw new MethodParameterCountException(method, repositoryClass, expectedParameterCount, methodParameterCount);
+                    }
+                }
+
                 // Validate the parameterCount of the filters and the method parameters itself.
-                if (expectedParameterCount != methodParameterCount) {
+                if (methodOperator != MethodOperator.AGGREGATE && expectedParameterCount != methodParameterCount) {
                     if (methodParameterCount > 0) {
                         // Subtract 1 from parameterCount. This object could be a Sort or Pagination object.
                         // That means, the expectedParameterCount is less than the actualParameterCount.
                         Class<?> lastMethodParameter = method.getParameterTypes()[methodParameterCount - 1];
                         if (lastMethodParameter.isAssignableFrom(Sort.class)) {
-                            if (methodOperator == MethodOperator.PAGE) {
+                            if (methodOperator.isPageOperator()) {
                                 throw new MethodSortNotAllowedException(method, repositoryClass);
                             }
                             if ((expectedParameterCount + 1) != methodParameterCount) {
@@ -513,7 +670,7 @@ public class MongoManager {
                             }
                         }
                         if (lastMethodParameter.isAssignableFrom(Pagination.class)) {
-                            if (methodOperator != MethodOperator.PAGE) {
+                            if (!methodOperator.isPageOperator()) {
                                 throw new MethodPageNotAllowedException(method, repositoryClass);
                             }
                             if ((expectedParameterCount + 1) != methodParameterCount) {
@@ -528,6 +685,14 @@ public class MongoManager {
                                 throw new MethodParameterCountException(method, repositoryClass, (expectedParameterCount + 1), methodParameterCount);
                             }
                         }
+                        if (lastMethodParameter.isAssignableFrom(Watch.class)) {
+                            if (methodOperator != MethodOperator.WATCH) {
+                                throw new MethodWatchNotAllowedException(method, repositoryClass);
+                            }
+                            if ((expectedParameterCount + 1) != methodParameterCount) {
+                                throw new MethodParameterCountException(method, repositoryClass, (expectedParameterCount + 1), methodParameterCount);
+                            }
+                        }
                     } else {
                         throw new MethodParameterCountException(method, repositoryClass, expectedParameterCount, methodParameterCount);
                     }
@@ -536,7 +701,7 @@ public class MongoManager {
                 // Check if the method has the Sort annotation set.
                 SortBy sortAnnotation = method.getAnnotation(SortBy.class);
                 if (sortAnnotation != null) {
-                    if (methodOperator == MethodOperator.PAGE) {
+                    if (methodOperator.isPageOperator()) {
                         throw new MethodSortNotAllowedException(method, repositoryClass);
                     }
                     String sortFieldName = sortAnnotation.field();
@@ -565,7 +730,7 @@ public class MongoManager {
                 IndexedMethod<E, ID, R> dynamicMethod = new IndexedMethod<>(
                     method, methodOperator, chain,
                     methodDefinedEntityCount,
-                    indexedFilterList, repositoryData);
+                    indexedFilterList, methodDescriptor.getTargetBsonFieldKey(), repositoryData);
                 repositoryData.registerDynamicMethod(methodName, dynamicMethod);
             }
 
@@ -587,11 +752,27 @@ public class MongoManager {
             //                       //
             ///////////////////////////
 
+            RepositoryInvocationHandler<E, ID, R> invocationHandler = new RepositoryInvocationHandler<>(repositoryData,
+                executorService, predefinedMethodRegistry);
+            invocationHandler.compileInvocationPlans();
+
+            if (settingsBuilder.isIndexAdvisor()) {
+                adviseIndexes(repositoryData, invocationHandler);
+            }
+
+            // Create generated repository object, if enabled and possible.
+            Repository<E, ID> repository = null;
+            if (settingsBuilder.isGenerateRepositoryClasses()) {
+                repository = generateRepository(repositoryClass, invocationHandler);
+            }
+
             // Create dynamic repository proxy object
-            ClassLoader repoClassLoader = repositoryClass.getClassLoader();
-            Class<?>[] interfaces = new Class[]{repositoryClass};
-            Repository<E, ID> repository = (Repository<E, ID>) Proxy.newProxyInstance(repoClassLoader, interfaces,
-                new RepositoryInvocationHandler<>(repositoryData, executorService, predefinedMethodRegistry));
+            if (repository == null) {
+                ClassLoader repoClassLoader = repositoryClass.getClassLoader();
+                Class<?>[] interfaces = new Class[]{repositoryClass};
+                repository = (Repository<E, ID>) Proxy.newProxyInstance(repoClassLoader, interfaces,
+                    invocationHandler);
+            }
 
             repositoryDataByClassMap.put(repositoryClass, repositoryData);
 
@@ -602,6 +783,112 @@ public class MongoManager {
         }
     }
 
+    private <E, ID, R extends Repository<E, ID>> void adviseIndexes(RepositoryData<E, ID, R> repositoryData,
+                                                                   RepositoryInvocationHandler<E, ID, R> invocationHandler) {
+        IndexAdvisor<E, ID, R> indexAdvisor = new IndexAdvisor<>(repositoryData, settingsBuilder.isCreateAdvisedIndexes());
+        List<IndexAdvice> indexAdviceList = new ArrayList<>();
+        for (InvocationPlan<E, ID, R> invocationPlan : invocationHandler.getInvocationPlans()) {
+            IndexAdvice indexAdvice = indexAdvisor.advise(invocationPlan);
+            if (indexAdvice == null) {
+                continue;
+            }
+            log.warning(indexAdvice.toString());
+            indexAdviceList.add(indexAdvice);
+        }
+        indexAdviceByClassMap.put(repositoryData.getRepositoryClass(), Collections.unmodifiableList(indexAdviceList));
+    }
+
+    /**
+     * Returns the advices of the index advisor for the given repository. See "SettingsBuilder#enableIndexAdvisor".
+     *
+     * @param repositoryClass The class of the repository
+     * @return The advices of all methods, which aren't served by the indexes, or an empty List,
+     * if the repository wasn't created yet or the index advisor isn't enabled.
+     */
+    public List<IndexAdvice> getIndexAdvices(Class<? extends Repository<?, ?>> repositoryClass) {
+        return indexAdviceByClassMap.getOrDefault(repositoryClass, Collections.emptyList());
+    }
+
+    /**
+     * @return The advices of the index advisor for all created repositories.
+     */
+    public List<IndexAdvice> getIndexAdvices() {
+        List<IndexAdvice> indexAdviceList = new ArrayList<>();
+        for (List<IndexAdvice> repositoryAdviceList : indexAdviceByClassMap.values()) {
+            indexAdviceList.addAll(repositoryAdviceList);
+        }
+        return indexAdviceList;
+    }
+
+    private <E, ID, R extends Repository<E, ID>> R generateRepository(Class<R> repositoryClass,
+                                                                     RepositoryInvocationHandler<E, ID, R> invocationHandler) {
+        // byte-buddy is an optional dependency, so we need to check,
+        // if it's available before touching the generator.
+        try {
+            Class.forName("net.bytebuddy.ByteBuddy", false, MongoManager.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            log.warning("Couldn't generate repository class of " + repositoryClass.getName() + ", " +
+                "because net.bytebuddy:byte-buddy is not on the classpath. Using proxy instead.");
+            return null;
+        }
+        try {
+            return RepositoryClassGenerator.generate(repositoryClass, invocationHandler);
+        } catch (Exception | LinkageError e) {
+            log.log(Level.WARNING, "Couldn't generate repository class of " + repositoryClass.getName() + ". " +
+                "Using proxy instead.", e);
+            return null;
+        }
+    }
+
+    private MethodDescriptor parseMethodDescriptor(Method method, String methodName,
+                                                   Map<String, String> sortedFieldNameMap,
+                                                   Map<String, String> nestedFieldMap,
+                                                   Class<?> entityClass, Class<?> repositoryClass) throws Exception {
+        try {
+            return MethodNameParser.parse(methodName, sortedFieldNameMap, nestedFieldMap);
+        } catch (MethodParseException e) {
+            switch (e.getReason()) {
+                case NO_METHOD_OPERATOR:
+                    throw new MethodNoMethodOperatorException(method, repositoryClass);
+                case FIELD_NOT_FOUND:
+                    throw new MethodFieldNotFoundException(e.getDetail(), method, entityClass, repositoryClass);
+                case DUPLICATED_CHAIN:
+                    throw new MethodDuplicatedChainException(method, repositoryClass);
+                default:
+                    throw new RuntimeException(e.getMessage());
+            }
+        }
+    }
+
+    private boolean isOutdated(MethodDescriptor methodDescriptor,
+                               Map<String, String> sortedFieldNameMap,
+                               Map<String, String> nestedFieldMap) {
+        // The entity could be compiled separately from the repository,
+        // so we check if every filter and the target field still references the same bson name.
+        String targetBsonFieldKey = methodDescriptor.getTargetBsonFieldKey();
+        if (targetBsonFieldKey != null) {
+            String targetFieldName = methodDescriptor.getTargetFieldName();
+            if (targetFieldName == null ? !nestedFieldMap.containsValue(targetBsonFieldKey)
+                : !targetBsonFieldKey.equals(sortedFieldNameMap.get(targetFieldName))) {
+                return true;
+            }
+        }
+        for (FilterDescriptor filterDescriptor : methodDescriptor.getFilterList()) {
+            String bsonFilterFieldKey = filterDescriptor.getBsonFilterFieldKey();
+            String fieldName = filterDescriptor.getFieldName();
+            if (fieldName == null) {
+                if (!nestedFieldMap.containsValue(bsonFilterFieldKey)) {
+                    return true;
+                }
+                continue;
+            }
+            if (!bsonFilterFieldKey.equals(sortedFieldNameMap.get(fieldName))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public <T> MongoManager registerCodec(Codec<T> typeCodec) {
         internalPropertyCodecProvider.registerCodec(typeCodec.getEncoderClass(), typeCodec);
         return this;
@@ -41,6 +41,76 @@ public class SettingsBuilder {
      */
     boolean enableMethodProperties;
 
+    /**
+     * This setting enables the generation of concrete repository classes at runtime,
+     * instead of using a java.lang.reflect.Proxy. Every method of the generated class
+     * directly calls its resolved handler. Requires "net.bytebuddy:byte-buddy" on the classpath,
+     * otherwise the proxy is used as fallback.
+     */
+    boolean generateRepositoryClasses;
+
+    /**
+     * Defines the amount of writes, which are sent in a single bulk write by
+     * "saveAll", "insertAll", "deleteMany" and "deleteManyById".
+     * If not set, chunks of 1000 writes are used.
+     */
+    int bulkWriteChunkSize;
+
+    /**
+     * Sends the chunks of a bulk write concurrently on a separate, bounded pool of the MongoManager.
+     * The calling thread waits for all chunks. If all threads of the pool are busy, it sends the chunk itself,
+     * so the bulk methods can be called from async methods and any other executor.
+     */
+    boolean concurrentBulkWrites;
+
+    /**
+     * Sends the chunked "$in" queries of "findManyById", "findManyByIdOrdered" and the batched "findFirstById"
+     * concurrently on the same pool as the chunks of concurrent bulk writes.
+     */
+    boolean concurrentIdLookups;
+
+    /**
+     * Enables the write-behind mode with the default values of
+     * "eu.koboo.en2do.repository.options.WriteBehind" for every repository,
+     * which isn't annotated with it. See the annotation documentation.
+     */
+    boolean writeBehind;
+
+    /**
+     * Enables the batching of "findFirstById" with the default values of
+     * "eu.koboo.en2do.repository.options.BatchLookups" for every repository,
+     * which isn't annotated with it. See the annotation documentation.
+     */
+    boolean batchLookups;
+
+    /**
+     * Compares the filters and "@SortBy" annotations of every dynamic method with the indexes of the repository,
+     * when the repository is created. Methods, which would read the whole collection or sort in memory,
+     * are logged with a suggested index and can be read by "MongoManager#getIndexAdvices".
+     * Needs a connection to the server, because the existing indexes are listed.
+     */
+    boolean indexAdvisor;
+
+    /**
+     * Creates the indexes, which are suggested by the index advisor. Enables the index advisor.
+     */
+    boolean createAdvisedIndexes;
+
+    /**
+     * Defines the fraction (0.0 - 1.0) of the calls of dynamic "find", "count" and "page" methods
+     * and the predefined find methods, which are explained with the verbosity "executionStats".
+     * Collection scans, in-memory sorts and inefficient scans are logged as warnings and the plans are
+     * summarized per method, see "MongoManager#getExplainSampler". The explain executes the query again,
+     * so it's meant for staging and load tests. If not set, no call is explained.
+     */
+    double explainSampleRate;
+
+    /**
+     * Defines how many keys or documents can be examined per returned entity, before an explained
+     * call is reported as inefficient scan. If not set, a ratio of 10 is used.
+     */
+    int explainRatioThreshold;
+
     /**
      * Defines the prefix of every collection
      */
@@ -111,6 +181,110 @@ public class SettingsBuilder {
         return this;
     }
 
+    /**
+     * See field documentation.
+     *
+     * @return This builder
+     */
+    public SettingsBuilder enableRepositoryClassGeneration() {
+        this.generateRepositoryClasses = true;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @param chunkSize The value
+     * @return This builder
+     */
+    public SettingsBuilder bulkWriteChunkSize(int chunkSize) {
+        this.bulkWriteChunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @return This builder
+     */
+    public SettingsBuilder enableConcurrentBulkWrites() {
+        this.concurrentBulkWrites = true;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @return This builder
+     */
+    public SettingsBuilder enableConcurrentIdLookups() {
+        this.concurrentIdLookups = true;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @return This builder
+     */
+    public SettingsBuilder enableWriteBehind() {
+        this.writeBehind = true;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @return This builder
+     */
+    public SettingsBuilder enableLookupBatching() {
+        this.batchLookups = true;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @return This builder
+     */
+    public SettingsBuilder enableIndexAdvisor() {
+        this.indexAdvisor = true;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @return This builder
+     */
+    public SettingsBuilder createAdvisedIndexes() {
+        this.indexAdvisor = true;
+        this.createAdvisedIndexes = true;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @param sampleRate The value
+     * @return This builder
+     */
+    public SettingsBuilder explainSampleRate(double sampleRate) {
+        this.explainSampleRate = sampleRate;
+        return this;
+    }
+
+    /**
+     * See field documentation.
+     *
+     * @param ratioThreshold The value
+     * @return This builder
+     */
+    public SettingsBuilder explainRatioThreshold(int ratioThreshold) {
+        this.explainRatioThreshold = ratioThreshold;
+        return this;
+    }
+
     /**
      * See field documentation.
      *
@@ -144,6 +318,16 @@ public class SettingsBuilder {
         this.allowDiskUse = otherBuilder.isAllowDiskUse();
         this.appendMethodAsComment = otherBuilder.isAppendMethodAsComment();
         this.enableMethodProperties = otherBuilder.isEnableMethodProperties();
+        this.generateRepositoryClasses = otherBuilder.isGenerateRepositoryClasses();
+        this.bulkWriteChunkSize = otherBuilder.getBulkWriteChunkSize();
+        this.concurrentBulkWrites = otherBuilder.isConcurrentBulkWrites();
+        this.concurrentIdLookups = otherBuilder.isConcurrentIdLookups();
+        this.writeBehind = otherBuilder.isWriteBehind();
+        this.batchLookups = otherBuilder.isBatchLookups();
+        this.indexAdvisor = otherBuilder.isIndexAdvisor();
+        this.createAdvisedIndexes = otherBuilder.isCreateAdvisedIndexes();
+        this.explainSampleRate = otherBuilder.getExplainSampleRate();
+        this.explainRatioThreshold = otherBuilder.getExplainRatioThreshold();
         this.collectionPrefix = otherBuilder.getCollectionPrefix();
         this.collectionSuffix = otherBuilder.getCollectionSuffix();
     }
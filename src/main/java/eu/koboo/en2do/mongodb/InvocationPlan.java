@@ -0,0 +1,120 @@
+package eu.koboo.en2do.mongodb;
+
+import eu.koboo.en2do.mongodb.methods.dynamic.IndexedMethod;
+import eu.koboo.en2do.mongodb.methods.dynamic.PipelineTemplate;
+import eu.koboo.en2do.mongodb.methods.dynamic.ProjectionTemplate;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.mongodb.singleflight.SingleFlightGroup;
+import eu.koboo.en2do.operators.ResultType;
+import eu.koboo.en2do.repository.Repository;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.bson.conversions.Bson;
+
+import java.lang.reflect.Method;
+
+/**
+ * Represents the resolved invocation of a single repository method.
+ * Everything, which only depends on the declaration of the method (annotations, name, parameter types),
+ * is resolved once, so the invocation itself doesn't need any reflection or string operations.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the entity id
+ * @param <R>  The generic type of the repository
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InvocationPlan<E, ID, R extends Repository<E, ID>> {
+
+    /**
+     * The method of the repository, this plan was created for.
+     */
+    Method method;
+
+    /**
+     * The name of the method, after applying the "@Transform" annotation and stripping the async prefix.
+     */
+    String methodName;
+
+    /**
+     * The predefined handler of the method, or null if the method is a dynamic method.
+     */
+    GlobalPredefinedMethod predefinedMethod;
+
+    /**
+     * The dynamic method, or null if the method is a predefined method.
+     */
+    IndexedMethod<E, ID, R> dynamicMethod;
+
+    /**
+     * Defines if the method is annotated with "@Async" and needs to return a future.
+     */
+    boolean async;
+
+    /**
+     * The comment, which is appended to the queries of this method.
+     */
+    String comment;
+
+    /**
+     * The sort document created by the "@SortBy" annotations, or null if none is present.
+     */
+    Bson sortDocument;
+
+    /**
+     * The value of the "@Limit" annotation, or -1 if none is present.
+     */
+    int limit;
+
+    /**
+     * The value of the "@Skip" annotation, or -1 if none is present.
+     */
+    int skip;
+
+    /**
+     * Defines if the last parameter of the method is a Sort object.
+     */
+    boolean sortParameter;
+
+    /**
+     * The return type of the method, after unwrapping the CompletableFuture of async methods.
+     */
+    Class<?> returnType;
+
+    /**
+     * Defines how the found entities are returned, e.g. as List or as lazy Stream.
+     */
+    ResultType resultType;
+
+    /**
+     * The group of the "@SingleFlight" annotation, or null if none is present.
+     */
+    SingleFlightGroup singleFlightGroup;
+
+    /**
+     * The pipeline of the "@Pipeline" annotation, or null if the method isn't an aggregation.
+     */
+    PipelineTemplate pipelineTemplate;
+
+    /**
+     * The class, which the results of the aggregation are decoded into, or null if the method isn't an aggregation.
+     * Methods with "countGroupedBy" decode the keys of the returned Map into it.
+     */
+    Class<?> aggregateResultClass;
+
+    /**
+     * The projection of the "@Projection" annotation or the returned projection type,
+     * or null if the method returns the whole entity.
+     */
+    ProjectionTemplate projectionTemplate;
+
+    /**
+     * @return true, if the method is handled by a predefined method.
+     */
+    public boolean isPredefined() {
+        return predefinedMethod != null;
+    }
+}
@@ -0,0 +1,18 @@
+package eu.koboo.en2do.mongodb;
+
+/**
+ * This interface is used to invoke a single repository method. Every invoker is created for exactly one
+ * invocation plan, so everything except the arguments is already resolved.
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+
+    /**
+     * Called to invoke the method
+     *
+     * @param arguments The arguments of the called method
+     * @return The return value of the method
+     * @throws Exception if anything bad happens
+     */
+    Object invoke(Object[] arguments) throws Exception;
+}
@@ -1,36 +1,76 @@
 package eu.koboo.en2do.mongodb;
 
 import com.mongodb.BasicDBObject;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.DistinctIterable;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Facet;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
 import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
+import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidContinuationTokenException;
 import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidPageException;
 import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidSortLimitException;
 import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidSortSkipException;
+import eu.koboo.en2do.mongodb.exception.repository.RepositoryWriteBehindException;
+import eu.koboo.en2do.mongodb.batch.LookupBatcher;
+import eu.koboo.en2do.mongodb.cache.EntityCache;
 import eu.koboo.en2do.mongodb.methods.dynamic.IndexedMethod;
+import eu.koboo.en2do.mongodb.methods.dynamic.ProjectionTemplate;
+import eu.koboo.en2do.mongodb.singleflight.SingleFlightGroup;
+import eu.koboo.en2do.mongodb.watch.ChangeStreamSubscription;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
+import eu.koboo.en2do.operators.MethodOperator;
+import eu.koboo.en2do.operators.ResultType;
 import eu.koboo.en2do.repository.Repository;
 import eu.koboo.en2do.repository.methods.fields.FieldUpdate;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
 import eu.koboo.en2do.repository.methods.fields.UpdateType;
+import eu.koboo.en2do.repository.methods.pagination.Page;
+import eu.koboo.en2do.repository.methods.pagination.PageList;
 import eu.koboo.en2do.repository.methods.pagination.Pagination;
-import eu.koboo.en2do.repository.methods.sort.Limit;
-import eu.koboo.en2do.repository.methods.sort.Skip;
 import eu.koboo.en2do.repository.methods.sort.Sort;
-import eu.koboo.en2do.repository.methods.sort.SortBy;
+import eu.koboo.en2do.repository.methods.watch.ChangeSubscription;
+import eu.koboo.en2do.repository.methods.watch.Watch;
 import lombok.AccessLevel;
 import lombok.Getter;
+import eu.koboo.en2do.utility.GenericUtils;
+import eu.koboo.en2do.utility.KeysetUtils;
 import lombok.experimental.FieldDefaults;
-import org.bson.Document;
+import lombok.experimental.NonFinal;
+import org.bson.*;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Getter
 public class RepositoryData<E, ID, R extends Repository<E, ID>> {
 
+    private static final Bson UNIQUE_ID_PROJECTION = Projections.include("_id");
+    private static final int UNIQUE_ID_CHUNK_SIZE = 1000;
+
     MongoManager mongoManager;
     String collectionName;
     MongoCollection<E> entityCollection;
@@ -40,13 +80,42 @@ public class RepositoryData<E, ID, R extends Repository<E, ID>> {
     Class<ID> entityUniqueIdClass;
     Field entityUniqueIdField;
 
+    /**
+     * The collation of the "@Collation" annotation of the entity, or null if not present.
+     */
+    Collation entityCollation;
+
+    /**
+     * The buffer of the write-behind mode, or null if the mode isn't enabled for this repository.
+     */
+    WriteBehindBuffer<E, ID> writeBehindBuffer;
+
+    /**
+     * The cache of "findFirstById", or null if the repository isn't annotated with "@CacheEntities".
+     */
+    EntityCache<E, ID> entityCache;
+
+    /**
+     * The batcher of "findFirstById", or null if the batching isn't enabled for this repository.
+     */
+    @NonFinal
+    LookupBatcher<E, ID> lookupBatcher;
+
     @Getter(AccessLevel.NONE)
     Map<String, IndexedMethod<E, ID, R>> dynamicMethodRegistry;
 
+    @Getter(AccessLevel.NONE)
+    Set<ChangeStreamSubscription<E, ID>> subscriptionSet;
+
+    @Getter(AccessLevel.NONE)
+    Map<String, SingleFlightGroup> singleFlightGroupRegistry;
+
     public RepositoryData(MongoManager mongoManager, Class<R> repositoryClass, Class<E> entityClass,
                           Set<Field> entityFieldSet,
                           Class<ID> entityUniqueIdClass, Field entityUniqueIdField,
-                          MongoCollection<E> entityCollection, String collectionName) {
+                          MongoCollection<E> entityCollection, String collectionName,
+                          Collation entityCollation, WriteBehindBuffer<E, ID> writeBehindBuffer,
+                          EntityCache<E, ID> entityCache) {
         this.mongoManager = mongoManager;
         this.collectionName = collectionName;
         this.entityCollection = entityCollection;
@@ -59,14 +128,248 @@ public class RepositoryData<E, ID, R extends Repository<E, ID>> {
         this.entityUniqueIdClass = entityUniqueIdClass;
         this.entityUniqueIdField = entityUniqueIdField;
 
+        this.entityCollation = entityCollation;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.entityCache = entityCache;
+
         this.dynamicMethodRegistry = new HashMap<>();
+        this.subscriptionSet = ConcurrentHashMap.newKeySet();
+        this.singleFlightGroupRegistry = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the "@SingleFlight" group of the given method and creates it, if it doesn't exist yet.
+     *
+     * @param methodName The name of the method, after applying the "@Transform" annotation
+     * @return The group of the method
+     */
+    public SingleFlightGroup createSingleFlightGroup(String methodName) {
+        return singleFlightGroupRegistry.computeIfAbsent(methodName, key -> new SingleFlightGroup());
+    }
+
+    /**
+     * @param methodName The name of the method, after applying the "@Transform" annotation
+     * @return The "@SingleFlight" group of the given method, or null if the method isn't annotated with it.
+     */
+    public SingleFlightGroup getSingleFlightGroup(String methodName) {
+        return singleFlightGroupRegistry.get(methodName);
+    }
+
+    /**
+     * Enables the batching of "findFirstById" for this repository.
+     *
+     * @param scheduler    The scheduler, which dispatches the batches
+     * @param maxBatchSize The maximum amount of unique identifiers of a batch
+     * @param windowMillis The time, a batch waits for further lookups
+     */
+    public void enableLookupBatching(ScheduledExecutorService scheduler, int maxBatchSize, long windowMillis) {
+        this.lookupBatcher = new LookupBatcher<>(uniqueIdList -> findEntitiesById(uniqueIdList, "findFirstById"),
+            scheduler, maxBatchSize, windowMillis);
     }
 
     public void destroy() {
+        for (ChangeStreamSubscription<E, ID> subscription : new ArrayList<>(subscriptionSet)) {
+            subscription.close();
+        }
         dynamicMethodRegistry.clear();
         entityFieldSet.clear();
     }
 
+    /**
+     * Flushes the buffered writes of the write-behind mode, if enabled.
+     * Needs to be called before any write, which can't be buffered by the unique identifier,
+     * otherwise the buffered writes could overwrite it later.
+     *
+     * @throws RepositoryWriteBehindException if any buffered write failed, because it would be retried after the write.
+     */
+    public void flushWriteBehind() throws RepositoryWriteBehindException {
+        if (writeBehindBuffer == null) {
+            return;
+        }
+        BulkResult bulkResult = writeBehindBuffer.flush();
+        if (!bulkResult.isSuccessful()) {
+            throw new RepositoryWriteBehindException(repositoryClass, bulkResult);
+        }
+    }
+
+    /**
+     * Removes the given entity from the cache, if enabled.
+     * Needs to be called after the entity was written.
+     *
+     * @param uniqueId The unique identifier of the written entity
+     */
+    public void invalidateCachedEntity(ID uniqueId) {
+        if (entityCache != null) {
+            entityCache.invalidate(uniqueId);
+        }
+    }
+
+    public void invalidateCachedEntities(Collection<ID> uniqueIdList) {
+        if (entityCache != null) {
+            entityCache.invalidate(uniqueIdList);
+        }
+    }
+
+    /**
+     * Removes all entities from the cache, if enabled.
+     * Needs to be called after writes, which can't be resolved to the unique identifiers.
+     */
+    public void invalidateCachedEntities() {
+        if (entityCache != null) {
+            entityCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Checks if any entity matches the given filter. Only the first match is fetched and only "_id" is projected,
+     * so filters on indexed fields (like the unique identifier) are answered by the index without reading documents.
+     *
+     * @param filter    The filter of the entities
+     * @param collation The collation of the filter, or null
+     * @return true, if any entity matches the filter
+     */
+    public boolean existsAny(Bson filter, Collation collation) {
+        FindIterable<BsonDocument> findIterable = entityCollection.find(filter, BsonDocument.class)
+            .projection(UNIQUE_ID_PROJECTION)
+            .limit(1);
+        if (collation != null) {
+            findIterable.collation(collation);
+        }
+        return findIterable.first() != null;
+    }
+
+    /**
+     * Returns the given unique identifiers, which exist in the collection. The identifiers are queried
+     * with chunked "$in" filters, which only project "_id", so no document needs to be read.
+     *
+     * @param uniqueIdList The unique identifiers, which should be checked
+     * @return The existing unique identifiers, in the order of the given collection
+     */
+    public Set<ID> findExistingIds(Collection<ID> uniqueIdList) {
+        Codec<ID> uniqueIdCodec = entityCollection.getCodecRegistry().get(entityUniqueIdClass);
+        DecoderContext decoderContext = DecoderContext.builder().build();
+        Set<ID> foundIdSet = new HashSet<>();
+        for (List<ID> chunkList : splitUniqueIds(uniqueIdList)) {
+            FindIterable<BsonDocument> findIterable = entityCollection.find(Filters.in("_id", chunkList), BsonDocument.class)
+                .projection(UNIQUE_ID_PROJECTION);
+            for (BsonDocument document : findIterable) {
+                BsonDocumentReader reader = new BsonDocumentReader(document);
+                reader.readStartDocument();
+                reader.readName();
+                foundIdSet.add(uniqueIdCodec.decode(reader, decoderContext));
+            }
+        }
+        Set<ID> existingIdSet = new LinkedHashSet<>();
+        for (ID uniqueId : uniqueIdList) {
+            if (foundIdSet.contains(uniqueId)) {
+                existingIdSet.add(uniqueId);
+            }
+        }
+        return existingIdSet;
+    }
+
+    /**
+     * Finds the entities of the given unique identifiers. Cached entities are returned without a query,
+     * all other identifiers are queried with chunked "$in" filters. If concurrent id lookups are enabled,
+     * the chunks are sent concurrently on the fan-out executor of the MongoManager.
+     *
+     * @param uniqueIdList The unique identifiers of the entities
+     * @param methodName   The name of the called method, used as comment
+     * @return A Map of the found entities by their unique identifier, in the order of the given collection.
+     * Identifiers without entity aren't contained.
+     * @throws IllegalAccessException if the unique identifier field of the entity isn't accessible
+     */
+    public Map<ID, E> findEntitiesById(Collection<ID> uniqueIdList, String methodName) throws IllegalAccessException {
+        Map<ID, E> entityMap = new LinkedHashMap<>();
+        if (uniqueIdList.isEmpty()) {
+            return entityMap;
+        }
+        // Duplicates are only queried once.
+        Set<ID> remainingIdSet = new LinkedHashSet<>(uniqueIdList);
+        Map<ID, E> foundEntityMap = new HashMap<>();
+        long loadStamp = 0;
+        if (entityCache != null) {
+            Iterator<ID> iterator = remainingIdSet.iterator();
+            while (iterator.hasNext()) {
+                ID uniqueId = iterator.next();
+                E cachedEntity = entityCache.get(uniqueId);
+                if (cachedEntity != null) {
+                    foundEntityMap.put(uniqueId, cachedEntity);
+                    iterator.remove();
+                }
+            }
+            loadStamp = entityCache.beginLoad();
+        }
+
+        List<List<ID>> chunkList = splitUniqueIds(remainingIdSet);
+        List<E> loadedEntityList = new ArrayList<>(remainingIdSet.size());
+        ExecutorService executorService = mongoManager.getFanOutExecutorService();
+        if (chunkList.size() <= 1 || !mongoManager.getSettingsBuilder().isConcurrentIdLookups() || executorService == null) {
+            for (List<ID> chunk : chunkList) {
+                loadedEntityList.addAll(findEntityChunk(chunk, methodName));
+            }
+        } else {
+            List<CompletableFuture<List<E>>> futureList = new ArrayList<>(chunkList.size());
+            for (List<ID> chunk : chunkList) {
+                futureList.add(CompletableFuture.supplyAsync(() -> findEntityChunk(chunk, methodName), executorService));
+            }
+            try {
+                for (CompletableFuture<List<E>> future : futureList) {
+                    loadedEntityList.addAll(future.join());
+                }
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        for (E entity : loadedEntityList) {
+            ID uniqueId = entityUniqueIdClass.cast(entityUniqueIdField.get(entity));
+            foundEntityMap.put(uniqueId, entity);
+            if (entityCache != null) {
+                entityCache.put(uniqueId, entity, loadStamp);
+            }
+        }
+
+        for (ID uniqueId : uniqueIdList) {
+            E entity = foundEntityMap.get(uniqueId);
+            if (entity != null) {
+                entityMap.put(uniqueId, entity);
+            }
+        }
+        return entityMap;
+    }
+
+    private List<E> findEntityChunk(List<ID> chunk, String methodName) {
+        return createIterable(Filters.in("_id", chunk), methodName).into(new ArrayList<>(chunk.size()));
+    }
+
+    private List<List<ID>> splitUniqueIds(Collection<ID> uniqueIdList) {
+        List<List<ID>> chunkList = new ArrayList<>();
+        List<ID> chunk = null;
+        for (ID uniqueId : uniqueIdList) {
+            if (chunk == null || chunk.size() >= UNIQUE_ID_CHUNK_SIZE) {
+                chunk = new ArrayList<>(Math.min(uniqueIdList.size(), UNIQUE_ID_CHUNK_SIZE));
+                chunkList.add(chunk);
+            }
+            chunk.add(uniqueId);
+        }
+        return chunkList;
+    }
+
+    /**
+     * Opens a change stream on the collection of the repository.
+     *
+     * @param filter    The filter of the entities, or null if all changes should be delivered
+     * @param collation The collation of the filter, or null
+     * @param watch     The watch object of the method
+     * @return The subscription of the change stream
+     */
+    public ChangeSubscription watch(Bson filter, Collation collation, Watch<E, ID> watch) {
+        return ChangeStreamSubscription.open(entityCollection, entityUniqueIdClass, filter, collation, watch, subscriptionSet);
+    }
+
     public void registerDynamicMethod(String methodName, IndexedMethod<E, ID, R> dynamicMethod) {
         if (dynamicMethodRegistry.containsKey(methodName)) {
             // Removed regex condition, because the hashmap couldn't handle methods with the same name.
@@ -80,21 +383,310 @@ public class RepositoryData<E, ID, R extends Repository<E, ID>> {
     }
 
     public FindIterable<E> createIterable(Bson filter, String methodName) {
-        FindIterable<E> findIterable;
-        if (filter != null) {
-            findIterable = entityCollection.find(filter);
+        FindIterable<E> findIterable = createIterable(filter);
+        if (mongoManager.getSettingsBuilder().isAppendMethodAsComment()) {
+            findIterable.comment(createComment(methodName));
+        }
+        return findIterable;
+    }
+
+    /**
+     * Creates the iterable of a dynamic method. If the method uses a projection, the iterable only
+     * returns the projected documents, which need to be decoded by "decodeProjection".
+     *
+     * @param filter         The filter of the method, or null
+     * @param invocationPlan The invocation plan of the method
+     * @return The iterable of the entities or the projected documents
+     */
+    public FindIterable<?> createIterable(Bson filter, InvocationPlan<E, ID, R> invocationPlan) {
+        FindIterable<?> findIterable;
+        ProjectionTemplate projectionTemplate = invocationPlan.getProjectionTemplate();
+        if (projectionTemplate == null) {
+            findIterable = createIterable(filter);
         } else {
-            findIterable = entityCollection.find();
+            findIterable = (filter == null ? entityCollection.find(BsonDocument.class)
+                : entityCollection.find(filter, BsonDocument.class))
+                .projection(projectionTemplate.getProjectionDocument());
         }
         if (mongoManager.getSettingsBuilder().isAppendMethodAsComment()) {
-            findIterable.comment("en2do \"" + methodName + "\"");
+            findIterable.comment(invocationPlan.getComment());
+        }
+        IndexedMethod<E, ID, R> dynamicMethod = invocationPlan.getDynamicMethod();
+        if (dynamicMethod != null && dynamicMethod.getCollation() != null) {
+            findIterable.collation(dynamicMethod.getCollation());
         }
         return findIterable;
     }
 
-    public FindIterable<E> applySortObject(Method method,
-                                           FindIterable<E> findIterable,
-                                           Object[] args) throws Exception {
+    private FindIterable<E> createIterable(Bson filter) {
+        if (filter != null) {
+            return entityCollection.find(filter);
+        }
+        return entityCollection.find();
+    }
+
+    /**
+     * Explains the given iterable, if the call is sampled. See "SettingsBuilder#explainSampleRate".
+     *
+     * @param methodName   The name of the called method
+     * @param findIterable The iterable with the applied filter, sort and limit
+     */
+    public void explainFind(String methodName, FindIterable<?> findIterable) {
+        mongoManager.getExplainSampler().explainFind(this, methodName, findIterable);
+    }
+
+    /**
+     * Explains the count of the given filter, if the call is sampled. See "SettingsBuilder#explainSampleRate".
+     *
+     * @param methodName The name of the called method
+     * @param filter     The filter of the count, or null
+     * @param collation  The collation of the count, or null
+     */
+    public void explainCount(String methodName, Bson filter, Collation collation) {
+        mongoManager.getExplainSampler().explainCount(this, methodName, filter, collation);
+    }
+
+    /**
+     * Decodes the projected documents of the given iterable, if the method uses a projection.
+     *
+     * @param invocationPlan The invocation plan of the method
+     * @param findIterable   The iterable of "createIterable"
+     * @return The iterable of the entities or the decoded projections
+     */
+    @SuppressWarnings("unchecked")
+    public MongoIterable<?> decodeProjection(InvocationPlan<E, ID, R> invocationPlan, FindIterable<?> findIterable) {
+        ProjectionTemplate projectionTemplate = invocationPlan.getProjectionTemplate();
+        if (projectionTemplate == null) {
+            return findIterable;
+        }
+        CodecRegistry codecRegistry = entityCollection.getCodecRegistry();
+        return ((FindIterable<BsonDocument>) findIterable)
+            .map(document -> projectionTemplate.decode(document, codecRegistry));
+    }
+
+    /**
+     * Opens the cursor of the given iterable and returns it, either as Stream or as cursor itself.
+     * The entities are decoded lazily, while the driver fetches the batches.
+     *
+     * @param findIterable The iterable, which should be opened
+     * @param resultType   The lazy result type
+     * @return The Stream or the cursor
+     */
+    public Object createLazyResult(MongoIterable<?> findIterable, ResultType resultType) {
+        if (resultType == ResultType.STREAM) {
+            return createStream(findIterable);
+        }
+        return findIterable.cursor();
+    }
+
+    /**
+     * Creates a sequential Stream of the cursor of the given iterable.
+     * Closing the Stream closes the cursor.
+     *
+     * @param findIterable The iterable, which should be opened
+     * @return The Stream of the entities
+     */
+    public <T> Stream<T> createStream(MongoIterable<T> findIterable) {
+        MongoCursor<T> cursor = findIterable.cursor();
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(cursor,
+            Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(cursor::close);
+    }
+
+    /**
+     * Executes the aggregation of the given invocation plan. The filter of the method is prepended as "$match" stage.
+     *
+     * @param invocationPlan The invocation plan of the aggregate method
+     * @param filter         The filter of the method, or null if the method doesn't define any filter
+     * @param arguments      The arguments of the method
+     * @return The decoded results, as the result type of the method
+     */
+    public Object aggregate(InvocationPlan<E, ID, R> invocationPlan, Bson filter, Object[] arguments) {
+        Object[] values = new Object[arguments == null ? 0 : arguments.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getFilterableValue(arguments[i]);
+        }
+        List<Bson> pipeline = new ArrayList<>();
+        if (filter != null) {
+            pipeline.add(Aggregates.match(filter));
+        }
+        pipeline.addAll(invocationPlan.getPipelineTemplate().bind(values, entityCollection.getCodecRegistry()));
+
+        AggregateIterable<?> aggregateIterable = entityCollection.aggregate(pipeline, invocationPlan.getAggregateResultClass())
+            .allowDiskUse(mongoManager.getSettingsBuilder().isAllowDiskUse());
+        if (mongoManager.getSettingsBuilder().isAppendMethodAsComment()) {
+            aggregateIterable.comment(invocationPlan.getComment());
+        }
+        IndexedMethod<E, ID, R> dynamicMethod = invocationPlan.getDynamicMethod();
+        if (dynamicMethod.getCollation() != null) {
+            aggregateIterable.collation(dynamicMethod.getCollation());
+        }
+
+        ResultType resultType = invocationPlan.getResultType();
+        if (resultType.isLazy()) {
+            return createLazyResult(aggregateIterable, resultType);
+        }
+        if (resultType == ResultType.LIST) {
+            return aggregateIterable.into(new ArrayList<>());
+        }
+        return aggregateIterable.first();
+    }
+
+    /**
+     * Executes the group operator of the given invocation plan with a single "$group" stage,
+     * so only the aggregated values are sent back instead of the matching entities.
+     * The filter of the method is prepended as "$match" stage.
+     *
+     * @param invocationPlan The invocation plan of the group method (e.g. "sum")
+     * @param filter         The filter of the method, or null if the method doesn't define any filter
+     * @return The aggregated value, or the Map with the counted entities by the grouped values
+     */
+    public Object group(InvocationPlan<E, ID, R> invocationPlan, Bson filter) {
+        IndexedMethod<E, ID, R> dynamicMethod = invocationPlan.getDynamicMethod();
+        MethodOperator methodOperator = dynamicMethod.getMethodOperator();
+        String fieldExpression = "$" + dynamicMethod.getTargetFieldKey();
+        List<Bson> pipeline = new ArrayList<>(2);
+        if (filter != null) {
+            pipeline.add(Aggregates.match(filter));
+        }
+        switch (methodOperator) {
+            case SUM:
+                pipeline.add(Aggregates.group(null, Accumulators.sum("value", fieldExpression)));
+                break;
+            case AVG:
+                pipeline.add(Aggregates.group(null, Accumulators.avg("value", fieldExpression)));
+                break;
+            case MIN:
+                pipeline.add(Aggregates.group(null, Accumulators.min("value", fieldExpression)));
+                break;
+            case MAX:
+                pipeline.add(Aggregates.group(null, Accumulators.max("value", fieldExpression)));
+                break;
+            case COUNT_GROUPED:
+                pipeline.add(Aggregates.group(fieldExpression, Accumulators.sum("count", 1)));
+                break;
+            default:
+                throw new IllegalArgumentException("The operator " + methodOperator + " isn't a group operator.");
+        }
+
+        AggregateIterable<BsonDocument> aggregateIterable = entityCollection.aggregate(pipeline, BsonDocument.class)
+            .allowDiskUse(mongoManager.getSettingsBuilder().isAllowDiskUse());
+        if (mongoManager.getSettingsBuilder().isAppendMethodAsComment()) {
+            aggregateIterable.comment(invocationPlan.getComment());
+        }
+        if (dynamicMethod.getCollation() != null) {
+            aggregateIterable.collation(dynamicMethod.getCollation());
+        }
+
+        Class<?> resultClass = invocationPlan.getAggregateResultClass();
+        if (methodOperator == MethodOperator.COUNT_GROUPED) {
+            Map<Object, Long> countMap = new LinkedHashMap<>();
+            for (BsonDocument document : aggregateIterable) {
+                countMap.put(decodeFieldValue(document.get("_id"), resultClass),
+                    document.getNumber("count").longValue());
+            }
+            return countMap;
+        }
+        BsonDocument document = aggregateIterable.first();
+        BsonValue value = document == null ? null : document.get("value");
+        if (value == null && methodOperator == MethodOperator.SUM) {
+            // No entity matches the filter, so nothing is summed up.
+            value = new BsonInt32(0);
+        }
+        return decodeFieldValue(value, resultClass);
+    }
+
+    /**
+     * Returns the distinct values of the field of the given invocation plan, which are
+     * collected by the server. The values are decoded through the codecs of the collection.
+     *
+     * @param invocationPlan The invocation plan of the distinct method
+     * @param filter         The filter of the method, or null if the method doesn't define any filter
+     * @return The distinct values, as List or as Set
+     */
+    public Collection<Object> distinct(InvocationPlan<E, ID, R> invocationPlan, Bson filter) {
+        IndexedMethod<E, ID, R> dynamicMethod = invocationPlan.getDynamicMethod();
+        DistinctIterable<BsonValue> distinctIterable = entityCollection
+            .distinct(dynamicMethod.getTargetFieldKey(), BsonValue.class)
+            .filter(filter);
+        if (mongoManager.getSettingsBuilder().isAppendMethodAsComment()) {
+            distinctIterable.comment(invocationPlan.getComment());
+        }
+        if (dynamicMethod.getCollation() != null) {
+            distinctIterable.collation(dynamicMethod.getCollation());
+        }
+
+        Class<?> resultClass = invocationPlan.getAggregateResultClass();
+        Collection<Object> valueCollection;
+        if (Set.class.isAssignableFrom(invocationPlan.getReturnType())) {
+            valueCollection = new LinkedHashSet<>();
+        } else {
+            valueCollection = new ArrayList<>();
+        }
+        for (BsonValue value : distinctIterable) {
+            valueCollection.add(decodeFieldValue(value, resultClass));
+        }
+        return valueCollection;
+    }
+
+    private Object decodeFieldValue(BsonValue value, Class<?> resultClass) {
+        Class<?> boxedClass = GenericUtils.boxType(resultClass);
+        if (value == null || value.isNull()) {
+            // Primitive return types can't be null, so they return their default value.
+            return resultClass.isPrimitive() ? convertNumber(new BsonInt32(0), boxedClass) : null;
+        }
+        if (value instanceof BsonNumber && GenericUtils.isNumber(boxedClass)) {
+            return convertNumber((BsonNumber) value, boxedClass);
+        }
+        BsonDocumentReader reader = new BsonDocumentReader(new BsonDocument("value", value));
+        reader.readStartDocument();
+        reader.readName();
+        Codec<?> codec = entityCollection.getCodecRegistry().get(boxedClass);
+        return codec.decode(reader, DecoderContext.builder().build());
+    }
+
+    private Object convertNumber(BsonNumber number, Class<?> numberClass) {
+        if (numberClass == Long.class) {
+            return number.longValue();
+        }
+        if (numberClass == Integer.class) {
+            return number.intValue();
+        }
+        if (numberClass == Double.class) {
+            return number.doubleValue();
+        }
+        if (numberClass == Float.class) {
+            return (float) number.doubleValue();
+        }
+        if (numberClass == Short.class) {
+            return (short) number.intValue();
+        }
+        if (numberClass == Byte.class) {
+            return (byte) number.intValue();
+        }
+        if (numberClass == BigDecimal.class) {
+            return number.decimal128Value().bigDecimalValue();
+        }
+        // The declared type is any Number, so the stored type is returned.
+        if (number.isInt32()) {
+            return number.intValue();
+        }
+        if (number.isInt64()) {
+            return number.longValue();
+        }
+        if (number.isDouble()) {
+            return number.doubleValue();
+        }
+        return number.decimal128Value().bigDecimalValue();
+    }
+
+    public static String createComment(String methodName) {
+        return "en2do \"" + methodName + "\"";
+    }
+
+    public <T> FindIterable<T> applySortObject(Method method,
+                                               FindIterable<T> findIterable,
+                                               Object[] args) throws Exception {
         int parameterCount = method.getParameterCount();
         if (parameterCount <= 0) {
             return findIterable;
@@ -103,6 +695,22 @@ public class RepositoryData<E, ID, R extends Repository<E, ID>> {
         if (!lastParamType.isAssignableFrom(Sort.class)) {
             return findIterable;
         }
+        return applySortOptions(method, findIterable, args);
+    }
+
+    public <T> FindIterable<T> applySortObject(InvocationPlan<E, ID, R> invocationPlan,
+                                               FindIterable<T> findIterable,
+                                               Object[] args) throws Exception {
+        // The parameter types are already checked by the invocation plan.
+        if (!invocationPlan.isSortParameter()) {
+            return findIterable;
+        }
+        return applySortOptions(invocationPlan.getMethod(), findIterable, args);
+    }
+
+    private <T> FindIterable<T> applySortOptions(Method method,
+                                                 FindIterable<T> findIterable,
+                                                 Object[] args) throws Exception {
         Object lastParamObject = args == null ? null : args[args.length - 1];
         if (!(lastParamObject instanceof Sort)) {
             return findIterable;
@@ -128,47 +736,42 @@ public class RepositoryData<E, ID, R extends Repository<E, ID>> {
         return findIterable;
     }
 
-    public FindIterable<E> applySortAnnotations(Method method, FindIterable<E> findIterable) throws Exception {
-        SortBy[] sortAnnotations = method.getAnnotationsByType(SortBy.class);
-        if (sortAnnotations != null) {
-            Map<String, Boolean> fieldSortMap = new LinkedHashMap<>();
-            for (SortBy sortBy : sortAnnotations) {
-                fieldSortMap.put(sortBy.field(), sortBy.ascending());
-            }
-            findIterable = sortDirection(findIterable, fieldSortMap);
+    public <T> FindIterable<T> applySortAnnotations(InvocationPlan<E, ID, R> invocationPlan, FindIterable<T> findIterable) {
+        // The annotations are already resolved and validated by the invocation plan.
+        Bson sortDocument = invocationPlan.getSortDocument();
+        if (sortDocument != null) {
+            findIterable = findIterable.sort(sortDocument);
         }
-        if (method.isAnnotationPresent(Limit.class)) {
-            Limit limit = method.getAnnotation(Limit.class);
-            int value = limit.value();
-            if (value <= 0) {
-                throw new MethodInvalidSortLimitException(method, repositoryClass);
-            }
-            findIterable = findIterable.limit(value);
+        int limit = invocationPlan.getLimit();
+        if (limit != -1) {
+            findIterable = findIterable.limit(limit);
         }
-        if (method.isAnnotationPresent(Skip.class)) {
-            Skip skip = method.getAnnotation(Skip.class);
-            int value = skip.value();
-            if (value <= 0) {
-                throw new MethodInvalidSortSkipException(method, repositoryClass);
-            }
-            findIterable = findIterable.skip(value);
+        int skip = invocationPlan.getSkip();
+        if (skip != -1) {
+            findIterable = findIterable.skip(skip);
         }
         findIterable = findIterable.allowDiskUse(mongoManager.getSettingsBuilder().isAllowDiskUse());
         return findIterable;
     }
 
-    public FindIterable<E> applyPageObject(Method method,
-                                           FindIterable<E> findIterable, Object[] args) throws Exception {
+    public Pagination getPageObject(Object[] args) {
         // Pagination should always be the last parameter of the method.
         // But of whatever reason, we could do something in the validation wrong,
         // so we catch the class casting exception anyway.
         Object parameterObject = args[args.length - 1];
-        Pagination pagination;
         try {
-            pagination = (Pagination) parameterObject;
+            return (Pagination) parameterObject;
         } catch (ClassCastException e) {
             throw new RuntimeException("Invalid Pagination object " + parameterObject.getClass() + ": ", e);
         }
+    }
+
+    public <T> FindIterable<T> applyPageObject(Method method, Bson filter,
+                                               FindIterable<T> findIterable, Object[] args) throws Exception {
+        Pagination pagination = getPageObject(args);
+        if (pagination.isKeyset()) {
+            return applyKeysetPageObject(method, filter, findIterable, pagination);
+        }
 
         // We do not allow pages lower or equal to zero. The results
         // would just be empty, so we throw an exception to not allow that.
@@ -189,7 +792,224 @@ public class RepositoryData<E, ID, R extends Repository<E, ID>> {
         return findIterable;
     }
 
-    private FindIterable<E> sortDirection(FindIterable<E> findIterable, Map<String, Boolean> fieldSortMap) {
+    private <T> FindIterable<T> applyKeysetPageObject(Method method, Bson filter,
+                                                      FindIterable<T> findIterable, Pagination pagination) throws Exception {
+        if (pagination.getEntitiesPerPage() <= 0) {
+            throw new MethodInvalidPageException(method, repositoryClass);
+        }
+        Map<String, Boolean> keysetSortMap = KeysetUtils.createKeysetSortMap(pagination.getPageDirectionMap(),
+            entityUniqueIdField.getName());
+        findIterable = findIterable.sort(KeysetUtils.createSortDocument(keysetSortMap));
+
+        // Instead of skipping the previous pages, the filter continues after the last entity of the previous page.
+        String continuationToken = pagination.getContinuationToken();
+        if (continuationToken != null) {
+            BsonArray values = KeysetUtils.parseContinuationToken(keysetSortMap, continuationToken);
+            if (values == null) {
+                throw new MethodInvalidContinuationTokenException(method, repositoryClass);
+            }
+            Bson keysetFilter = KeysetUtils.createKeysetFilter(keysetSortMap, values);
+            findIterable = findIterable.filter(filter == null ? keysetFilter : Filters.and(filter, keysetFilter));
+        }
+        return findIterable
+            .limit(pagination.getEntitiesPerPage())
+            .allowDiskUse(mongoManager.getSettingsBuilder().isAllowDiskUse());
+    }
+
+    /**
+     * Queries a single page and the total count of the entities in one aggregation:
+     * The filtered entities are passed into a "$facet" stage, which creates the page in one sub-pipeline
+     * and counts the entities in another one. The page fetches one more entity to know, if there's a next page.
+     *
+     * @param method     The method of the repository
+     * @param filter     The filter of the method, or null if all entities are paginated
+     * @param collation  The collation of the filter, or null
+     * @param comment    The comment of the aggregation, or null
+     * @param pagination The pagination of the method
+     * @return The page with the total count
+     * @throws Exception if the pagination is invalid
+     */
+    public Page<E> createPage(Method method, Bson filter, Collation collation, String comment,
+                              Pagination pagination) throws Exception {
+        return createPage(method, filter, collation, comment, pagination, null);
+    }
+
+    /**
+     * Same as "createPage", but the items of the page are projected by the given projection.
+     *
+     * @param method             The method of the repository
+     * @param filter             The filter of the method, or null if all entities are paginated
+     * @param collation          The collation of the filter, or null
+     * @param comment            The comment of the aggregation, or null
+     * @param pagination         The pagination of the method
+     * @param projectionTemplate The projection of the method, or null if the whole entities are returned
+     * @param <T>                The type of the items, either the entity or the projection
+     * @return The page with the total count
+     * @throws Exception if the pagination is invalid
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> createPage(Method method, Bson filter, Collation collation, String comment,
+                                  Pagination pagination, ProjectionTemplate projectionTemplate) throws Exception {
+        int entitiesPerPage = pagination.getEntitiesPerPage();
+        if (entitiesPerPage <= 0 || (!pagination.isKeyset() && pagination.getPage() <= 0)) {
+            throw new MethodInvalidPageException(method, repositoryClass);
+        }
+
+        List<Bson> itemPipeline = new ArrayList<>();
+        if (pagination.isKeyset()) {
+            Map<String, Boolean> keysetSortMap = KeysetUtils.createKeysetSortMap(pagination.getPageDirectionMap(),
+                entityUniqueIdField.getName());
+            if (pagination.getContinuationToken() != null) {
+                BsonArray values = KeysetUtils.parseContinuationToken(keysetSortMap, pagination.getContinuationToken());
+                if (values == null) {
+                    throw new MethodInvalidContinuationTokenException(method, repositoryClass);
+                }
+                itemPipeline.add(Aggregates.match(KeysetUtils.createKeysetFilter(keysetSortMap, values)));
+            }
+            itemPipeline.add(Aggregates.sort(KeysetUtils.createSortDocument(keysetSortMap)));
+        } else {
+            BasicDBObject sortObject = createSortObject(pagination.getPageDirectionMap());
+            if (!sortObject.isEmpty()) {
+                itemPipeline.add(Aggregates.sort(sortObject));
+            }
+            long skip = (pagination.getPage() - 1) * entitiesPerPage;
+            if (skip > 0) {
+                itemPipeline.add(Aggregates.skip(Math.toIntExact(skip)));
+            }
+        }
+        itemPipeline.add(Aggregates.limit(entitiesPerPage + 1));
+        if (projectionTemplate != null) {
+            itemPipeline.add(Aggregates.project(createPageProjection(projectionTemplate, pagination)));
+        }
+
+        List<Bson> countPipeline = new ArrayList<>();
+        long countLimit = pagination.getCountLimit();
+        if (countLimit > 0) {
+            // Counting stops at the limit, so the server doesn't need to walk over all entities.
+            countPipeline.add(Aggregates.limit(Math.toIntExact(countLimit)));
+        }
+        countPipeline.add(Aggregates.count("count"));
+
+        List<Bson> pipeline = new ArrayList<>();
+        if (filter != null) {
+            pipeline.add(Aggregates.match(filter));
+        }
+        pipeline.add(Aggregates.facet(new Facet("items", itemPipeline), new Facet("total", countPipeline)));
+
+        AggregateIterable<BsonDocument> aggregateIterable = entityCollection.aggregate(pipeline, BsonDocument.class)
+            .allowDiskUse(mongoManager.getSettingsBuilder().isAllowDiskUse());
+        if (collation != null) {
+            aggregateIterable.collation(collation);
+        }
+        if (comment != null && mongoManager.getSettingsBuilder().isAppendMethodAsComment()) {
+            aggregateIterable.comment(comment);
+        }
+        BsonDocument facetDocument = aggregateIterable.first();
+
+        CodecRegistry codecRegistry = entityCollection.getCodecRegistry();
+        Codec<E> entityCodec = codecRegistry.get(entityClass);
+        DecoderContext decoderContext = DecoderContext.builder().build();
+        List<T> itemList = new ArrayList<>();
+        BsonDocument lastItemDocument = null;
+        boolean hasNext = false;
+        long totalCount = 0;
+        if (facetDocument != null) {
+            for (BsonValue itemValue : facetDocument.getArray("items")) {
+                if (itemList.size() == entitiesPerPage) {
+                    hasNext = true;
+                    break;
+                }
+                lastItemDocument = itemValue.asDocument();
+                if (projectionTemplate != null) {
+                    itemList.add((T) projectionTemplate.decode(lastItemDocument, codecRegistry));
+                } else {
+                    itemList.add((T) entityCodec.decode(new BsonDocumentReader(lastItemDocument), decoderContext));
+                }
+            }
+            BsonArray totalArray = facetDocument.getArray("total");
+            if (!totalArray.isEmpty()) {
+                totalCount = totalArray.get(0).asDocument().get("count").asNumber().longValue();
+            }
+        }
+        String continuationToken = createContinuationToken(pagination, lastItemDocument);
+        boolean totalCountCapped = countLimit > 0 && totalCount >= countLimit;
+        long page = pagination.isKeyset() ? 0 : pagination.getPage();
+        return new Page<>(itemList, totalCount, totalCountCapped, page, entitiesPerPage, hasNext, continuationToken);
+    }
+
+    /**
+     * Creates the continuation token of a keyset pagination after the last entity of the given page.
+     * The pagination isn't changed, so concurrent calls with the same object don't affect each other.
+     *
+     * @param pagination The pagination of the method
+     * @param entityList The returned page
+     * @return The token of the next page, the token of the pagination if the page is empty,
+     * or null if the pagination isn't a keyset pagination
+     */
+    public String createContinuationToken(Pagination pagination, List<E> entityList) {
+        if (!pagination.isKeyset() || entityList.isEmpty()) {
+            return createContinuationToken(pagination, (BsonDocument) null);
+        }
+        E lastEntity = entityList.get(entityList.size() - 1);
+        BsonDocumentWriter writer = new BsonDocumentWriter(new BsonDocument());
+        entityCollection.getCodecRegistry().get(entityClass).encode(writer, lastEntity, EncoderContext.builder().build());
+        return createContinuationToken(pagination, writer.getDocument());
+    }
+
+    private String createContinuationToken(Pagination pagination, BsonDocument lastDocument) {
+        if (!pagination.isKeyset()) {
+            return null;
+        }
+        if (lastDocument == null) {
+            return pagination.getContinuationToken();
+        }
+        Map<String, Boolean> keysetSortMap = KeysetUtils.createKeysetSortMap(pagination.getPageDirectionMap(),
+            entityUniqueIdField.getName());
+        return KeysetUtils.createContinuationToken(keysetSortMap, lastDocument);
+    }
+
+    private Bson createPageProjection(ProjectionTemplate projectionTemplate, Pagination pagination) {
+        if (!pagination.isKeyset()) {
+            return projectionTemplate.getProjectionDocument();
+        }
+        // The continuation token is created of the sorted fields, so they need to be sent too.
+        Map<String, Boolean> keysetSortMap = KeysetUtils.createKeysetSortMap(pagination.getPageDirectionMap(),
+            entityUniqueIdField.getName());
+        return projectionTemplate.includeKeys(keysetSortMap.keySet());
+    }
+
+    /**
+     * Reads the page of the given iterable into a List with the continuation token of a keyset pagination.
+     * Projected documents are decoded after the token was created, because the projection
+     * doesn't need to contain the sorted fields.
+     *
+     * @param invocationPlan The invocation plan of the page method
+     * @param pagination     The pagination of the method
+     * @param findIterable   The iterable of "createIterable" with the applied pagination
+     * @return The entities or projections of the page
+     */
+    @SuppressWarnings("unchecked")
+    public PageList<?> createPageList(InvocationPlan<E, ID, R> invocationPlan, Pagination pagination,
+                                      FindIterable<?> findIterable) {
+        ProjectionTemplate projectionTemplate = invocationPlan.getProjectionTemplate();
+        if (projectionTemplate == null) {
+            List<E> entityList = ((FindIterable<E>) findIterable).into(new ArrayList<>());
+            return new PageList<>(entityList, createContinuationToken(pagination, entityList));
+        }
+        List<BsonDocument> documentList = ((FindIterable<BsonDocument>) findIterable)
+            .projection(createPageProjection(projectionTemplate, pagination))
+            .into(new ArrayList<>());
+        String continuationToken = createContinuationToken(pagination,
+            documentList.isEmpty() ? null : documentList.get(documentList.size() - 1));
+        CodecRegistry codecRegistry = entityCollection.getCodecRegistry();
+        List<Object> projectionList = new ArrayList<>(documentList.size());
+        for (BsonDocument document : documentList) {
+            projectionList.add(projectionTemplate.decode(document, codecRegistry));
+        }
+        return new PageList<>(projectionList, continuationToken);
+    }
+
+    private <T> FindIterable<T> sortDirection(FindIterable<T> findIterable, Map<String, Boolean> fieldSortMap) {
         if (findIterable == null) {
             return findIterable;
         }
@@ -198,15 +1018,25 @@ public class RepositoryData<E, ID, R extends Repository<E, ID>> {
             return findIterable;
         }
 
+        BasicDBObject sortObject = createSortObject(fieldSortMap);
+        if (sortObject.isEmpty()) {
+            return findIterable;
+        }
+        return findIterable.sort(sortObject);
+    }
+
+    private BasicDBObject createSortObject(Map<String, Boolean> fieldSortMap) {
+        // All fields need to be in the same sort document, otherwise only the last field would be sorted.
+        BasicDBObject sortObject = new BasicDBObject();
         for (String sortKey : fieldSortMap.keySet()) {
             Boolean ascending = fieldSortMap.get(sortKey);
             if (ascending == null) {
                 continue;
             }
             int direction = ascending ? 1 : -1;
-            findIterable = findIterable.sort(new BasicDBObject(sortKey, direction));
+            sortObject.append(sortKey, direction);
         }
-        return findIterable;
+        return sortObject;
     }
 
     public String stripAsyncName(String asyncName) {
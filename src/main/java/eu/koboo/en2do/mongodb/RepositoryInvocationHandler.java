@@ -2,53 +2,208 @@ package eu.koboo.en2do.mongodb;
 
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.DeleteOptions;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.result.UpdateResult;
+import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidPipelineException;
+import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidProjectionException;
+import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidSortLimitException;
+import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidSortSkipException;
+import eu.koboo.en2do.mongodb.exception.methods.MethodKeysetLazyResultException;
+import eu.koboo.en2do.mongodb.exception.methods.MethodSingleFlightNotAllowedException;
 import eu.koboo.en2do.mongodb.exception.methods.MethodUnsupportedException;
 import eu.koboo.en2do.mongodb.exception.repository.RepositoryInvalidCallException;
 import eu.koboo.en2do.mongodb.methods.dynamic.IndexedMethod;
+import eu.koboo.en2do.mongodb.methods.dynamic.PipelineTemplate;
+import eu.koboo.en2do.mongodb.methods.dynamic.ProjectionTemplate;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.mongodb.singleflight.SingleFlightGroup;
+import eu.koboo.en2do.operators.MethodOperator;
+import eu.koboo.en2do.operators.ResultType;
 import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.aggregate.Pipeline;
 import eu.koboo.en2do.repository.methods.async.Async;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.repository.methods.projection.Projection;
+import eu.koboo.en2do.repository.methods.singleflight.SingleFlight;
+import eu.koboo.en2do.repository.methods.sort.Limit;
+import eu.koboo.en2do.repository.methods.sort.Skip;
+import eu.koboo.en2do.repository.methods.sort.Sort;
+import eu.koboo.en2do.repository.methods.sort.SortBy;
 import eu.koboo.en2do.repository.methods.transform.Transform;
+import eu.koboo.en2do.repository.methods.watch.Watch;
+import eu.koboo.en2do.utility.GenericUtils;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-@AllArgsConstructor
 public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> implements InvocationHandler {
 
     RepositoryData<E, ID, R> repositoryData;
     ExecutorService executorService;
     Map<String, GlobalPredefinedMethod> predefinedMethodRegistry;
+    Map<Method, InvocationPlan<E, ID, R>> invocationPlanRegistry;
+    Map<Method, MethodInvoker> methodInvokerRegistry;
+
+    public RepositoryInvocationHandler(RepositoryData<E, ID, R> repositoryData,
+                                       ExecutorService executorService,
+                                       Map<String, GlobalPredefinedMethod> predefinedMethodRegistry) {
+        this.repositoryData = repositoryData;
+        this.executorService = executorService;
+        this.predefinedMethodRegistry = predefinedMethodRegistry;
+        this.invocationPlanRegistry = new ConcurrentHashMap<>();
+        this.methodInvokerRegistry = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates the invocation plans of all methods of the repository, so the
+     * first invocation doesn't need to resolve them and invalid declarations fail on creation.
+     *
+     * @throws Exception if any method declaration is invalid.
+     */
+    public void compileInvocationPlans() throws Exception {
+        for (Method method : repositoryData.getRepositoryClass().getMethods()) {
+            InvocationPlan<E, ID, R> invocationPlan = createInvocationPlan(method);
+            if (invocationPlan == null) {
+                continue;
+            }
+            invocationPlanRegistry.put(method, invocationPlan);
+        }
+    }
+
+    /**
+     * @return All invocation plans, which are resolved until now.
+     */
+    public Collection<InvocationPlan<E, ID, R>> getInvocationPlans() {
+        return Collections.unmodifiableCollection(invocationPlanRegistry.values());
+    }
+
+    /**
+     * Returns the invocation plan of the given method. Methods, which are not declared
+     * by the repository itself (e.g. "hashCode" of java.lang.Object), are resolved on their first lookup.
+     *
+     * @param method The method, which should be invoked
+     * @return The invocation plan of the method
+     * @throws Exception if the method isn't supported by the repository
+     */
+    public InvocationPlan<E, ID, R> getInvocationPlan(Method method) throws Exception {
+        InvocationPlan<E, ID, R> invocationPlan = invocationPlanRegistry.get(method);
+        if (invocationPlan != null) {
+            return invocationPlan;
+        }
+        invocationPlan = createInvocationPlan(method);
+        if (invocationPlan == null) {
+            // No handling found for method with this name.
+            throw new MethodUnsupportedException(method, repositoryData.getRepositoryClass());
+        }
+        invocationPlanRegistry.putIfAbsent(method, invocationPlan);
+        return invocationPlan;
+    }
 
     @Override
     @SuppressWarnings("all")
     public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+        MethodInvoker methodInvoker = methodInvokerRegistry.get(method);
+        if (methodInvoker == null) {
+            methodInvoker = getMethodInvoker(getInvocationPlan(method));
+        }
+        return methodInvoker.invoke(arguments);
+    }
 
+    public Object invoke(InvocationPlan<E, ID, R> invocationPlan, Object[] arguments) throws Exception {
+        return getMethodInvoker(invocationPlan).invoke(arguments);
+    }
+
+    /**
+     * Returns the invoker of the given plan. The invoker is created once per plan and only contains
+     * the steps the method needs (e.g. no future for synchronous methods), so the generated repository classes
+     * can call it directly.
+     *
+     * @param invocationPlan The plan of the method
+     * @return The invoker of the method
+     */
+    public MethodInvoker getMethodInvoker(InvocationPlan<E, ID, R> invocationPlan) {
+        return methodInvokerRegistry.computeIfAbsent(invocationPlan.getMethod(),
+            method -> createMethodInvoker(invocationPlan));
+    }
+
+    private MethodInvoker createMethodInvoker(InvocationPlan<E, ID, R> invocationPlan) {
+        Method method = invocationPlan.getMethod();
+        GlobalPredefinedMethod methodHandler = invocationPlan.getPredefinedMethod();
+        if (methodHandler != null) {
+            if (!invocationPlan.isAsync()) {
+                // Just handle the arguments and return the object
+                return arguments -> methodHandler.handle(repositoryData, method, arguments);
+            }
+            return arguments -> {
+                CompletableFuture<Object> future;
+                try {
+                    future = methodHandler.handleAsync(repositoryData, method, arguments);
+                } catch (Exception e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(new RuntimeException(e));
+                }
+                if (future != null) {
+                    return future;
+                }
+                future = new CompletableFuture<>();
+                executeFuture(future, () -> methodHandler.handle(repositoryData, method, arguments));
+                return future;
+            };
+        }
+
+        SingleFlightGroup singleFlightGroup = invocationPlan.getSingleFlightGroup();
+        if (singleFlightGroup != null) {
+            if (invocationPlan.isAsync()) {
+                Executor executor = executorService == null ? ForkJoinPool.commonPool() : executorService;
+                return arguments -> singleFlightGroup.executeAsync(arguments,
+                    () -> executeMethod(invocationPlan, arguments), executor);
+            }
+            return arguments -> singleFlightGroup.execute(arguments, () -> executeMethod(invocationPlan, arguments));
+        }
+        if (invocationPlan.isAsync()) {
+            return arguments -> {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                executeFuture(future, () -> executeMethod(invocationPlan, arguments));
+                return future;
+            };
+        }
+        return arguments -> executeMethod(invocationPlan, arguments);
+    }
+
+    private InvocationPlan<E, ID, R> createInvocationPlan(Method method) throws Exception {
         // Create value of the final methodName
-        String tempMethodName = method.getName();
+        String methodName = method.getName();
         Transform transform = method.getAnnotation(Transform.class);
         if (transform != null) {
-            tempMethodName = transform.value();
+            methodName = transform.value();
         }
-        String methodName = tempMethodName;
 
         // Get and check if a static handler for the methodName is available.
         GlobalPredefinedMethod methodHandler = predefinedMethodRegistry.get(methodName);
         if (methodHandler != null) {
-            // Just handle the arguments and return the object
-            return methodHandler.handle(repositoryData, method, arguments);
+            return createPredefinedPlan(method, methodName, methodHandler, false);
         }
 
         // Check for predefined method with async prefix.
@@ -57,11 +212,7 @@ public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> imp
             String predefinedName = repositoryData.stripAsyncName(methodName);
             methodHandler = predefinedMethodRegistry.get(predefinedName);
             if (methodHandler != null) {
-                // Just handle the arguments and return the object
-                CompletableFuture<Object> future = new CompletableFuture<>();
-                GlobalPredefinedMethod finalMethodHandler = methodHandler;
-                executeFuture(future, () -> finalMethodHandler.handle(repositoryData, method, arguments));
-                return future;
+                return createPredefinedPlan(method, predefinedName, methodHandler, true);
             }
         }
 
@@ -70,43 +221,188 @@ public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> imp
         // Get and check if any dynamic method matches the methodName
         IndexedMethod<E, ID, R> dynamicMethod = repositoryData.lookupDynamicMethod(methodName);
         if (dynamicMethod == null) {
-            // No handling found for method with this name.
-            throw new MethodUnsupportedException(method, repositoryData.getRepositoryClass());
+            return null;
+        }
+
+        // Resolve the sorting annotations, so they don't need to be read on every invocation.
+        Document sortDocument = null;
+        SortBy[] sortAnnotations = method.getAnnotationsByType(SortBy.class);
+        if (sortAnnotations.length > 0) {
+            sortDocument = new Document();
+            for (SortBy sortBy : sortAnnotations) {
+                sortDocument.append(sortBy.field(), sortBy.ascending() ? 1 : -1);
+            }
         }
+        int limit = -1;
+        Limit limitAnnotation = method.getAnnotation(Limit.class);
+        if (limitAnnotation != null) {
+            limit = limitAnnotation.value();
+            if (limit <= 0) {
+                throw new MethodInvalidSortLimitException(method, repositoryData.getRepositoryClass());
+            }
+        }
+        int skip = -1;
+        Skip skipAnnotation = method.getAnnotation(Skip.class);
+        if (skipAnnotation != null) {
+            skip = skipAnnotation.value();
+            if (skip <= 0) {
+                throw new MethodInvalidSortSkipException(method, repositoryData.getRepositoryClass());
+            }
+        }
+        int parameterCount = method.getParameterCount();
+        boolean sortParameter = parameterCount > 0
+            && method.getParameterTypes()[parameterCount - 1].isAssignableFrom(Sort.class);
 
-        MethodCallable methodCallable = () -> executeMethod(dynamicMethod, arguments, method, methodName);
+        Class<?> returnType = method.getReturnType();
         if (isAsyncMethod) {
-            CompletableFuture<Object> future = new CompletableFuture<>();
-            executeFuture(future, methodCallable);
-            return future;
-        } else {
-            return methodCallable.call();
+            returnType = GenericUtils.getGenericTypeOfReturnType(method);
+        }
+
+        ResultType resultType = ResultType.of(returnType);
+        MethodOperator methodOperator = dynamicMethod.getMethodOperator();
+        SingleFlightGroup singleFlightGroup = null;
+        if (method.isAnnotationPresent(SingleFlight.class)) {
+            boolean readOperator = methodOperator == MethodOperator.FIND || methodOperator == MethodOperator.COUNT
+                || methodOperator == MethodOperator.EXISTS || methodOperator == MethodOperator.AGGREGATE
+                || methodOperator.isFieldOperator() || methodOperator.isIdOperator();
+            // The Pagination argument is compared by identity, so the calls of page methods would never be shared.
+            if (!readOperator || methodOperator.isPageOperator() || resultType.isLazy()) {
+                throw new MethodSingleFlightNotAllowedException(method, repositoryData.getRepositoryClass(),
+                    SingleFlight.class);
+            }
+            singleFlightGroup = repositoryData.createSingleFlightGroup(methodName);
+        }
+
+        PipelineTemplate pipelineTemplate = null;
+        Class<?> aggregateResultClass = null;
+        Pipeline pipeline = method.getAnnotation(Pipeline.class);
+        if (methodOperator == MethodOperator.AGGREGATE && pipeline != null) {
+            try {
+                pipelineTemplate = PipelineTemplate.parse(pipeline.value());
+            } catch (IllegalArgumentException e) {
+                throw new MethodInvalidPipelineException(method, repositoryData.getRepositoryClass(), e.getMessage());
+            }
+            if (pipelineTemplate.getMaxParameterIndex() >= parameterCount) {
+                throw new MethodInvalidPipelineException(method, repositoryData.getRepositoryClass(),
+                    "The placeholder ?" + pipelineTemplate.getMaxParameterIndex() + " has no parameter.");
+            }
+            aggregateResultClass = GenericUtils.getElementTypeOfReturnType(method, isAsyncMethod);
+        }
+        if (methodOperator == MethodOperator.COUNT_GROUPED) {
+            aggregateResultClass = GenericUtils.getMapTypesOfReturnType(method, isAsyncMethod)[0];
+        } else if (methodOperator == MethodOperator.DISTINCT) {
+            aggregateResultClass = GenericUtils.getElementTypeOfReturnType(method, isAsyncMethod);
+        } else if (methodOperator.isGroupOperator()) {
+            aggregateResultClass = returnType;
         }
+
+        ProjectionTemplate projectionTemplate = createProjectionTemplate(method, methodOperator, isAsyncMethod);
+
+        return new InvocationPlan<>(method, methodName, null, dynamicMethod, isAsyncMethod,
+            RepositoryData.createComment(methodName), sortDocument, limit, skip, sortParameter,
+            returnType, resultType, singleFlightGroup, pipelineTemplate, aggregateResultClass, projectionTemplate);
     }
 
-    private Object executeMethod(IndexedMethod<E, ID, R> indexedMethod, Object[] arguments, Method method, String methodName) throws Exception {
+    private ProjectionTemplate createProjectionTemplate(Method method, MethodOperator methodOperator,
+                                                        boolean isAsyncMethod) throws Exception {
+        Class<R> repositoryClass = repositoryData.getRepositoryClass();
+        Projection projection = method.getAnnotation(Projection.class);
+        if (methodOperator.isIdOperator()) {
+            if (projection != null) {
+                throw new MethodInvalidProjectionException(method, repositoryClass,
+                    "Methods, which only return ids, can't use " + Projection.class.getName() + ".");
+            }
+            return ProjectionTemplate.forUniqueId(repositoryData.getEntityUniqueIdClass());
+        }
+        if (methodOperator != MethodOperator.FIND && methodOperator != MethodOperator.PAGE) {
+            if (projection != null) {
+                throw new MethodInvalidProjectionException(method, repositoryClass,
+                    "Only \"find\" and \"page\" methods can use " + Projection.class.getName() + ".");
+            }
+            return null;
+        }
+        Class<E> entityClass = repositoryData.getEntityClass();
+        Class<?> elementClass = GenericUtils.getElementTypeOfReturnType(method, isAsyncMethod);
+        boolean projectionType = !entityClass.isAssignableFrom(elementClass);
+        if (projection == null && !projectionType) {
+            return null;
+        }
+        if (projection != null && projectionType) {
+            throw new MethodInvalidProjectionException(method, repositoryClass,
+                "The annotation " + Projection.class.getName() + " can only be used, if the method returns the entity.");
+        }
+        Map<String, Field> entityFieldByNameMap = new HashMap<>();
+        for (Field field : repositoryData.getEntityFieldSet()) {
+            entityFieldByNameMap.put(field.getName(), field);
+        }
+        String uniqueIdFieldName = repositoryData.getEntityUniqueIdField().getName();
+        try {
+            if (projection != null) {
+                return ProjectionTemplate.forEntity(entityClass, uniqueIdFieldName, entityFieldByNameMap, projection.value());
+            }
+            return ProjectionTemplate.forType(elementClass, entityClass, uniqueIdFieldName, entityFieldByNameMap);
+        } catch (IllegalArgumentException e) {
+            throw new MethodInvalidProjectionException(method, repositoryClass, e.getMessage());
+        }
+    }
+
+    private InvocationPlan<E, ID, R> createPredefinedPlan(Method method, String methodName,
+                                                          GlobalPredefinedMethod methodHandler, boolean async) {
+        return new InvocationPlan<>(method, methodName, methodHandler, null, async,
+            RepositoryData.createComment(methodName), null, -1, -1, false, method.getReturnType(), ResultType.SINGLE,
+            null, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object executeMethod(InvocationPlan<E, ID, R> invocationPlan, Object[] arguments) throws Exception {
+        IndexedMethod<E, ID, R> indexedMethod = invocationPlan.getDynamicMethod();
+        Method method = invocationPlan.getMethod();
+
         // Generate bson filter by dynamic Method object.
         Bson filter = indexedMethod.createFilter(arguments);
 
+        if (indexedMethod.getMethodOperator() == MethodOperator.AGGREGATE) {
+            // Aggregations don't need any filter.
+            return repositoryData.aggregate(invocationPlan, filter, arguments);
+        }
+        if (indexedMethod.getMethodOperator().isGroupOperator()) {
+            // The "$group" stage is executed on all entities, if the method doesn't define any filter.
+            return repositoryData.group(invocationPlan, filter);
+        }
+        if (indexedMethod.getMethodOperator() == MethodOperator.DISTINCT) {
+            return repositoryData.distinct(invocationPlan, filter);
+        }
         if (filter == null) {
-            throw new NullPointerException("The created filter for " + indexedMethod.getMethod().getName() + " is null!");
+            throw new NullPointerException("The created filter for " + method.getName() + " is null!");
         }
 
         // Switch-case the method operator to create the correct mongo query.
         final MongoCollection<E> collection = repositoryData.getEntityCollection();
 
-        FindIterable<E> findIterable;
+        // The collation is only present, if the method uses "Ign" filters and the entity defines a collation.
+        Collation collation = indexedMethod.getCollation();
+
+        FindIterable<?> findIterable;
         switch (indexedMethod.getMethodOperator()) {
             case COUNT:
-                return collection.countDocuments(filter);
+                repositoryData.explainCount(invocationPlan.getMethodName(), filter, collation);
+                return collection.countDocuments(filter, new CountOptions().collation(collation));
             case DELETE:
-                return collection.deleteMany(filter).wasAcknowledged();
+                // The filter can't be resolved to buffered ids, so the buffer is written first.
+                repositoryData.flushWriteBehind();
+                try {
+                    return collection.deleteMany(filter, new DeleteOptions().collation(collation)).wasAcknowledged();
+                } finally {
+                    repositoryData.invalidateCachedEntities();
+                }
             case EXISTS:
-                return collection.countDocuments(filter) > 0;
+                return repositoryData.existsAny(filter, collation);
             case FIND:
-                findIterable = repositoryData.createIterable(filter, methodName);
-                findIterable = repositoryData.applySortObject(method, findIterable, arguments);
-                findIterable = repositoryData.applySortAnnotations(method, findIterable);
+            case FIND_IDS:
+            case FIND_FIRST_ID:
+                findIterable = repositoryData.createIterable(filter, invocationPlan);
+                findIterable = repositoryData.applySortObject(invocationPlan, findIterable, arguments);
+                findIterable = repositoryData.applySortAnnotations(invocationPlan, findIterable);
 
                 // Because it's a find method, we always got an entity defined count.
                 // This specifically defines the amount of returned entities.
@@ -115,25 +411,64 @@ public class RepositoryInvocationHandler<E, ID, R extends Repository<E, ID>> imp
                 // "Top10" = user specific count of "10"
                 // "First" = 1 / first entity
                 Long methodDefinedEntityCount = indexedMethod.getMethodDefinedEntityCount();
+                if (invocationPlan.getResultType().isLazy()) {
+                    // The entities are decoded while iterating, so only apply the limit.
+                    if (methodDefinedEntityCount != -1) {
+                        findIterable = findIterable.limit(Math.toIntExact(methodDefinedEntityCount));
+                    }
+                    repositoryData.explainFind(invocationPlan.getMethodName(), findIterable);
+                    return repositoryData.createLazyResult(repositoryData.decodeProjection(invocationPlan, findIterable),
+                        invocationPlan.getResultType());
+                }
                 if (methodDefinedEntityCount == -1 || methodDefinedEntityCount > 1) {
                     if (methodDefinedEntityCount != -1) {
                         findIterable = findIterable.limit(Math.toIntExact(methodDefinedEntityCount));
                     }
-                    return findIterable.into(new ArrayList<>());
+                    repositoryData.explainFind(invocationPlan.getMethodName(), findIterable);
+                    if (Set.class.isAssignableFrom(invocationPlan.getReturnType())) {
+                        return repositoryData.decodeProjection(invocationPlan, findIterable).into(new LinkedHashSet<>());
+                    }
+                    return repositoryData.decodeProjection(invocationPlan, findIterable).into(new ArrayList<>());
                 }
-                return findIterable.first();
+                // "first" limits the query to a single document, the explained query needs the same limit.
+                findIterable = findIterable.limit(1);
+                repositoryData.explainFind(invocationPlan.getMethodName(), findIterable);
+                return repositoryData.decodeProjection(invocationPlan, findIterable).first();
             case PAGE:
-                findIterable = repositoryData.createIterable(filter, methodName);
-                findIterable = repositoryData.applyPageObject(method, findIterable, arguments);
-                return findIterable.into(new ArrayList<>());
+            case PAGE_IDS:
+                Pagination pagination = repositoryData.getPageObject(arguments);
+                if (invocationPlan.getResultType() == ResultType.PAGE) {
+                    return repositoryData.createPage(method, filter, collation, invocationPlan.getComment(), pagination,
+                        invocationPlan.getProjectionTemplate());
+                }
+                findIterable = repositoryData.createIterable(filter, invocationPlan);
+                findIterable = repositoryData.applyPageObject(method, filter, findIterable, arguments);
+                if (invocationPlan.getResultType().isLazy()) {
+                    if (pagination.isKeyset()) {
+                        throw new MethodKeysetLazyResultException(method, repositoryData.getRepositoryClass());
+                    }
+                    repositoryData.explainFind(invocationPlan.getMethodName(), findIterable);
+                    return repositoryData.createLazyResult(repositoryData.decodeProjection(invocationPlan, findIterable),
+                        invocationPlan.getResultType());
+                }
+                repositoryData.explainFind(invocationPlan.getMethodName(), findIterable);
+                return repositoryData.createPageList(invocationPlan, pagination, findIterable);
             case UPDATE_FIELD:
+                repositoryData.flushWriteBehind();
                 UpdateBatch updateBatch = (UpdateBatch) arguments[arguments.length - 1];
-                UpdateResult result = collection.updateMany(
-                    filter,
-                    repositoryData.createUpdateDocument(updateBatch),
-                    new UpdateOptions().upsert(false)
-                );
-                return result.wasAcknowledged();
+                try {
+                    UpdateResult result = collection.updateMany(
+                        filter,
+                        repositoryData.createUpdateDocument(updateBatch),
+                        new UpdateOptions().upsert(false).collation(collation)
+                    );
+                    return result.wasAcknowledged();
+                } finally {
+                    repositoryData.invalidateCachedEntities();
+                }
+            case WATCH:
+                Watch<E, ID> watch = (Watch<E, ID>) arguments[arguments.length - 1];
+                return repositoryData.watch(filter, collation, watch);
             default:
                 // Couldn't find any match method operator, but that shouldn't happen.
                 // If this exception is thrown, I forgot something to implement :D
@@ -0,0 +1,59 @@
+package eu.koboo.en2do.mongodb.advisor;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.bson.BsonDocument;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents the report of the IndexAdvisor for a single dynamic method, which isn't served by any index.
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IndexAdvice {
+
+    /**
+     * The repository, which declares the method.
+     */
+    Class<?> repositoryClass;
+
+    /**
+     * The method of the repository.
+     */
+    Method method;
+
+    /**
+     * The problems of the query shape of the method.
+     */
+    Set<IndexProblem> problemSet;
+
+    /**
+     * The keys of the suggested indexes. Methods with the "Or" chain get an index for every unindexed filter,
+     * all other methods get a single compound index in the order: equality, sort, range.
+     */
+    List<BsonDocument> suggestedIndexList;
+
+    /**
+     * Defines if the suggested indexes were created by the IndexAdvisor.
+     */
+    boolean indexCreated;
+
+    /**
+     * The error of the server, if any suggested index couldn't be created, otherwise null.
+     */
+    String indexError;
+
+    @Override
+    public String toString() {
+        return "Method \"" + method.getName() + "\" of the repository " + repositoryClass.getName() +
+            " causes " + problemSet + ". Suggested indexes: " + suggestedIndexList +
+            (indexCreated ? " (created)" : "") +
+            (indexError != null ? " (creation failed: " + indexError + ")" : "");
+    }
+}
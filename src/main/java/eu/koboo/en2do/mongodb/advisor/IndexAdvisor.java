@@ -0,0 +1,382 @@
+package eu.koboo.en2do.mongodb.advisor;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.geojson.Geometry;
+import eu.koboo.en2do.mongodb.InvocationPlan;
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.dynamic.FilterTemplate;
+import eu.koboo.en2do.mongodb.methods.dynamic.IndexedMethod;
+import eu.koboo.en2do.operators.Chain;
+import eu.koboo.en2do.operators.MethodOperator;
+import eu.koboo.en2do.parser.indices.CompoundIndicesParser;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.entity.compound.CompoundIndex;
+import eu.koboo.en2do.repository.entity.compound.GeoIndex;
+import eu.koboo.en2do.repository.entity.compound.Index;
+import eu.koboo.en2do.repository.entity.ttl.TTLIndex;
+import eu.koboo.en2do.utility.AnnotationUtils;
+import eu.koboo.en2do.utility.FieldUtils;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.java.Log;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Compares the query shapes of the dynamic methods of a repository with its indexes.
+ * The indexes are the ones declared by "@CompoundIndex", "@TTLIndex" and "@GeoIndex"
+ * and the ones returned by "listIndexes" of the collection.
+ * An index is only used by a query with the same collation, so an index only counts for the methods,
+ * which are executed with its collation. Collations are compared by their locale and strength.
+ * The analysis only uses the method declaration, so it can't know the sort of Sort or Pagination parameters.
+ * Filters of the operators "HasKey" and "Geo" are ignored, because their keys depend on the arguments
+ * or the server rejects them without a geo index anyway.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the entity id
+ * @param <R>  The generic type of the repository
+ */
+@Log
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IndexAdvisor<E, ID, R extends Repository<E, ID>> {
+
+    RepositoryData<E, ID, R> repositoryData;
+    boolean createIndexes;
+    List<KnownIndex> knownIndexList;
+
+    /**
+     * Collects the declared and existing indexes of the repository.
+     *
+     * @param repositoryData The data of the repository
+     * @param createIndexes  true, if the suggested indexes should be created
+     */
+    public IndexAdvisor(RepositoryData<E, ID, R> repositoryData, boolean createIndexes) {
+        this.repositoryData = repositoryData;
+        this.createIndexes = createIndexes;
+        this.knownIndexList = new ArrayList<>();
+        // The index on "_id" always exists.
+        addIndex(new BsonDocument("_id", new BsonInt32(1)), null);
+        collectDeclaredIndexes();
+        collectExistingIndexes();
+    }
+
+    private void collectDeclaredIndexes() {
+        Class<E> entityClass = repositoryData.getEntityClass();
+        // Same keys and collations as created by the IndicesParsers.
+        for (CompoundIndex compoundIndex : AnnotationUtils.collectAnnotations(entityClass, CompoundIndex.class)) {
+            BsonDocument keyDocument = new BsonDocument();
+            for (Index fieldIndex : compoundIndex.value()) {
+                keyDocument.put(fieldIndex.value(), new BsonInt32(fieldIndex.ascending() ? 1 : -1));
+            }
+            Collation indexCollation;
+            try {
+                indexCollation = CompoundIndicesParser.parseIndexCollation(repositoryData.getRepositoryClass(),
+                    compoundIndex, repositoryData.getEntityCollation());
+            } catch (Exception e) {
+                // The parser already rejected the repository, if the collation is invalid.
+                continue;
+            }
+            addIndex(keyDocument, indexCollation == null ? null : indexCollation.asDocument());
+        }
+        for (TTLIndex ttlIndex : AnnotationUtils.collectAnnotations(entityClass, TTLIndex.class)) {
+            addIndex(new BsonDocument(ttlIndex.value(), new BsonInt32(1)), null);
+        }
+        for (Field field : repositoryData.getEntityFieldSet()) {
+            GeoIndex geoIndex = field.getAnnotation(GeoIndex.class);
+            if (geoIndex == null || !Geometry.class.isAssignableFrom(field.getType())) {
+                continue;
+            }
+            addIndex(new BsonDocument(FieldUtils.parseBsonName(field),
+                new BsonString(geoIndex.sphere() ? "2dsphere" : "2d")), null);
+        }
+    }
+
+    private void collectExistingIndexes() {
+        try {
+            for (BsonDocument indexDocument : repositoryData.getEntityCollection().listIndexes(BsonDocument.class)) {
+                BsonDocument keyDocument = indexDocument.getDocument("key", null);
+                if (keyDocument != null) {
+                    addIndex(keyDocument, indexDocument.getDocument("collation", null));
+                }
+            }
+        } catch (MongoException e) {
+            log.warning("Couldn't list the indexes of the collection " + repositoryData.getCollectionName() +
+                ", only the declared indexes are checked: " + e.getMessage());
+        }
+    }
+
+    private void addIndex(BsonDocument keyDocument, BsonDocument collationDocument) {
+        BsonDocument comparableCollation = createComparableCollation(collationDocument);
+        for (KnownIndex knownIndex : knownIndexList) {
+            if (knownIndex.keyDocument.equals(keyDocument) && Objects.equals(knownIndex.collationDocument, comparableCollation)) {
+                return;
+            }
+        }
+        knownIndexList.add(new KnownIndex(keyDocument, comparableCollation));
+    }
+
+    /**
+     * The server returns every option of the collation, but the annotations only set the locale and strength.
+     * So only these are compared, the "simple" locale is the same as no collation.
+     */
+    private static BsonDocument createComparableCollation(BsonDocument collationDocument) {
+        if (collationDocument == null) {
+            return null;
+        }
+        String locale = collationDocument.getString("locale", new BsonString("simple")).getValue();
+        if (locale.equals("simple")) {
+            return null;
+        }
+        int strength = collationDocument.containsKey("strength") ? collationDocument.getNumber("strength").intValue() : 3;
+        return new BsonDocument("locale", new BsonString(locale)).append("strength", new BsonInt32(strength));
+    }
+
+    /**
+     * @return The keys of all known indexes of the repository.
+     */
+    public List<BsonDocument> getIndexKeyList() {
+        List<BsonDocument> indexKeyList = new ArrayList<>(knownIndexList.size());
+        for (KnownIndex knownIndex : knownIndexList) {
+            indexKeyList.add(knownIndex.keyDocument);
+        }
+        return Collections.unmodifiableList(indexKeyList);
+    }
+
+    /**
+     * Checks the query shape of the given method against the known indexes.
+     * If enabled, the suggested indexes are created and used by the checks of the following methods.
+     *
+     * @param invocationPlan The invocation plan of the method
+     * @return The advice, or null if the method is served by the indexes or isn't a dynamic method.
+     */
+    public IndexAdvice advise(InvocationPlan<E, ID, R> invocationPlan) {
+        IndexedMethod<E, ID, R> dynamicMethod = invocationPlan.getDynamicMethod();
+        if (dynamicMethod == null || dynamicMethod.getMethodOperator() == MethodOperator.WATCH) {
+            return null;
+        }
+        FilterTemplate filterTemplate = dynamicMethod.getFilterTemplate();
+        Set<String> equalityKeySet = new LinkedHashSet<>();
+        Set<String> rangeKeySet = new LinkedHashSet<>();
+        for (int i = 0; i < filterTemplate.getSlotCount(); i++) {
+            FilterTemplate.Slot slot = filterTemplate.getSlot(i);
+            switch (slot.getFilter().getOperator()) {
+                case HAS_KEY:
+                case GEO:
+                    continue;
+                case EQUALS:
+                case IS_NULL:
+                case IS_TRUE:
+                case IS_FALSE:
+                case IN:
+                case HAS:
+                    if (!slot.isNotFilter()) {
+                        equalityKeySet.add(slot.getFieldKey());
+                        continue;
+                    }
+                    break;
+                case EQUALS_IGNORE_CASE:
+                    // Without collation, the filter is executed as case-insensitive regex.
+                    if (!slot.isNotFilter() && dynamicMethod.getCollation() != null) {
+                        equalityKeySet.add(slot.getFieldKey());
+                        continue;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            rangeKeySet.add(slot.getFieldKey());
+        }
+        rangeKeySet.removeAll(equalityKeySet);
+        if (filterTemplate.getChain() != Chain.OR && equalityKeySet.contains("_id")) {
+            // At most one entity is read by the index on "_id".
+            return null;
+        }
+        Map<String, Integer> sortMap = parseSortMap(invocationPlan.getSortDocument());
+        Collation collation = dynamicMethod.getCollation();
+        BsonDocument comparableCollation = createComparableCollation(collation == null ? null : collation.asDocument());
+
+        Set<IndexProblem> problemSet = EnumSet.noneOf(IndexProblem.class);
+        List<BsonDocument> suggestedIndexList = new ArrayList<>();
+        if (filterTemplate.getChain() == Chain.OR) {
+            // Every branch of "$or" needs its own index, otherwise the whole collection is read.
+            Set<String> branchKeySet = new LinkedHashSet<>(equalityKeySet);
+            branchKeySet.addAll(rangeKeySet);
+            for (String branchKey : branchKeySet) {
+                if (isFiltered(Collections.singleton(branchKey), comparableCollation)) {
+                    continue;
+                }
+                problemSet.add(IndexProblem.COLLECTION_SCAN);
+                suggestedIndexList.add(new BsonDocument(branchKey, new BsonInt32(1)));
+            }
+        } else {
+            Set<String> filteredKeySet = new HashSet<>(equalityKeySet);
+            filteredKeySet.addAll(rangeKeySet);
+            if (!filteredKeySet.isEmpty() && !isFiltered(filteredKeySet, comparableCollation)) {
+                problemSet.add(IndexProblem.COLLECTION_SCAN);
+            }
+            if (!sortMap.isEmpty() && !isSorted(equalityKeySet, sortMap, comparableCollation)) {
+                problemSet.add(IndexProblem.IN_MEMORY_SORT);
+            }
+            if (!problemSet.isEmpty()) {
+                suggestedIndexList.add(createSuggestedIndex(equalityKeySet, sortMap, rangeKeySet));
+            }
+        }
+        if (problemSet.isEmpty()) {
+            return null;
+        }
+
+        boolean indexCreated = false;
+        String indexError = null;
+        if (createIndexes) {
+            indexCreated = true;
+            for (BsonDocument suggestedIndex : suggestedIndexList) {
+                IndexOptions indexOptions = new IndexOptions();
+                if (collation != null) {
+                    // The default name is already used, if an index with the same keys exists without collation.
+                    indexOptions.collation(collation)
+                        .name(createIndexName(suggestedIndex) + CompoundIndicesParser.COLLATION_NAME_SUFFIX);
+                }
+                try {
+                    repositoryData.getEntityCollection().createIndex(suggestedIndex, indexOptions);
+                } catch (MongoException e) {
+                    // An existing index with the same name or keys and other options can't be replaced.
+                    indexCreated = false;
+                    indexError = e.getMessage();
+                    continue;
+                }
+                addIndex(suggestedIndex, collation == null ? null : collation.asDocument());
+            }
+        }
+        return new IndexAdvice(repositoryData.getRepositoryClass(), invocationPlan.getMethod(),
+            problemSet, suggestedIndexList, indexCreated, indexError);
+    }
+
+    private String createIndexName(BsonDocument keyDocument) {
+        // Same format as the default name of MongoDB.
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, BsonValue> keyEntry : keyDocument.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append('_');
+            }
+            BsonValue direction = keyEntry.getValue();
+            builder.append(keyEntry.getKey()).append('_')
+                .append(direction.isNumber() ? String.valueOf(direction.asNumber().intValue()) : direction.asString().getValue());
+        }
+        return builder.toString();
+    }
+
+    private Map<String, Integer> parseSortMap(Bson sortDocument) {
+        Map<String, Integer> sortMap = new LinkedHashMap<>();
+        if (sortDocument == null) {
+            return sortMap;
+        }
+        for (Map.Entry<String, BsonValue> sortEntry : sortDocument.toBsonDocument().entrySet()) {
+            sortMap.put(sortEntry.getKey(), sortEntry.getValue().asNumber().intValue() < 0 ? -1 : 1);
+        }
+        return sortMap;
+    }
+
+    /**
+     * Checks if any index with the collation of the query starts with one of the given keys,
+     * so the server can use the bounds of the index.
+     */
+    private boolean isFiltered(Set<String> filteredKeySet, BsonDocument comparableCollation) {
+        for (KnownIndex knownIndex : knownIndexList) {
+            if (!Objects.equals(knownIndex.collationDocument, comparableCollation)) {
+                continue;
+            }
+            if (filteredKeySet.contains(knownIndex.keyDocument.getFirstKey())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if any index returns the entities in the order of the sort. Leading keys of the index,
+     * which are filtered by equality, don't change the order. The index can be walked in both directions.
+     */
+    private boolean isSorted(Set<String> equalityKeySet, Map<String, Integer> sortMap, BsonDocument comparableCollation) {
+        for (KnownIndex knownIndex : knownIndexList) {
+            if (!Objects.equals(knownIndex.collationDocument, comparableCollation)) {
+                continue;
+            }
+            BsonDocument indexKeys = knownIndex.keyDocument;
+            List<String> keyList = new ArrayList<>(indexKeys.keySet());
+            int keyIndex = 0;
+            while (keyIndex < keyList.size() && equalityKeySet.contains(keyList.get(keyIndex))
+                && !sortMap.containsKey(keyList.get(keyIndex))) {
+                keyIndex++;
+            }
+            boolean sorted = true;
+            int relativeDirection = 0;
+            for (Map.Entry<String, Integer> sortEntry : sortMap.entrySet()) {
+                if (keyIndex >= keyList.size() || !keyList.get(keyIndex).equals(sortEntry.getKey())) {
+                    sorted = false;
+                    break;
+                }
+                BsonValue indexDirection = indexKeys.get(keyList.get(keyIndex));
+                if (!indexDirection.isNumber()) {
+                    sorted = false;
+                    break;
+                }
+                int direction = (indexDirection.asNumber().intValue() < 0 ? -1 : 1) * sortEntry.getValue();
+                if (relativeDirection != 0 && relativeDirection != direction) {
+                    sorted = false;
+                    break;
+                }
+                relativeDirection = direction;
+                keyIndex++;
+            }
+            if (sorted) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the keys of a compound index in the order equality, sort, range,
+     * so the equality keys narrow the bounds, the sort is served by the index
+     * and the range keys don't break the order.
+     */
+    private BsonDocument createSuggestedIndex(Set<String> equalityKeySet, Map<String, Integer> sortMap,
+                                              Set<String> rangeKeySet) {
+        BsonDocument keyDocument = new BsonDocument();
+        for (String equalityKey : equalityKeySet) {
+            keyDocument.put(equalityKey, new BsonInt32(1));
+        }
+        for (Map.Entry<String, Integer> sortEntry : sortMap.entrySet()) {
+            if (!keyDocument.containsKey(sortEntry.getKey())) {
+                keyDocument.put(sortEntry.getKey(), new BsonInt32(sortEntry.getValue()));
+            }
+        }
+        for (String rangeKey : rangeKeySet) {
+            if (!keyDocument.containsKey(rangeKey)) {
+                keyDocument.put(rangeKey, new BsonInt32(1));
+            }
+        }
+        return keyDocument;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class KnownIndex {
+
+        BsonDocument keyDocument;
+        // Only the locale and strength, or null if the index doesn't use a collation.
+        BsonDocument collationDocument;
+
+        private KnownIndex(BsonDocument keyDocument, BsonDocument collationDocument) {
+            this.keyDocument = keyDocument;
+            this.collationDocument = collationDocument;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package eu.koboo.en2do.mongodb.advisor;
+
+/**
+ * Represents the problems, which the IndexAdvisor detects in the query shape of a dynamic method.
+ */
+public enum IndexProblem {
+
+    /**
+     * No index starts with any filtered field, so the server needs to read the whole collection.
+     */
+    COLLECTION_SCAN,
+    /**
+     * No index contains the fields of the "@SortBy" annotations in the order of the sort,
+     * so the server needs to sort the entities in memory.
+     */
+    IN_MEMORY_SORT
+}
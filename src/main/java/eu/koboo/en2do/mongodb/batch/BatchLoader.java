@@ -0,0 +1,21 @@
+package eu.koboo.en2do.mongodb.batch;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the entities of a batch of a LookupBatcher.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the unique identifier
+ */
+@FunctionalInterface
+public interface BatchLoader<E, ID> {
+
+    /**
+     * @param uniqueIdList The unique identifiers of the batch
+     * @return The found entities by their unique identifier
+     * @throws Exception any, if the query fails
+     */
+    Map<ID, E> load(List<ID> uniqueIdList) throws Exception;
+}
@@ -0,0 +1,83 @@
+package eu.koboo.en2do.mongodb.batch;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the metrics of a LookupBatcher.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LookupBatchMetrics {
+
+    LongAdder lookups = new LongAdder();
+    LongAdder batchedIds = new LongAdder();
+    LongAdder batchCount = new LongAdder();
+    LongAdder totalWaitNanos = new LongAdder();
+    AtomicInteger maxBatchSize = new AtomicInteger();
+
+    void recordLookup() {
+        lookups.increment();
+    }
+
+    void recordBatch(int size, long waitNanos) {
+        batchedIds.add(size);
+        batchCount.increment();
+        totalWaitNanos.add(waitNanos);
+        maxBatchSize.accumulateAndGet(size, Math::max);
+    }
+
+    /**
+     * @return The amount of batched lookups.
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return The amount of sent batches, which is the amount of queries.
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * @return The average amount of unique identifiers of a batch.
+     */
+    public double getAverageBatchSize() {
+        long count = batchCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) batchedIds.sum() / count;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    /**
+     * @return The average time, a unique identifier waited for the dispatch of its batch.
+     */
+    public double getAverageAddedWaitMillis() {
+        long ids = batchedIds.sum();
+        if (ids == 0) {
+            return 0;
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / ids) / 1000;
+    }
+
+    @Override
+    public String toString() {
+        return "LookupBatchMetrics{" +
+            "lookups=" + getLookups() +
+            ", batchCount=" + getBatchCount() +
+            ", averageBatchSize=" + getAverageBatchSize() +
+            ", maxBatchSize=" + getMaxBatchSize() +
+            ", averageAddedWaitMillis=" + getAverageAddedWaitMillis() +
+            '}';
+    }
+}
@@ -0,0 +1,198 @@
+package eu.koboo.en2do.mongodb.batch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects concurrent lookups by the unique identifier into batches, which are loaded by a single query.
+ * The first lookup of a batch schedules its dispatch after the window. If the batch reaches the maximum size
+ * before, it's dispatched immediately. The batches are loaded on the given scheduler, so neither the
+ * calling threads nor the executor of the MongoManager are blocked by the window.
+ * Lookups of the same unique identifier within a batch share the same future.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the unique identifier
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LookupBatcher<E, ID> {
+
+    BatchLoader<E, ID> batchLoader;
+    ScheduledExecutorService scheduler;
+    int maxBatchSize;
+    long windowNanos;
+    @Getter
+    LookupBatchMetrics metrics;
+    Object lock;
+
+    @NonFinal
+    Batch<E, ID> currentBatch;
+    @NonFinal
+    boolean closed;
+
+    public LookupBatcher(BatchLoader<E, ID> batchLoader, ScheduledExecutorService scheduler,
+                         int maxBatchSize, long windowMillis) {
+        this.batchLoader = batchLoader;
+        this.scheduler = scheduler;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+        this.metrics = new LookupBatchMetrics();
+        this.lock = new Object();
+    }
+
+    /**
+     * Adds the given unique identifier to the current batch.
+     *
+     * @param uniqueId The unique identifier of the entity
+     * @return Future, which is completed with the found entity, or null if it doesn't exist
+     */
+    public CompletableFuture<E> load(ID uniqueId) {
+        Batch<E, ID> fullBatch = null;
+        CompletableFuture<E> future;
+        synchronized (lock) {
+            if (closed) {
+                future = null;
+            } else {
+                future = addToBatch(uniqueId);
+                if (currentBatch.futureMap.size() >= maxBatchSize) {
+                    fullBatch = currentBatch;
+                    currentBatch = null;
+                }
+            }
+        }
+        if (future == null) {
+            return loadDirectly(uniqueId);
+        }
+        if (fullBatch != null) {
+            Batch<E, ID> dispatchBatch = fullBatch;
+            try {
+                scheduler.execute(() -> dispatch(dispatchBatch));
+            } catch (RejectedExecutionException e) {
+                dispatch(dispatchBatch);
+            }
+        }
+        return future;
+    }
+
+    private CompletableFuture<E> addToBatch(ID uniqueId) {
+        Batch<E, ID> batch = currentBatch;
+        if (batch == null) {
+            batch = new Batch<>();
+            currentBatch = batch;
+            scheduleWindow(batch);
+        }
+        metrics.recordLookup();
+        return batch.add(uniqueId);
+    }
+
+    /**
+     * Same as "#load(ID)", but waits for the entity.
+     *
+     * @param uniqueId The unique identifier of the entity
+     * @return The found entity, or null if it doesn't exist
+     */
+    public E find(ID uniqueId) {
+        try {
+            return load(uniqueId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void scheduleWindow(Batch<E, ID> batch) {
+        try {
+            scheduler.schedule(() -> dispatchExpired(batch), windowNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // The scheduler is already shut down, the batch is dispatched on closing.
+        }
+    }
+
+    private void dispatchExpired(Batch<E, ID> batch) {
+        synchronized (lock) {
+            // The batch could already be dispatched, because it was full.
+            if (currentBatch != batch) {
+                return;
+            }
+            currentBatch = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch<E, ID> batch) {
+        long dispatchNanos = System.nanoTime();
+        long waitNanos = 0;
+        for (long enqueueNanos : batch.enqueueNanosMap.values()) {
+            waitNanos += dispatchNanos - enqueueNanos;
+        }
+        metrics.recordBatch(batch.futureMap.size(), waitNanos);
+        Map<ID, E> entityMap;
+        try {
+            entityMap = batchLoader.load(new ArrayList<>(batch.futureMap.keySet()));
+        } catch (Throwable e) {
+            for (CompletableFuture<E> future : batch.futureMap.values()) {
+                future.completeExceptionally(e);
+            }
+            return;
+        }
+        for (Map.Entry<ID, CompletableFuture<E>> entry : batch.futureMap.entrySet()) {
+            entry.getValue().complete(entityMap.get(entry.getKey()));
+        }
+    }
+
+    private CompletableFuture<E> loadDirectly(ID uniqueId) {
+        CompletableFuture<E> future = new CompletableFuture<>();
+        try {
+            future.complete(batchLoader.load(Collections.singletonList(uniqueId)).get(uniqueId));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Dispatches the current batch on the calling thread. Later lookups are loaded without batching.
+     */
+    public void close() {
+        Batch<E, ID> batch;
+        synchronized (lock) {
+            closed = true;
+            batch = currentBatch;
+            currentBatch = null;
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class Batch<E, ID> {
+
+        Map<ID, CompletableFuture<E>> futureMap = new LinkedHashMap<>();
+        Map<ID, Long> enqueueNanosMap = new LinkedHashMap<>();
+
+        private CompletableFuture<E> add(ID uniqueId) {
+            CompletableFuture<E> future = futureMap.get(uniqueId);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            futureMap.put(uniqueId, future);
+            enqueueNanosMap.put(uniqueId, System.nanoTime());
+            return future;
+        }
+    }
+}
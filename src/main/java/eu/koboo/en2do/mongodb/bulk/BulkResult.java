@@ -0,0 +1,79 @@
+package eu.koboo.en2do.mongodb.bulk;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the aggregated result of all chunks of a bulk write.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkResult {
+
+    /**
+     * Defines if all chunks were acknowledged by the server.
+     * If not, the counts are always 0.
+     */
+    boolean acknowledged = true;
+    int insertedCount;
+    int matchedCount;
+    int modifiedCount;
+    int upsertedCount;
+    int deletedCount;
+
+    /**
+     * The indexes of the failed writes, relative to the whole list of written entities.
+     */
+    @Getter(AccessLevel.NONE)
+    List<Integer> failedIndexList = new ArrayList<>();
+
+    /**
+     * Merges the counts of a single chunk into this result.
+     */
+    synchronized void merge(boolean chunkAcknowledged, int inserted, int matched, int modified,
+                            int upserted, int deleted, List<Integer> failedIndexes) {
+        if (!chunkAcknowledged) {
+            acknowledged = false;
+        }
+        insertedCount += inserted;
+        matchedCount += matched;
+        modifiedCount += modified;
+        upsertedCount += upserted;
+        deletedCount += deleted;
+        failedIndexList.addAll(failedIndexes);
+    }
+
+    /**
+     * @return The sorted indexes of the failed writes.
+     */
+    public synchronized List<Integer> getFailedIndexes() {
+        List<Integer> sortedList = new ArrayList<>(failedIndexList);
+        Collections.sort(sortedList);
+        return Collections.unmodifiableList(sortedList);
+    }
+
+    /**
+     * @return true, if no write of any chunk failed.
+     */
+    public synchronized boolean isSuccessful() {
+        return failedIndexList.isEmpty();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "BulkResult{" +
+            "acknowledged=" + acknowledged +
+            ", insertedCount=" + insertedCount +
+            ", matchedCount=" + matchedCount +
+            ", modifiedCount=" + modifiedCount +
+            ", upsertedCount=" + upsertedCount +
+            ", deletedCount=" + deletedCount +
+            ", failedIndexes=" + getFailedIndexes() +
+            '}';
+    }
+}
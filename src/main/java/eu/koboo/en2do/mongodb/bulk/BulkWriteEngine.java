@@ -0,0 +1,138 @@
+package eu.koboo.en2do.mongodb.bulk;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.WriteModel;
+import eu.koboo.en2do.SettingsBuilder;
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.exception.methods.MethodBulkWriteException;
+import eu.koboo.en2do.repository.Repository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executes the write models of the predefined bulk methods (e.g. "saveAll") as unordered bulk writes.
+ * The models are split into chunks of the configured size, which can be sent concurrently
+ * on the fan-out executor of the MongoManager. The results of all chunks are aggregated into a single BulkResult.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BulkWriteEngine {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    SettingsBuilder settingsBuilder;
+    ExecutorService executorService;
+
+    public BulkWriteEngine(SettingsBuilder settingsBuilder, ExecutorService executorService) {
+        this.settingsBuilder = settingsBuilder;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Writes the given models and throws an exception if any write failed.
+     * Because the writes are unordered, all other writes are still executed.
+     *
+     * @param repositoryData The repository meta of the called repository
+     * @param method         The method, which is invoked
+     * @param writeModelList The write models
+     * @param <E>            The generic type of the entity
+     * @param <ID>           The generic type of the entity id
+     * @param <R>            The generic type of the repository
+     * @return The aggregated result of all chunks
+     * @throws MethodBulkWriteException if any write of any chunk failed.
+     */
+    public <E, ID, R extends Repository<E, ID>> BulkResult write(RepositoryData<E, ID, R> repositoryData, Method method,
+                                                                 List<WriteModel<E>> writeModelList) throws Exception {
+        BulkResult bulkResult = execute(repositoryData.getEntityCollection(), writeModelList);
+        if (!bulkResult.isSuccessful()) {
+            throw new MethodBulkWriteException(method, repositoryData.getRepositoryClass(), bulkResult);
+        }
+        return bulkResult;
+    }
+
+    /**
+     * Writes the given models, without throwing an exception if any write failed.
+     * The failed writes are listed in the returned BulkResult.
+     *
+     * @param entityCollection The collection of the entities
+     * @param writeModelList   The write models
+     * @param <E>              The generic type of the entity
+     * @return The aggregated result of all chunks
+     */
+    public <E> BulkResult execute(MongoCollection<E> entityCollection, List<WriteModel<E>> writeModelList) {
+        BulkResult bulkResult = new BulkResult();
+        if (writeModelList.isEmpty()) {
+            return bulkResult;
+        }
+
+        int chunkSize = getChunkSize();
+        int chunkCount = (writeModelList.size() + chunkSize - 1) / chunkSize;
+        if (chunkCount == 1 || !settingsBuilder.isConcurrentBulkWrites() || executorService == null) {
+            for (int offset = 0; offset < writeModelList.size(); offset += chunkSize) {
+                writeChunk(entityCollection, writeModelList, offset, chunkSize, bulkResult);
+            }
+            return bulkResult;
+        }
+        List<CompletableFuture<Void>> futureList = new ArrayList<>(chunkCount);
+        for (int offset = 0; offset < writeModelList.size(); offset += chunkSize) {
+            int chunkOffset = offset;
+            futureList.add(CompletableFuture.runAsync(() ->
+                    writeChunk(entityCollection, writeModelList, chunkOffset, chunkSize, bulkResult),
+                executorService));
+        }
+        try {
+            CompletableFuture.allOf(futureList.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return bulkResult;
+    }
+
+    private <E> void writeChunk(MongoCollection<E> entityCollection, List<WriteModel<E>> writeModelList,
+                                int offset, int chunkSize, BulkResult bulkResult) {
+        List<WriteModel<E>> chunkList = writeModelList.subList(offset, Math.min(offset + chunkSize, writeModelList.size()));
+        BulkWriteResult writeResult;
+        List<Integer> failedIndexList = Collections.emptyList();
+        try {
+            writeResult = entityCollection.bulkWrite(chunkList, UNORDERED);
+        } catch (MongoBulkWriteException e) {
+            // The writes are unordered, so everything except the failed writes was executed.
+            writeResult = e.getWriteResult();
+            failedIndexList = new ArrayList<>(e.getWriteErrors().size());
+            for (BulkWriteError writeError : e.getWriteErrors()) {
+                failedIndexList.add(offset + writeError.getIndex());
+            }
+        }
+        if (!writeResult.wasAcknowledged()) {
+            bulkResult.merge(false, 0, 0, 0, 0, 0, failedIndexList);
+            return;
+        }
+        bulkResult.merge(true, writeResult.getInsertedCount(), writeResult.getMatchedCount(),
+            writeResult.getModifiedCount(), writeResult.getUpserts().size(), writeResult.getDeletedCount(),
+            failedIndexList);
+    }
+
+    private int getChunkSize() {
+        int chunkSize = settingsBuilder.getBulkWriteChunkSize();
+        if (chunkSize <= 0) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+        return chunkSize;
+    }
+}
@@ -0,0 +1,268 @@
+package eu.koboo.en2do.mongodb.cache;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the entities of a repository by their unique identifier.
+ * The entities are stored as encoded documents and decoded on every hit, so every caller gets its own copy.
+ * Lookups don't lock, all changes of the cache are guarded by a single lock.
+ * <p>
+ * If the cache is full, the entities are evicted by a frequency-aware clock: Every hit increases the
+ * frequency of an entry (up to MAXIMUM_FREQUENCY), and the eviction halves the frequency of the visited entries,
+ * until it finds an entry without any hits since its last visit.
+ * <p>
+ * To avoid caching an entity, which was changed while it was loaded, every load is started with "beginLoad".
+ * The loaded entity is only cached, if there was no invalidation in the meantime.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the entity id
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntityCache<E, ID> {
+
+    private static final int MAXIMUM_FREQUENCY = 15;
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    Codec<E> entityCodec;
+    @Getter
+    int maximumSize;
+    long expireAfterWriteNanos;
+
+    Map<ID, Entry<ID>> entryMap;
+    // The clock of the eviction. Contains every cached entry exactly once.
+    Queue<Entry<ID>> clockQueue;
+    Object lock = new Object();
+
+    @NonFinal
+    long invalidationStamp;
+
+    LongAdder hitCounter;
+    LongAdder missCounter;
+    LongAdder evictionCounter;
+    LongAdder expirationCounter;
+
+    public EntityCache(Codec<E> entityCodec, int maximumSize, long expireAfterWriteMillis) {
+        this.entityCodec = entityCodec;
+        this.maximumSize = Math.max(1, maximumSize);
+        this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, expireAfterWriteMillis));
+        this.entryMap = new ConcurrentHashMap<>();
+        this.clockQueue = new ArrayDeque<>();
+        this.hitCounter = new LongAdder();
+        this.missCounter = new LongAdder();
+        this.evictionCounter = new LongAdder();
+        this.expirationCounter = new LongAdder();
+    }
+
+    /**
+     * Returns a copy of the cached entity.
+     *
+     * @param uniqueId The unique identifier of the entity
+     * @return The copy of the entity, or null if it's not cached or expired
+     */
+    public E get(ID uniqueId) {
+        Entry<ID> entry = entryMap.get(uniqueId);
+        if (entry == null) {
+            missCounter.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos >= 0) {
+            synchronized (lock) {
+                if (entryMap.remove(uniqueId, entry)) {
+                    entry.removed = true;
+                    expirationCounter.increment();
+                }
+            }
+            missCounter.increment();
+            return null;
+        }
+        // Racy increments are fine, the frequency is only an estimate.
+        if (entry.frequency < MAXIMUM_FREQUENCY) {
+            entry.frequency++;
+        }
+        hitCounter.increment();
+        return entityCodec.decode(new BsonDocumentReader(entry.document), DECODER_CONTEXT);
+    }
+
+    /**
+     * Needs to be called before the entity is loaded from the database.
+     *
+     * @return The stamp, which needs to be passed to "put"
+     */
+    public long beginLoad() {
+        synchronized (lock) {
+            return invalidationStamp;
+        }
+    }
+
+    /**
+     * Caches a copy of the loaded entity, if the cache wasn't invalidated since the load was started.
+     *
+     * @param uniqueId  The unique identifier of the entity
+     * @param entity    The loaded entity
+     * @param loadStamp The stamp of "beginLoad"
+     */
+    public void put(ID uniqueId, E entity, long loadStamp) {
+        // Encoding is done outside the lock, it's the expensive part.
+        BsonDocumentWriter writer = new BsonDocumentWriter(new BsonDocument());
+        entityCodec.encode(writer, entity, ENCODER_CONTEXT);
+        Entry<ID> entry = new Entry<>(uniqueId, writer.getDocument(), System.nanoTime() + expireAfterWriteNanos);
+        synchronized (lock) {
+            if (loadStamp != invalidationStamp) {
+                return;
+            }
+            Entry<ID> previousEntry = entryMap.put(uniqueId, entry);
+            if (previousEntry != null) {
+                previousEntry.removed = true;
+            } else if (entryMap.size() > maximumSize) {
+                evict();
+            }
+            clockQueue.offer(entry);
+            if (clockQueue.size() > maximumSize * 2) {
+                clockQueue.removeIf(queuedEntry -> queuedEntry.removed);
+            }
+        }
+    }
+
+    private void evict() {
+        while (true) {
+            Entry<ID> entry = clockQueue.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.removed) {
+                continue;
+            }
+            if (entry.frequency > 0) {
+                // Second chance, the entry was used since its last visit.
+                entry.frequency /= 2;
+                clockQueue.offer(entry);
+                continue;
+            }
+            entryMap.remove(entry.uniqueId, entry);
+            entry.removed = true;
+            evictionCounter.increment();
+            return;
+        }
+    }
+
+    /**
+     * Removes the entity from the cache. Needs to be called after the entity was changed in the database.
+     *
+     * @param uniqueId The unique identifier of the entity
+     */
+    public void invalidate(ID uniqueId) {
+        synchronized (lock) {
+            invalidationStamp++;
+            removeEntry(uniqueId);
+        }
+    }
+
+    public void invalidate(Collection<ID> uniqueIdList) {
+        synchronized (lock) {
+            invalidationStamp++;
+            for (ID uniqueId : uniqueIdList) {
+                removeEntry(uniqueId);
+            }
+        }
+    }
+
+    /**
+     * Removes all entities from the cache. Needs to be called after writes, which can't be resolved
+     * to unique identifiers, e.g. filtered updates.
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            invalidationStamp++;
+            for (Entry<ID> entry : entryMap.values()) {
+                entry.removed = true;
+            }
+            entryMap.clear();
+            clockQueue.clear();
+        }
+    }
+
+    private void removeEntry(ID uniqueId) {
+        Entry<ID> entry = entryMap.remove(uniqueId);
+        if (entry != null) {
+            entry.removed = true;
+        }
+    }
+
+    /**
+     * @return The amount of lookups, which returned a cached entity.
+     */
+    public long getHitCount() {
+        return hitCounter.sum();
+    }
+
+    /**
+     * @return The amount of lookups, which needed to load the entity from the database.
+     */
+    public long getMissCount() {
+        return missCounter.sum();
+    }
+
+    /**
+     * @return The amount of entities, which were evicted because the cache was full.
+     */
+    public long getEvictionCount() {
+        return evictionCounter.sum();
+    }
+
+    /**
+     * @return The amount of entities, which were removed because they expired.
+     */
+    public long getExpirationCount() {
+        return expirationCounter.sum();
+    }
+
+    public double getHitRatio() {
+        long hits = hitCounter.sum();
+        long requests = hits + missCounter.sum();
+        if (requests == 0) {
+            return 0;
+        }
+        return (double) hits / requests;
+    }
+
+    /**
+     * @return The amount of currently cached entities, including the expired ones, which weren't looked up yet.
+     */
+    public int size() {
+        return entryMap.size();
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static class Entry<ID> {
+
+        final ID uniqueId;
+        final BsonDocument document;
+        final long expiresAtNanos;
+        volatile int frequency;
+        volatile boolean removed;
+
+        private Entry(ID uniqueId, BsonDocument document, long expiresAtNanos) {
+            this.uniqueId = uniqueId;
+            this.document = document;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+
+@Getter
+public class MethodBulkWriteException extends Exception {
+
+    private final BulkResult bulkResult;
+
+    public MethodBulkWriteException(Method method, Class<?> repoClass, BulkResult bulkResult) {
+        super(bulkResult.getFailedIndexes().size() + " writes of method \"" + method.getName() + "\" of the repository " +
+            repoClass.getName() + " failed: " + bulkResult);
+        this.bulkResult = bulkResult;
+    }
+}
@@ -0,0 +1,11 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodInvalidContinuationTokenException extends Exception {
+
+    public MethodInvalidContinuationTokenException(Method method, Class<?> repoClass) {
+        super("The continuation token of the keyset pagination is invalid or was created with another sorting! " +
+            "You tried to execute the method \"" + method.getName() + "\" of the repository " + repoClass.getName() + ".");
+    }
+}
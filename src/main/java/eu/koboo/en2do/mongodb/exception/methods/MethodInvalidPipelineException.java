@@ -0,0 +1,11 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodInvalidPipelineException extends Exception {
+
+    public MethodInvalidPipelineException(Method method, Class<?> repoClass, String reason) {
+        super("The pipeline of the method \"" + method.getName() + "\" in " +
+            repoClass.getName() + " is invalid: " + reason);
+    }
+}
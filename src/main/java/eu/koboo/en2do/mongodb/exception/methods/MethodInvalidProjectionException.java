@@ -0,0 +1,11 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodInvalidProjectionException extends Exception {
+
+    public MethodInvalidProjectionException(Method method, Class<?> repoClass, String reason) {
+        super("The projection of the method \"" + method.getName() + "\" in " +
+            repoClass.getName() + " is invalid: " + reason);
+    }
+}
@@ -0,0 +1,12 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodKeysetLazyResultException extends Exception {
+
+    public MethodKeysetLazyResultException(Method method, Class<?> repoClass) {
+        super("The method \"" + method.getName() + "\" of the repository " + repoClass.getName() + " returns " +
+            "a Stream or cursor, which can't move the continuation token of a keyset pagination. " +
+            "Please use a List as return type for keyset pagination.");
+    }
+}
@@ -0,0 +1,11 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodPipelineRequiredException extends Exception {
+
+    public MethodPipelineRequiredException(Method method, Class<?> repoClass, Class<?> annotationClass) {
+        super("The method \"" + method.getName() + "\" in " +
+            repoClass.getName() + " requires the annotation " + annotationClass.getName() + ".");
+    }
+}
@@ -0,0 +1,13 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodSingleFlightNotAllowedException extends Exception {
+
+    public MethodSingleFlightNotAllowedException(Method method, Class<?> repoClass, Class<?> annotationClass) {
+        super("The method \"" + method.getName() + "\" in " +
+            repoClass.getName() + " is not allowed to use " + annotationClass.getName() + ". " +
+            "It's only allowed in \"find\", \"count\", \"exists\", \"aggregate\" and the group methods (e.g. \"sum\"), " +
+            "which don't return a Stream or a cursor.");
+    }
+}
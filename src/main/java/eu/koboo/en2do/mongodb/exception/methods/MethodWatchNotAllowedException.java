@@ -0,0 +1,12 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodWatchNotAllowedException extends Exception {
+
+    public MethodWatchNotAllowedException(Method method, Class<?> repoClass) {
+        super("The method \"" + method.getName() + "\" in " +
+            repoClass.getName() + " is not allowed to watch changes. " +
+            "It's only allowed in methods, which start with the operator \"watchBy\".");
+    }
+}
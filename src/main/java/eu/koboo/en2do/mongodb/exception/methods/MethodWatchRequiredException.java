@@ -0,0 +1,12 @@
+package eu.koboo.en2do.mongodb.exception.methods;
+
+import java.lang.reflect.Method;
+
+public class MethodWatchRequiredException extends Exception {
+
+    public MethodWatchRequiredException(Method method, Class<?> repoClass, Class<?> watchClass) {
+        super("The method \"" + method.getName() + "\" in " +
+            repoClass.getName() + " requires a " + watchClass.getName() +
+            " object as last parameter.");
+    }
+}
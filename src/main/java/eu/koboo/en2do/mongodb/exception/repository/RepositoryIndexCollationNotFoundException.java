@@ -0,0 +1,9 @@
+package eu.koboo.en2do.mongodb.exception.repository;
+
+public class RepositoryIndexCollationNotFoundException extends Exception {
+
+    public RepositoryIndexCollationNotFoundException(Class<?> repoClass) {
+        super("A compound index in entity of " + repoClass.getName() + " uses the collation of the entity, " +
+            "but the entity isn't annotated with @Collation.");
+    }
+}
@@ -0,0 +1,11 @@
+package eu.koboo.en2do.mongodb.exception.repository;
+
+import com.mongodb.client.model.CollationStrength;
+
+public class RepositoryInvalidCollationException extends Exception {
+
+    public RepositoryInvalidCollationException(Class<?> repoClass, CollationStrength strength) {
+        super("The collation strength " + strength + " in entity of " + repoClass.getName() + " is not supported, " +
+            "only " + CollationStrength.PRIMARY + " and " + CollationStrength.SECONDARY + " are case-insensitive.");
+    }
+}
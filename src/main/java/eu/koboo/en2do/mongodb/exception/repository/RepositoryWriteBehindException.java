@@ -0,0 +1,16 @@
+package eu.koboo.en2do.mongodb.exception.repository;
+
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
+import lombok.Getter;
+
+@Getter
+public class RepositoryWriteBehindException extends Exception {
+
+    private final BulkResult bulkResult;
+
+    public RepositoryWriteBehindException(Class<?> repoClass, BulkResult bulkResult) {
+        super(bulkResult.getFailedIndexes().size() + " buffered writes of the repository " + repoClass.getName() +
+            " were rejected and dropped: " + bulkResult);
+        this.bulkResult = bulkResult;
+    }
+}
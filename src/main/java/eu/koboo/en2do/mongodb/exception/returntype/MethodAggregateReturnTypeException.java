@@ -0,0 +1,12 @@
+package eu.koboo.en2do.mongodb.exception.returntype;
+
+import java.lang.reflect.Method;
+
+public class MethodAggregateReturnTypeException extends Exception {
+
+    public MethodAggregateReturnTypeException(Method method, Class<?> repoClass) {
+        super("Methods, which start with the keyword \"aggregate\" have to return the result type, " +
+            "a List, a Stream or a MongoCursor of it! Please correct the method \"" + method.getName() +
+            "\" of repository " + repoClass.getName() + ".");
+    }
+}
@@ -0,0 +1,14 @@
+package eu.koboo.en2do.mongodb.exception.returntype;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+public class MethodDistinctReturnTypeException extends Exception {
+
+    public MethodDistinctReturnTypeException(Method method, Class<?> repoClass) {
+        super("Methods, which start with the keyword \"distinct\" have to return a " + List.class.getName() +
+            " or a " + Set.class.getName() + "! Please correct the method \"" + method.getName() +
+            "\" of repository " + repoClass.getName() + ".");
+    }
+}
@@ -0,0 +1,12 @@
+package eu.koboo.en2do.mongodb.exception.returntype;
+
+import java.lang.reflect.Method;
+
+public class MethodFieldReturnTypeException extends Exception {
+
+    public MethodFieldReturnTypeException(Method method, Class<?> repoClass, String fieldName,
+                                          Class<?> fieldClass, Class<?> returnClass) {
+        super("The method \"" + method.getName() + "\" of repository " + repoClass.getName() + " returns the field \"" +
+            fieldName + "\" of type " + fieldClass.getName() + ", which can't be returned as " + returnClass.getName() + ".");
+    }
+}
@@ -0,0 +1,15 @@
+package eu.koboo.en2do.mongodb.exception.returntype;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+public class MethodGroupReturnTypeException extends Exception {
+
+    public MethodGroupReturnTypeException(Method method, Class<?> repoClass) {
+        super("Methods, which start with the keywords \"sum\" or \"avg\" have to return a number, " +
+            "methods, which start with \"min\" or \"max\" have to return a single value and methods, " +
+            "which start with \"countGroupedBy\" have to return a " + Map.class.getName() + " with " +
+            Long.class.getName() + " values! Please correct the method \"" + method.getName() +
+            "\" of repository " + repoClass.getName() + ".");
+    }
+}
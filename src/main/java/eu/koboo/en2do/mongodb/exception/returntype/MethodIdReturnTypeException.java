@@ -0,0 +1,17 @@
+package eu.koboo.en2do.mongodb.exception.returntype;
+
+import java.lang.reflect.Method;
+
+public class MethodIdReturnTypeException extends Exception {
+
+    public MethodIdReturnTypeException(Method method, Class<?> repoClass) {
+        super("Methods, which start with the keyword \"findIds\" or \"pageIds\" have to return a List, Set, Stream, " +
+            "cursor or Page of the id type, methods, which start with \"findFirstId\" have to return the id type itself! " +
+            "Please correct the method \"" + method.getName() + "\" of repository " + repoClass.getName() + ".");
+    }
+
+    public MethodIdReturnTypeException(Method method, Class<?> repoClass, Class<?> idType, Class<?> returnedIdType) {
+        super("Method \"" + method.getName() + "\" of the repository " + repoClass.getName() + " returns the ids as " +
+            returnedIdType.getName() + ", but the id of the entity is of type " + idType.getName() + "!");
+    }
+}
@@ -0,0 +1,13 @@
+package eu.koboo.en2do.mongodb.exception.returntype;
+
+import eu.koboo.en2do.repository.methods.watch.ChangeSubscription;
+
+import java.lang.reflect.Method;
+
+public class MethodWatchReturnTypeException extends Exception {
+
+    public MethodWatchReturnTypeException(Method method, Class<?> repoClass) {
+        super("Methods, which start with the keyword \"watchBy\" have to return " + ChangeSubscription.class.getName() +
+            "! Please correct the method \"" + method.getName() + "\" of repository " + repoClass.getName() + ".");
+    }
+}
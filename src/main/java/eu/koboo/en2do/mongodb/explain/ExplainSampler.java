@@ -0,0 +1,208 @@
+package eu.koboo.en2do.mongodb.explain;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.MongoException;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Collation;
+import eu.koboo.en2do.SettingsBuilder;
+import eu.koboo.en2do.mongodb.RepositoryData;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.java.Log;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Explains a sampled fraction of the queries of the repositories with the verbosity "executionStats"
+ * and records the winning plans per repository method. The explain executes the query a second time
+ * on the calling thread, so it's meant for staging and load tests, not for production.
+ * Read queries without filters (e.g. "findAll") aren't reported as collection scan.
+ */
+@Log
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ExplainSampler {
+
+    public static final int DEFAULT_RATIO_THRESHOLD = 10;
+
+    // Small scans aren't reported, even if the ratio is bad.
+    private static final long MINIMUM_EXAMINED = 100;
+
+    SettingsBuilder settingsBuilder;
+    Map<String, ExplainSummary> summaryMap;
+
+    public ExplainSampler(SettingsBuilder settingsBuilder) {
+        this.settingsBuilder = settingsBuilder;
+        this.summaryMap = new ConcurrentHashMap<>();
+    }
+
+    private boolean isSampled() {
+        double sampleRate = settingsBuilder.getExplainSampleRate();
+        if (sampleRate <= 0) {
+            return false;
+        }
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Explains the given iterable, if the call is sampled.
+     *
+     * @param repositoryData The repository meta of the called repository
+     * @param methodName     The name of the called method
+     * @param findIterable   The iterable with the applied filter, sort and limit
+     */
+    public void explainFind(RepositoryData<?, ?, ?> repositoryData, String methodName, FindIterable<?> findIterable) {
+        if (!isSampled()) {
+            return;
+        }
+        try {
+            BsonDocument explainDocument = findIterable.explain(BsonDocument.class, ExplainVerbosity.EXECUTION_STATS);
+            record(repositoryData, methodName, explainDocument, true);
+        } catch (MongoException e) {
+            log.warning("Couldn't explain the method \"" + methodName + "\" of the repository " +
+                repositoryData.getRepositoryClass().getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Explains the count of the given filter, if the call is sampled.
+     *
+     * @param repositoryData The repository meta of the called repository
+     * @param methodName     The name of the called method
+     * @param filter         The filter of the count, or null
+     * @param collation      The collation of the count, or null
+     */
+    public void explainCount(RepositoryData<?, ?, ?> repositoryData, String methodName, Bson filter, Collation collation) {
+        if (!isSampled()) {
+            return;
+        }
+        // Same pipeline as "countDocuments" of the driver.
+        List<Bson> pipeline = Arrays.asList(
+            Aggregates.match(filter == null ? new BsonDocument() : filter),
+            Aggregates.group(1, Accumulators.sum("n", 1))
+        );
+        try {
+            BsonDocument explainDocument = repositoryData.getEntityCollection()
+                .aggregate(pipeline, BsonDocument.class)
+                .collation(collation)
+                .explain(BsonDocument.class, ExplainVerbosity.EXECUTION_STATS);
+            // A count doesn't return the entities, so the ratio isn't checked.
+            record(repositoryData, methodName, explainDocument, false);
+        } catch (MongoException e) {
+            log.warning("Couldn't explain the method \"" + methodName + "\" of the repository " +
+                repositoryData.getRepositoryClass().getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void record(RepositoryData<?, ?, ?> repositoryData, String methodName,
+                        BsonDocument explainDocument, boolean checkRatio) {
+        // Aggregations report the plan of the query in their first stage,
+        // unless the stages are executed by the query engine.
+        BsonDocument planDocument = explainDocument;
+        if (explainDocument.containsKey("stages")) {
+            BsonDocument firstStage = explainDocument.getArray("stages").get(0).asDocument();
+            if (firstStage.containsKey("$cursor")) {
+                planDocument = firstStage.getDocument("$cursor");
+            }
+        }
+        BsonDocument queryPlanner = planDocument.getDocument("queryPlanner", new BsonDocument());
+        BsonDocument winningPlan = queryPlanner.getDocument("winningPlan", new BsonDocument());
+        if (winningPlan.containsKey("queryPlan")) {
+            // The slot based engine wraps the plan.
+            winningPlan = winningPlan.getDocument("queryPlan");
+        }
+        Set<String> stageSet = new HashSet<>();
+        collectStages(winningPlan, stageSet);
+
+        BsonDocument executionStats = planDocument.getDocument("executionStats", new BsonDocument());
+        long keysExamined = getLong(executionStats, "totalKeysExamined");
+        long documentsExamined = getLong(executionStats, "totalDocsExamined");
+        long returned = getLong(executionStats, "nReturned");
+
+        boolean filtered = !queryPlanner.getDocument("parsedQuery", new BsonDocument()).isEmpty();
+        boolean collectionScan = filtered && stageSet.contains("COLLSCAN");
+        boolean inMemorySort = stageSet.contains("SORT");
+        long examined = Math.max(keysExamined, documentsExamined);
+        int ratioThreshold = settingsBuilder.getExplainRatioThreshold() > 0
+            ? settingsBuilder.getExplainRatioThreshold() : DEFAULT_RATIO_THRESHOLD;
+        boolean inefficientScan = checkRatio && examined >= MINIMUM_EXAMINED
+            && examined > ratioThreshold * Math.max(returned, 1);
+
+        Class<?> repositoryClass = repositoryData.getRepositoryClass();
+        ExplainSummary summary = summaryMap.computeIfAbsent(repositoryClass.getName() + "#" + methodName,
+            key -> new ExplainSummary(repositoryClass, methodName));
+        summary.record(winningPlan, keysExamined, documentsExamined, returned,
+            collectionScan, inMemorySort, inefficientScan);
+
+        if (!collectionScan && !inMemorySort && !inefficientScan) {
+            return;
+        }
+        List<String> warningList = new ArrayList<>();
+        if (collectionScan) {
+            warningList.add("collection scan");
+        }
+        if (inMemorySort) {
+            warningList.add("in-memory sort");
+        }
+        if (inefficientScan) {
+            warningList.add("examined " + examined + " keys or documents for " + returned + " entities");
+        }
+        log.warning("Method \"" + methodName + "\" of the repository " + repositoryClass.getName() +
+            " caused " + String.join(", ", warningList) + ". Winning plan: " + winningPlan.toJson());
+    }
+
+    private void collectStages(BsonDocument planStage, Set<String> stageSet) {
+        BsonValue stage = planStage.get("stage");
+        if (stage != null && stage.isString()) {
+            stageSet.add(stage.asString().getValue());
+        }
+        BsonValue inputStage = planStage.get("inputStage");
+        if (inputStage != null && inputStage.isDocument()) {
+            collectStages(inputStage.asDocument(), stageSet);
+        }
+        BsonValue inputStages = planStage.get("inputStages");
+        if (inputStages != null && inputStages.isArray()) {
+            for (BsonValue childStage : inputStages.asArray()) {
+                if (childStage.isDocument()) {
+                    collectStages(childStage.asDocument(), stageSet);
+                }
+            }
+        }
+    }
+
+    private long getLong(BsonDocument document, String key) {
+        BsonValue value = document.get(key);
+        if (value == null || !value.isNumber()) {
+            return 0;
+        }
+        return value.asNumber().longValue();
+    }
+
+    /**
+     * Returns the summary of the given method.
+     *
+     * @param repositoryClass The class of the repository
+     * @param methodName      The name of the method
+     * @return The summary, or null if the method wasn't explained yet
+     */
+    public ExplainSummary getSummary(Class<?> repositoryClass, String methodName) {
+        return summaryMap.get(repositoryClass.getName() + "#" + methodName);
+    }
+
+    /**
+     * @return The summaries of all explained methods.
+     */
+    public List<ExplainSummary> getSummaries() {
+        return new ArrayList<>(summaryMap.values());
+    }
+
+    public void clear() {
+        summaryMap.clear();
+    }
+}
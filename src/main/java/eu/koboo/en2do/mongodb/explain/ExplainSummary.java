@@ -0,0 +1,130 @@
+package eu.koboo.en2do.mongodb.explain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.bson.BsonDocument;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the recorded explain plans of a single repository method.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ExplainSummary {
+
+    @Getter
+    Class<?> repositoryClass;
+
+    @Getter
+    String methodName;
+
+    LongAdder sampleCounter;
+    LongAdder collectionScanCounter;
+    LongAdder inMemorySortCounter;
+    LongAdder inefficientScanCounter;
+    LongAdder keysExaminedCounter;
+    LongAdder documentsExaminedCounter;
+    LongAdder returnedCounter;
+
+    /**
+     * The winning plan of the last sampled call.
+     */
+    @Getter
+    @NonFinal
+    volatile BsonDocument lastWinningPlan;
+
+    public ExplainSummary(Class<?> repositoryClass, String methodName) {
+        this.repositoryClass = repositoryClass;
+        this.methodName = methodName;
+        this.sampleCounter = new LongAdder();
+        this.collectionScanCounter = new LongAdder();
+        this.inMemorySortCounter = new LongAdder();
+        this.inefficientScanCounter = new LongAdder();
+        this.keysExaminedCounter = new LongAdder();
+        this.documentsExaminedCounter = new LongAdder();
+        this.returnedCounter = new LongAdder();
+    }
+
+    void record(BsonDocument winningPlan, long keysExamined, long documentsExamined, long returned,
+                boolean collectionScan, boolean inMemorySort, boolean inefficientScan) {
+        lastWinningPlan = winningPlan;
+        sampleCounter.increment();
+        keysExaminedCounter.add(keysExamined);
+        documentsExaminedCounter.add(documentsExamined);
+        returnedCounter.add(returned);
+        if (collectionScan) {
+            collectionScanCounter.increment();
+        }
+        if (inMemorySort) {
+            inMemorySortCounter.increment();
+        }
+        if (inefficientScan) {
+            inefficientScanCounter.increment();
+        }
+    }
+
+    /**
+     * @return The amount of explained calls.
+     */
+    public long getSampleCount() {
+        return sampleCounter.sum();
+    }
+
+    /**
+     * @return The amount of explained calls, which read the whole collection with filters.
+     */
+    public long getCollectionScanCount() {
+        return collectionScanCounter.sum();
+    }
+
+    /**
+     * @return The amount of explained calls, which sorted the entities in memory.
+     */
+    public long getInMemorySortCount() {
+        return inMemorySortCounter.sum();
+    }
+
+    /**
+     * @return The amount of explained calls, which examined too many keys or documents per returned entity.
+     */
+    public long getInefficientScanCount() {
+        return inefficientScanCounter.sum();
+    }
+
+    public long getKeysExamined() {
+        return keysExaminedCounter.sum();
+    }
+
+    public long getDocumentsExamined() {
+        return documentsExaminedCounter.sum();
+    }
+
+    public long getReturned() {
+        return returnedCounter.sum();
+    }
+
+    /**
+     * @return The examined keys or documents (whichever is higher) per returned entity of all explained calls.
+     */
+    public double getExaminedToReturnedRatio() {
+        long examined = Math.max(getKeysExamined(), getDocumentsExamined());
+        return (double) examined / Math.max(getReturned(), 1);
+    }
+
+    /**
+     * @return true, if any explained call read the whole collection, sorted in memory or scanned inefficiently.
+     */
+    public boolean hasWarnings() {
+        return getCollectionScanCount() > 0 || getInMemorySortCount() > 0 || getInefficientScanCount() > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ExplainSummary{repository=" + repositoryClass.getName() + ", method=" + methodName +
+            ", samples=" + getSampleCount() + ", collectionScans=" + getCollectionScanCount() +
+            ", inMemorySorts=" + getInMemorySortCount() + ", inefficientScans=" + getInefficientScanCount() +
+            ", examinedToReturned=" + getExaminedToReturnedRatio() + "}";
+    }
+}
@@ -0,0 +1,97 @@
+package eu.koboo.en2do.mongodb.generator;
+
+import eu.koboo.en2do.mongodb.InvocationPlan;
+import eu.koboo.en2do.mongodb.MethodInvoker;
+import eu.koboo.en2do.mongodb.RepositoryInvocationHandler;
+import eu.koboo.en2do.repository.Repository;
+import lombok.experimental.UtilityClass;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a concrete class for a repository interface at runtime.
+ * Every method of the generated class directly calls the MethodInvoker of its invocation plan,
+ * which is held in a static field of the class. The returned value is cast (or unboxed) to the declared return type
+ * in the generated method, so the call neither goes through the megamorphic dispatch of java.lang.reflect.Proxy,
+ * nor through any lookup or shared dispatch of the invocation handler.
+ * This class references "net.bytebuddy", so it's only allowed to be loaded,
+ * if byte-buddy is available on the classpath.
+ */
+@UtilityClass
+public class RepositoryClassGenerator {
+
+    private static final Method INVOKE_METHOD = resolveInvokeMethod();
+
+    /**
+     * Generates, loads and instantiates the repository class.
+     *
+     * @param repositoryClass   The interface of the repository
+     * @param invocationHandler The handler with the compiled invocation plans of the repository
+     * @param <E>               The generic type of the entity
+     * @param <ID>              The generic type of the entity id
+     * @param <R>               The generic type of the repository
+     * @return The created instance of the generated repository class
+     * @throws Exception if the class couldn't be generated
+     */
+    public <E, ID, R extends Repository<E, ID>> R generate(Class<R> repositoryClass,
+                                                           RepositoryInvocationHandler<E, ID, R> invocationHandler)
+        throws Exception {
+        // The methods of java.lang.Object are handled by predefined methods, like the proxy does.
+        List<InvocationPlan<E, ID, R>> invocationPlanList = new ArrayList<>(invocationHandler.getInvocationPlans());
+        invocationPlanList.add(invocationHandler.getInvocationPlan(Object.class.getMethod("equals", Object.class)));
+        invocationPlanList.add(invocationHandler.getInvocationPlan(Object.class.getMethod("hashCode")));
+        invocationPlanList.add(invocationHandler.getInvocationPlan(Object.class.getMethod("toString")));
+
+        // Every abstract method without a plan falls back to the invocation handler.
+        // The matchers registered later have precedence, so this is registered first.
+        DynamicType.Builder<?> builder = new ByteBuddy()
+            .subclass(Object.class)
+            .implement(repositoryClass)
+            .name(repositoryClass.getName() + "$En2doRepository")
+            .method(ElementMatchers.isAbstract())
+            .intercept(InvocationHandlerAdapter.of(invocationHandler));
+
+        for (InvocationPlan<E, ID, R> invocationPlan : invocationPlanList) {
+            // The arguments are still passed as array, because the filters and handlers bind them by index.
+            MethodInvoker methodInvoker = invocationHandler.getMethodInvoker(invocationPlan);
+            builder = builder.method(matchSignature(invocationPlan.getMethod()))
+                .intercept(MethodCall.invoke(INVOKE_METHOD)
+                    .on(methodInvoker, MethodInvoker.class)
+                    .withArgumentArray()
+                    .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+        }
+
+        Class<?> generatedClass;
+        try (DynamicType.Unloaded<?> unloadedType = builder.make()) {
+            generatedClass = unloadedType
+                .load(repositoryClass.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        }
+        return repositoryClass.cast(generatedClass.getDeclaredConstructor().newInstance());
+    }
+
+    private Method resolveInvokeMethod() {
+        try {
+            return MethodInvoker.class.getMethod("invoke", Object[].class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ElementMatcher<MethodDescription> matchSignature(Method method) {
+        return ElementMatchers.named(method.getName())
+            .and(ElementMatchers.takesArguments(method.getParameterTypes()))
+            .and(ElementMatchers.returns(method.getReturnType()));
+    }
+}
@@ -0,0 +1,256 @@
+package eu.koboo.en2do.mongodb.methods.dynamic;
+
+import eu.koboo.en2do.operators.Chain;
+import eu.koboo.en2do.operators.FilterOperator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.bson.*;
+import org.bson.codecs.Encoder;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import java.util.List;
+
+/**
+ * Represents the compiled filter of an IndexedMethod.
+ * The shape of the filter (field keys, operators, chain) only depends on the method name,
+ * so it's resolved once. On every invocation the arguments are just bound into their slots
+ * and written into a BsonDocument, without creating the wrapper objects of "com.mongodb.client.model.Filters".
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class FilterTemplate {
+
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+
+    @Getter
+    Chain chain;
+    Slot[] slots;
+
+    public FilterTemplate(Chain chain, List<IndexedFilter> indexedFilterList, String uniqueIdFieldName,
+                          boolean ignoreCaseByCollation) {
+        this.chain = chain;
+        this.slots = new Slot[indexedFilterList.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot(indexedFilterList.get(i), uniqueIdFieldName, ignoreCaseByCollation);
+        }
+    }
+
+    /**
+     * @return The amount of slots, which is the same as the amount of filters.
+     */
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    public Slot getSlot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Binds the given values into the slots of the template.
+     *
+     * @param boundValues The values of the slots. Direct slots expect the filterable argument,
+     *                    all other slots expect their already created Bson filter.
+     * @return The filter with the bound values
+     */
+    public Bson bind(Object[] boundValues) {
+        if (chain == Chain.NONE && !slots[0].isDirect()) {
+            // Nothing to write, the only filter is already created.
+            return (Bson) boundValues[0];
+        }
+        return new BoundFilter(this, boundValues);
+    }
+
+    private void writeFilter(BsonDocumentWriter writer, Object[] boundValues, CodecRegistry codecRegistry) {
+        if (chain == Chain.NONE) {
+            writeSlot(writer, slots[0], boundValues[0], codecRegistry);
+            return;
+        }
+        writer.writeStartDocument();
+        writer.writeName(chain == Chain.AND ? "$and" : "$or");
+        writer.writeStartArray();
+        for (int i = 0; i < slots.length; i++) {
+            writeSlot(writer, slots[i], boundValues[i], codecRegistry);
+        }
+        writer.writeEndArray();
+        writer.writeEndDocument();
+    }
+
+    private void writeSlot(BsonDocumentWriter writer, Slot slot, Object boundValue, CodecRegistry codecRegistry) {
+        if (!slot.isDirect()) {
+            // The negation is already applied to the created filter.
+            writer.pipe(new BsonDocumentReader(((Bson) boundValue).toBsonDocument(BsonDocument.class, codecRegistry)));
+            return;
+        }
+        if (slot.isNotFilter()) {
+            writer.writeStartDocument();
+            writer.writeName("$nor");
+            writer.writeStartArray();
+        }
+        writer.writeStartDocument();
+        writer.writeName(slot.getFieldKey());
+        Object value = slot.isConstant() ? slot.getConstantValue() : boundValue;
+        if (slot.getQueryOperator() == null) {
+            writeValue(writer, value, codecRegistry);
+        } else {
+            writer.writeStartDocument();
+            writer.writeName(slot.getQueryOperator());
+            writeValue(writer, value, codecRegistry);
+            writer.writeEndDocument();
+        }
+        writer.writeEndDocument();
+        if (slot.isNotFilter()) {
+            writer.writeEndArray();
+            writer.writeEndDocument();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeValue(BsonDocumentWriter writer, Object value, CodecRegistry codecRegistry) {
+        // Same encoding as the filters of the mongodb driver.
+        if (value == null) {
+            writer.writeNull();
+            return;
+        }
+        if (value instanceof Bson) {
+            BsonDocument document = ((Bson) value).toBsonDocument(BsonDocument.class, codecRegistry);
+            codecRegistry.get(BsonDocument.class).encode(writer, document, ENCODER_CONTEXT);
+            return;
+        }
+        Encoder<Object> encoder = (Encoder<Object>) codecRegistry.get(value.getClass());
+        encoder.encode(writer, value, ENCODER_CONTEXT);
+    }
+
+    /**
+     * Represents a single filter of the template.
+     */
+    @Getter
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    public static class Slot {
+
+        /**
+         * The filter of the method, this slot was created for.
+         */
+        IndexedFilter filter;
+
+        /**
+         * The key of the field in the document. The id field of the entity is already converted to "_id".
+         */
+        String fieldKey;
+
+        /**
+         * Defines if this slot is written by the template. If not, the filter is created by the IndexedMethod.
+         */
+        boolean direct;
+
+        /**
+         * The query operator (e.g. "$gt"), or null if the value is compared by equality.
+         */
+        String queryOperator;
+
+        /**
+         * Defines if the slot doesn't use any argument.
+         */
+        boolean constant;
+
+        /**
+         * The value of constant slots.
+         */
+        Object constantValue;
+
+        boolean notFilter;
+
+        private Slot(IndexedFilter filter, String uniqueIdFieldName, boolean ignoreCaseByCollation) {
+            this.filter = filter;
+            this.notFilter = filter.isNotFilter();
+
+            // Check if the id field of the entity is used.
+            // We need to convert the actual field name to mongodb's "_id" of documents
+            // to be able to filter the id field.
+            String bsonFilterFieldKey = filter.getBsonFilterFieldKey();
+            if (bsonFilterFieldKey.equalsIgnoreCase(uniqueIdFieldName)) {
+                bsonFilterFieldKey = "_id";
+            }
+            this.fieldKey = bsonFilterFieldKey;
+
+            FilterOperator operator = filter.getOperator();
+            boolean direct = true;
+            boolean constant = false;
+            String queryOperator = null;
+            Object constantValue = null;
+            switch (operator) {
+                case EQUALS:
+                    break;
+                case EQUALS_IGNORE_CASE:
+                    // The query is executed with a case-insensitive collation, so plain equality is enough.
+                    direct = ignoreCaseByCollation;
+                    break;
+                case GREATER_THAN:
+                    queryOperator = "$gt";
+                    break;
+                case LESS_THAN:
+                    queryOperator = "$lt";
+                    break;
+                case GREATER_EQUALS:
+                    queryOperator = "$gte";
+                    break;
+                case LESS_EQUALS:
+                    queryOperator = "$lte";
+                    break;
+                case EXISTS:
+                    queryOperator = "$exists";
+                    constant = true;
+                    constantValue = true;
+                    break;
+                case IS_NULL:
+                    constant = true;
+                    break;
+                case IS_TRUE:
+                    constant = true;
+                    constantValue = true;
+                    break;
+                case IS_FALSE:
+                    constant = true;
+                    constantValue = false;
+                    break;
+                default:
+                    direct = false;
+                    break;
+            }
+            this.direct = direct;
+            this.constant = constant;
+            this.queryOperator = queryOperator;
+            this.constantValue = constantValue;
+        }
+    }
+
+    /**
+     * The filter, which is passed to the driver. The values are encoded,
+     * as soon as the driver renders the filter.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class BoundFilter implements Bson {
+
+        FilterTemplate template;
+        Object[] boundValues;
+
+        private BoundFilter(FilterTemplate template, Object[] boundValues) {
+            this.template = template;
+            this.boundValues = boundValues;
+        }
+
+        @Override
+        public <TDocument> BsonDocument toBsonDocument(Class<TDocument> documentClass, CodecRegistry codecRegistry) {
+            BsonDocumentWriter writer = new BsonDocumentWriter(new BsonDocument());
+            template.writeFilter(writer, boundValues, codecRegistry);
+            return writer.getDocument();
+        }
+
+        @Override
+        public String toString() {
+            return "BoundFilter{slots=" + template.getSlotCount() + ", chain=" + template.getChain() + "}";
+        }
+    }
+}
@@ -18,4 +18,9 @@ public class IndexedFilter {
     boolean notFilter;
     FilterOperator operator;
     int nextParameterIndex;
+
+    /**
+     * Defines if the filter could compare strings, so a case-insensitive collation would change its result.
+     */
+    boolean collationSensitive;
 }
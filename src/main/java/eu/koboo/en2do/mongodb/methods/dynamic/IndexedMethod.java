@@ -1,5 +1,6 @@
 package eu.koboo.en2do.mongodb.methods.dynamic;
 
+import com.mongodb.client.model.Collation;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.geojson.Point;
 import com.mongodb.client.model.geojson.Position;
@@ -7,13 +8,13 @@ import eu.koboo.en2do.mongodb.RepositoryData;
 import eu.koboo.en2do.mongodb.exception.methods.MethodInvalidRegexParameterException;
 import eu.koboo.en2do.mongodb.exception.methods.MethodUnsupportedFilterException;
 import eu.koboo.en2do.operators.Chain;
+import eu.koboo.en2do.operators.FilterOperator;
 import eu.koboo.en2do.operators.MethodOperator;
 import eu.koboo.en2do.repository.Repository;
 import eu.koboo.en2do.repository.methods.geo.Geo;
 import eu.koboo.en2do.repository.methods.geo.GeoType;
 import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -22,7 +23,6 @@ import java.lang.reflect.Method;
 import java.util.*;
 import java.util.regex.Pattern;
 
-@RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class IndexedMethod<E, ID, R extends Repository<E, ID>> {
 
@@ -30,67 +30,103 @@ public class IndexedMethod<E, ID, R extends Repository<E, ID>> {
     Method method;
     @Getter
     MethodOperator methodOperator;
-    Chain chain;
 
     @Getter
     Long methodDefinedEntityCount;
 
-    List<IndexedFilter> indexedFilterList;
+    @Getter
+    FilterTemplate filterTemplate;
+
+    /**
+     * The collation of the entity, if the method uses any "Ign" filter and doesn't compare any other string.
+     * Otherwise null.
+     */
+    @Getter
+    Collation collation;
+
+    /**
+     * The key of the field of field operators (e.g. "sum" or "distinct"). Otherwise null.
+     * The id field of the entity is already converted to "_id".
+     */
+    @Getter
+    String targetFieldKey;
 
     RepositoryData<E, ID, R> repositoryData;
 
+    public IndexedMethod(Method method, MethodOperator methodOperator, Chain chain,
+                         Long methodDefinedEntityCount, List<IndexedFilter> indexedFilterList,
+                         String targetBsonFieldKey, RepositoryData<E, ID, R> repositoryData) {
+        this.method = method;
+        this.methodOperator = methodOperator;
+        this.methodDefinedEntityCount = methodDefinedEntityCount;
+        String uniqueIdFieldName = repositoryData.getEntityUniqueIdField().getName();
+        if (targetBsonFieldKey != null && targetBsonFieldKey.equalsIgnoreCase(uniqueIdFieldName)) {
+            targetBsonFieldKey = "_id";
+        }
+        this.targetFieldKey = targetBsonFieldKey;
+        // If the entity defines a collation, case-insensitive equality is executed with the collation
+        // instead of a regex, so it can be served by the indexes.
+        // The collation applies to the whole query, so methods, which also compare strings
+        // case-sensitive, keep the regex.
+        Collation ignoreCaseCollation = null;
+        Collation entityCollation = repositoryData.getEntityCollation();
+        if (entityCollation != null) {
+            boolean ignoreCaseFilter = false;
+            boolean caseSensitiveFilter = false;
+            for (IndexedFilter indexedFilter : indexedFilterList) {
+                if (indexedFilter.getOperator() == FilterOperator.EQUALS_IGNORE_CASE) {
+                    ignoreCaseFilter = true;
+                } else if (indexedFilter.isCollationSensitive()) {
+                    caseSensitiveFilter = true;
+                }
+            }
+            if (ignoreCaseFilter && !caseSensitiveFilter) {
+                ignoreCaseCollation = entityCollation;
+            }
+        }
+        this.collation = ignoreCaseCollation;
+        this.filterTemplate = new FilterTemplate(chain, indexedFilterList,
+            uniqueIdFieldName, ignoreCaseCollation != null);
+        this.repositoryData = repositoryData;
+    }
+
     @SuppressWarnings("unchecked")
     public <F> F createFilter(Object[] arguments) throws Exception {
-        Bson filter;
-        Set<Bson> bsonFilterSet = new LinkedHashSet<>();
-        for (IndexedFilter indexedFilter : indexedFilterList) {
-            int paramStartIndex = indexedFilter.getNextParameterIndex();
-            Bson processedBsonFilter = processBson(indexedFilter, paramStartIndex, arguments);
-            bsonFilterSet.add(processedBsonFilter);
+        int slotCount = filterTemplate.getSlotCount();
+        if (slotCount == 0) {
+            return null;
         }
-        switch (chain) {
-            case OR:
-                filter = Filters.or(bsonFilterSet);
-                break;
-            case AND:
-                filter = Filters.and(bsonFilterSet);
-                break;
-            case NONE:
-            default:
-                filter = bsonFilterSet.stream()
-                    .findFirst()
-                    .orElse(null);
-                break;
+        Object[] boundValues = new Object[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            FilterTemplate.Slot slot = filterTemplate.getSlot(i);
+            IndexedFilter indexedFilter = slot.getFilter();
+            int paramStartIndex = indexedFilter.getNextParameterIndex();
+            if (!slot.isDirect()) {
+                boundValues[i] = processBson(indexedFilter, slot.getFieldKey(), paramStartIndex, arguments);
+                continue;
+            }
+            if (!slot.isConstant()) {
+                boundValues[i] = repositoryData.getFilterableValue(arguments[paramStartIndex]);
+            }
         }
-        return (F) filter;
+        return (F) filterTemplate.bind(boundValues);
     }
 
     @SuppressWarnings("unchecked")
-    private Bson processBson(IndexedFilter filter, int paramsIndexAt,
+    private Bson processBson(IndexedFilter filter, String bsonFilterFieldKey, int paramsIndexAt,
                              Object[] args) throws Exception {
-        String bsonFilterFieldKey = filter.getBsonFilterFieldKey();
-
-        // Check if the id field of the entity is used.
-        // We need to convert the actual field name to mongodb's "_id" of documents
-        // to be able to filter the id field.
-        if (bsonFilterFieldKey.equalsIgnoreCase(repositoryData.getEntityUniqueIdField().getName())) {
-            bsonFilterFieldKey = "_id";
-        }
-
         Bson retFilter = null;
         switch (filter.getOperator()) {
             case EQUALS:
                 retFilter = Filters.eq(bsonFilterFieldKey, repositoryData.getFilterableValue(args[paramsIndexAt]));
                 break;
             case EQUALS_IGNORE_CASE:
-                String ignCasePatternString = "(?i)^" + repositoryData.getFilterableValue(args[paramsIndexAt]) + "$";
-                Pattern ignCasePattern = Pattern.compile(ignCasePatternString, Pattern.CASE_INSENSITIVE);
-                retFilter = Filters.regex(bsonFilterFieldKey, ignCasePattern);
-                break;
             case CONTAINS:
-                String containsPatternString = ".*" + repositoryData.getFilterableValue(args[paramsIndexAt]) + ".*";
-                Pattern containsPattern = Pattern.compile(containsPatternString, Pattern.CASE_INSENSITIVE);
-                retFilter = Filters.regex(bsonFilterFieldKey, containsPattern);
+                // The compiled patterns are cached by the MongoManager, because they are mostly used with the same values.
+                String patternValue = String.valueOf(repositoryData.getFilterableValue(args[paramsIndexAt]));
+                Pattern pattern = repositoryData.getMongoManager().getRegexPatternCache()
+                    .getPattern(filter.getOperator(), patternValue);
+                retFilter = Filters.regex(bsonFilterFieldKey, pattern);
                 break;
             case GREATER_THAN:
                 retFilter = Filters.gt(bsonFilterFieldKey, repositoryData.getFilterableValue(args[paramsIndexAt]));
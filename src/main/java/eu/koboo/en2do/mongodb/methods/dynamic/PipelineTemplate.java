@@ -0,0 +1,188 @@
+package eu.koboo.en2do.mongodb.methods.dynamic;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.bson.*;
+import org.bson.codecs.Encoder;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.json.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the compiled pipeline of the "@Pipeline" annotation.
+ * The json is parsed once, the placeholders are replaced by marker documents,
+ * which are replaced by the encoded arguments on every invocation.
+ * Stages without any placeholder are shared by all invocations.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PipelineTemplate {
+
+    private static final String PARAMETER_MARKER = "$en2doParameter";
+    private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+
+    List<BsonDocument> stageList;
+    boolean[] boundStages;
+
+    /**
+     * The highest parameter index of all placeholders, or -1 if no placeholder is used.
+     */
+    @Getter
+    int maxParameterIndex;
+
+    private PipelineTemplate(List<BsonDocument> stageList, boolean[] boundStages, int maxParameterIndex) {
+        this.stageList = stageList;
+        this.boundStages = boundStages;
+        this.maxParameterIndex = maxParameterIndex;
+    }
+
+    /**
+     * Parses the given pipeline.
+     *
+     * @param pipelineJson The json array of the stages, with placeholders like "?0"
+     * @return The parsed template
+     * @throws IllegalArgumentException if the json is invalid
+     */
+    public static PipelineTemplate parse(String pipelineJson) {
+        StringBuilder builder = new StringBuilder(pipelineJson.length());
+        int maxParameterIndex = -1;
+        char quote = 0;
+        int length = pipelineJson.length();
+        for (int i = 0; i < length; i++) {
+            char character = pipelineJson.charAt(i);
+            if (quote != 0) {
+                builder.append(character);
+                if (character == '\\' && i + 1 < length) {
+                    builder.append(pipelineJson.charAt(++i));
+                } else if (character == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (character == '"' || character == '\'') {
+                quote = character;
+                builder.append(character);
+                continue;
+            }
+            if (character != '?' || i + 1 >= length || !Character.isDigit(pipelineJson.charAt(i + 1))) {
+                builder.append(character);
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && Character.isDigit(pipelineJson.charAt(end))) {
+                end++;
+            }
+            int parameterIndex = Integer.parseInt(pipelineJson.substring(i + 1, end));
+            maxParameterIndex = Math.max(maxParameterIndex, parameterIndex);
+            builder.append("{\"").append(PARAMETER_MARKER).append("\": ").append(parameterIndex).append("}");
+            i = end - 1;
+        }
+
+        BsonArray stageArray;
+        try {
+            stageArray = BsonArray.parse(builder.toString());
+        } catch (JsonParseException | BsonInvalidOperationException e) {
+            throw new IllegalArgumentException("The pipeline is no valid json array: " + e.getMessage(), e);
+        }
+        List<BsonDocument> stageList = new ArrayList<>(stageArray.size());
+        boolean[] boundStages = new boolean[stageArray.size()];
+        for (int i = 0; i < stageArray.size(); i++) {
+            BsonValue stage = stageArray.get(i);
+            if (!stage.isDocument()) {
+                throw new IllegalArgumentException("The stage at index " + i + " is no document.");
+            }
+            stageList.add(stage.asDocument());
+            boundStages[i] = containsMarker(stage);
+        }
+        return new PipelineTemplate(Collections.unmodifiableList(stageList), boundStages, maxParameterIndex);
+    }
+
+    private static boolean containsMarker(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (isMarker(document)) {
+                return true;
+            }
+            for (BsonValue childValue : document.values()) {
+                if (containsMarker(childValue)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (value.isArray()) {
+            for (BsonValue childValue : value.asArray()) {
+                if (containsMarker(childValue)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMarker(BsonDocument document) {
+        return document.size() == 1 && document.containsKey(PARAMETER_MARKER);
+    }
+
+    /**
+     * Binds the given values into the placeholders of the template.
+     *
+     * @param values        The values of the method parameters, already converted to filterable values
+     * @param codecRegistry The codec registry, which encodes the values
+     * @return The stages of the pipeline
+     */
+    public List<BsonDocument> bind(Object[] values, CodecRegistry codecRegistry) {
+        if (maxParameterIndex == -1) {
+            return stageList;
+        }
+        List<BsonDocument> boundStageList = new ArrayList<>(stageList.size());
+        for (int i = 0; i < stageList.size(); i++) {
+            BsonDocument stage = stageList.get(i);
+            boundStageList.add(boundStages[i] ? bindValue(stage, values, codecRegistry).asDocument() : stage);
+        }
+        return boundStageList;
+    }
+
+    private BsonValue bindValue(BsonValue value, Object[] values, CodecRegistry codecRegistry) {
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (isMarker(document)) {
+                return encodeValue(values[document.getInt32(PARAMETER_MARKER).getValue()], codecRegistry);
+            }
+            BsonDocument boundDocument = new BsonDocument();
+            for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+                boundDocument.append(entry.getKey(), bindValue(entry.getValue(), values, codecRegistry));
+            }
+            return boundDocument;
+        }
+        if (value.isArray()) {
+            BsonArray boundArray = new BsonArray();
+            for (BsonValue childValue : value.asArray()) {
+                boundArray.add(bindValue(childValue, values, codecRegistry));
+            }
+            return boundArray;
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BsonValue encodeValue(Object value, CodecRegistry codecRegistry) {
+        // Same encoding as the values of the FilterTemplate.
+        if (value == null) {
+            return BsonNull.VALUE;
+        }
+        BsonDocument holder = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(holder);
+        writer.writeStartDocument();
+        writer.writeName("value");
+        Encoder<Object> encoder = (Encoder<Object>) codecRegistry.get(value.getClass());
+        encoder.encode(writer, value, ENCODER_CONTEXT);
+        writer.writeEndDocument();
+        return holder.get("value");
+    }
+}
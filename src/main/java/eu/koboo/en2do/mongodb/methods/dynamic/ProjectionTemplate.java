@@ -0,0 +1,282 @@
+package eu.koboo.en2do.mongodb.methods.dynamic;
+
+import eu.koboo.en2do.utility.FieldUtils;
+import eu.koboo.en2do.utility.GenericUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.*;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Represents the projection of a "find" or "page" method, which is resolved once by the invocation plan.
+ * The server only sends the projected fields, so the transferred bytes and the decoding
+ * scale with the used fields instead of the whole entity.
+ * The documents are decoded either into the entity, another class, a proxy of an interface or just the id.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ProjectionTemplate {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    /**
+     * The class, which is returned by the method.
+     */
+    @Getter
+    Class<?> projectionClass;
+
+    /**
+     * The projection document, which is sent with the query.
+     */
+    @Getter
+    BsonDocument projectionDocument;
+
+    /**
+     * The class of the entity, or null if only the ids are returned.
+     */
+    Class<?> entityClass;
+
+    /**
+     * The fields of the entity by the getter methods of interface projections, otherwise null.
+     */
+    Map<Method, Field> entityFieldByGetterMap;
+
+    private ProjectionTemplate(Class<?> projectionClass, BsonDocument projectionDocument,
+                               Class<?> entityClass, Map<Method, Field> entityFieldByGetterMap) {
+        this.projectionClass = projectionClass;
+        if (projectionDocument.isEmpty()) {
+            // An empty projection would return the whole document.
+            projectionDocument.put("_id", new BsonInt32(1));
+        }
+        this.projectionDocument = projectionDocument;
+        this.entityClass = entityClass;
+        this.entityFieldByGetterMap = entityFieldByGetterMap;
+    }
+
+    /**
+     * Creates the projection of the "@Projection" annotation, which returns the entity itself.
+     *
+     * @param entityClass          The class of the entity
+     * @param uniqueIdFieldName    The name of the id field of the entity
+     * @param entityFieldByNameMap The fields of the entity by their names
+     * @param fieldNames           The names of the projected fields
+     * @return The created projection
+     * @throws IllegalArgumentException if any field doesn't exist in the entity
+     */
+    public static ProjectionTemplate forEntity(Class<?> entityClass, String uniqueIdFieldName,
+                                               Map<String, Field> entityFieldByNameMap, String[] fieldNames) {
+        BsonDocument projectionDocument = new BsonDocument();
+        for (String fieldName : fieldNames) {
+            Field entityField = entityFieldByNameMap.get(fieldName);
+            if (entityField == null) {
+                throw new IllegalArgumentException("The field \"" + fieldName + "\" doesn't exist in " +
+                    entityClass.getName() + ".");
+            }
+            include(projectionDocument, entityField, uniqueIdFieldName);
+        }
+        return new ProjectionTemplate(entityClass, projectionDocument, entityClass, null);
+    }
+
+    /**
+     * Creates the projection of the id operators, which only returns the "_id" field of the entities.
+     * The ids are decoded directly, without creating any entity.
+     *
+     * @param uniqueIdClass The class of the id of the entity
+     * @return The created projection
+     */
+    public static ProjectionTemplate forUniqueId(Class<?> uniqueIdClass) {
+        return new ProjectionTemplate(uniqueIdClass, new BsonDocument("_id", new BsonInt32(1)), null, null);
+    }
+
+    /**
+     * Creates the projection of a method, which returns another class or an interface instead of the entity.
+     *
+     * @param projectionClass      The returned class or interface
+     * @param entityClass          The class of the entity
+     * @param uniqueIdFieldName    The name of the id field of the entity
+     * @param entityFieldByNameMap The fields of the entity by their names
+     * @return The created projection
+     * @throws IllegalArgumentException if the type uses fields, which don't exist in the entity.
+     */
+    public static ProjectionTemplate forType(Class<?> projectionClass, Class<?> entityClass, String uniqueIdFieldName,
+                                             Map<String, Field> entityFieldByNameMap) {
+        BsonDocument projectionDocument = new BsonDocument();
+        if (!projectionClass.isInterface()) {
+            Map<String, Field> entityFieldByBsonNameMap = new HashMap<>();
+            for (Field entityField : entityFieldByNameMap.values()) {
+                entityFieldByBsonNameMap.put(FieldUtils.parseBsonName(entityField), entityField);
+            }
+            for (Field field : FieldUtils.collectFields(projectionClass)) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                Field entityField = entityFieldByBsonNameMap.get(FieldUtils.parseBsonName(field));
+                if (entityField == null) {
+                    throw new IllegalArgumentException("The field \"" + field.getName() + "\" of " +
+                        projectionClass.getName() + " doesn't exist in " + entityClass.getName() + ".");
+                }
+                include(projectionDocument, entityField, uniqueIdFieldName);
+            }
+            return new ProjectionTemplate(projectionClass, projectionDocument, entityClass, null);
+        }
+
+        Map<Method, Field> entityFieldByGetterMap = new HashMap<>();
+        for (Method method : projectionClass.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            String propertyName = parsePropertyName(method);
+            if (propertyName == null) {
+                throw new IllegalArgumentException("The method \"" + method.getName() + "\" of " +
+                    projectionClass.getName() + " isn't a getter.");
+            }
+            Field entityField = entityFieldByNameMap.get(propertyName);
+            if (entityField == null) {
+                throw new IllegalArgumentException("The field \"" + propertyName + "\" of the getter \"" +
+                    method.getName() + "\" doesn't exist in " + entityClass.getName() + ".");
+            }
+            if (GenericUtils.isNotTypeOf(method.getReturnType(), entityField.getType())) {
+                throw new IllegalArgumentException("The getter \"" + method.getName() + "\" doesn't return the type " +
+                    entityField.getType().getName() + " of the field \"" + propertyName + "\".");
+            }
+            entityField.setAccessible(true);
+            entityFieldByGetterMap.put(method, entityField);
+            include(projectionDocument, entityField, uniqueIdFieldName);
+        }
+        return new ProjectionTemplate(projectionClass, projectionDocument, entityClass, entityFieldByGetterMap);
+    }
+
+    /**
+     * Creates a copy of the projection document, which also includes the given keys.
+     * Keyset paginations need the sorted fields to create the continuation token.
+     *
+     * @param keys The additional keys
+     * @return The projection document with the additional keys
+     */
+    public BsonDocument includeKeys(Collection<String> keys) {
+        BsonDocument document = projectionDocument.clone();
+        for (String key : keys) {
+            if (isIncluded(key)) {
+                continue;
+            }
+            document.put(key, new BsonInt32(1));
+        }
+        return document;
+    }
+
+    private boolean isIncluded(String key) {
+        // Including a nested key of an included field would be a path collision.
+        for (String includedKey : projectionDocument.keySet()) {
+            if (key.equals(includedKey) || key.startsWith(includedKey + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void include(BsonDocument projectionDocument, Field entityField, String uniqueIdFieldName) {
+        // The id is always sent by the server.
+        if (entityField.getName().equals(uniqueIdFieldName)) {
+            return;
+        }
+        projectionDocument.put(FieldUtils.parseBsonName(entityField), new BsonInt32(1));
+    }
+
+    private static String parsePropertyName(Method method) {
+        if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+            return null;
+        }
+        String methodName = method.getName();
+        String propertyName;
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            propertyName = methodName.substring(3);
+        } else if (methodName.startsWith("is") && methodName.length() > 2) {
+            propertyName = methodName.substring(2);
+        } else {
+            return null;
+        }
+        return propertyName.substring(0, 1).toLowerCase(Locale.ROOT) + propertyName.substring(1);
+    }
+
+    /**
+     * Decodes the projected document into the projection class.
+     *
+     * @param document      The document, which was sent by the server
+     * @param codecRegistry The codec registry of the collection
+     * @return The decoded projection
+     */
+    public Object decode(BsonDocument document, CodecRegistry codecRegistry) {
+        if (entityClass == null) {
+            BsonValue uniqueId = document.get("_id");
+            if (uniqueId == null || uniqueId.isNull()) {
+                return null;
+            }
+            BsonDocumentReader reader = new BsonDocumentReader(new BsonDocument("_id", uniqueId));
+            reader.readStartDocument();
+            reader.readName();
+            return codecRegistry.get(projectionClass).decode(reader, DECODER_CONTEXT);
+        }
+        if (entityFieldByGetterMap == null) {
+            return codecRegistry.get(projectionClass).decode(new BsonDocumentReader(document), DECODER_CONTEXT);
+        }
+        // The entity codec knows the generic types of the fields, so the values of the getters
+        // are read from the partially decoded entity.
+        Object entity = codecRegistry.get(entityClass).decode(new BsonDocumentReader(document), DECODER_CONTEXT);
+        return Proxy.newProxyInstance(projectionClass.getClassLoader(), new Class<?>[]{projectionClass},
+            new ProjectionProxy(projectionClass, entity, entityFieldByGetterMap));
+    }
+
+    /**
+     * The handler of the proxies of interface projections.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class ProjectionProxy implements InvocationHandler {
+
+        Class<?> projectionClass;
+        Object entity;
+        Map<Method, Field> entityFieldByGetterMap;
+
+        private ProjectionProxy(Class<?> projectionClass, Object entity, Map<Method, Field> entityFieldByGetterMap) {
+            this.projectionClass = projectionClass;
+            this.entity = entity;
+            this.entityFieldByGetterMap = entityFieldByGetterMap;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+            Field entityField = entityFieldByGetterMap.get(method);
+            if (entityField != null) {
+                return entityField.get(entity);
+            }
+            if (method.isDefault()) {
+                return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectSpecial(method, method.getDeclaringClass())
+                    .bindTo(proxy)
+                    .invokeWithArguments(arguments == null ? new Object[0] : arguments);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == arguments[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return projectionClass.getSimpleName() + "{" + entity + "}";
+                default:
+                    throw new UnsupportedOperationException("The method \"" + method.getName() + "\" isn't a getter of " +
+                        projectionClass.getName() + ".");
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package eu.koboo.en2do.mongodb.methods.dynamic;
+
+import eu.koboo.en2do.operators.FilterOperator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Caches the compiled patterns of the filter operators, which are translated into regex filters.
+ * The arguments are always escaped, so they are matched literally and can't break the pattern.
+ * Every operator holds at most "maximumSize" patterns, if the limit is reached, any pattern gets evicted.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RegexPatternCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    @Getter
+    int maximumSize;
+    Map<FilterOperator, Map<String, Pattern>> patternMapByOperator;
+    LongAdder hitCounter;
+    LongAdder missCounter;
+
+    public RegexPatternCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.patternMapByOperator = new EnumMap<>(FilterOperator.class);
+        this.patternMapByOperator.put(FilterOperator.EQUALS_IGNORE_CASE, new ConcurrentHashMap<>());
+        this.patternMapByOperator.put(FilterOperator.CONTAINS, new ConcurrentHashMap<>());
+        this.hitCounter = new LongAdder();
+        this.missCounter = new LongAdder();
+    }
+
+    public RegexPatternCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Returns the pattern of the given operator and value.
+     *
+     * @param operator The operator, either EQUALS_IGNORE_CASE or CONTAINS
+     * @param value    The argument of the filter
+     * @return The compiled pattern
+     */
+    public Pattern getPattern(FilterOperator operator, String value) {
+        Map<String, Pattern> patternMap = patternMapByOperator.get(operator);
+        if (patternMap == null) {
+            throw new IllegalArgumentException("The operator " + operator + " isn't translated into a regex filter.");
+        }
+        Pattern pattern = patternMap.get(value);
+        if (pattern != null) {
+            hitCounter.increment();
+            return pattern;
+        }
+        missCounter.increment();
+        pattern = compilePattern(operator, value);
+        if (patternMap.size() >= maximumSize) {
+            Iterator<String> iterator = patternMap.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        patternMap.put(value, pattern);
+        return pattern;
+    }
+
+    private Pattern compilePattern(FilterOperator operator, String value) {
+        String escapedValue = escape(value);
+        if (operator == FilterOperator.EQUALS_IGNORE_CASE) {
+            // Anchored on both sides, so only the whole value matches.
+            // Case-insensitive regex filters don't get tight index bounds, the server still scans
+            // every key of the index (or every document). Methods, which only filter case-insensitive strings,
+            // use the collation of the entity instead and hit an index created with "@CompoundIndex(collation = true)".
+            return Pattern.compile("^" + escapedValue + "$", Pattern.CASE_INSENSITIVE);
+        }
+        return Pattern.compile(escapedValue, Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Escapes every regex metacharacter of the value on its own, instead of wrapping it into a "\Q...\E" block,
+     * because the block isn't understood as literal by the query planner of the server.
+     *
+     * @param value The argument of the filter
+     * @return The value, which is matched literally
+     */
+    public static String escape(String value) {
+        StringBuilder builder = null;
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (METACHARACTERS.indexOf(character) == -1) {
+                if (builder != null) {
+                    builder.append(character);
+                }
+                continue;
+            }
+            if (builder == null) {
+                builder = new StringBuilder(value.length() + 8);
+                builder.append(value, 0, i);
+            }
+            builder.append('\\').append(character);
+        }
+        return builder == null ? value : builder.toString();
+    }
+
+    /**
+     * @return The amount of lookups, which returned an already compiled pattern.
+     */
+    public long getHitCount() {
+        return hitCounter.sum();
+    }
+
+    /**
+     * @return The amount of lookups, which needed to compile the pattern.
+     */
+    public long getMissCount() {
+        return missCounter.sum();
+    }
+
+    /**
+     * @return The amount of currently cached patterns.
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, Pattern> patternMap : patternMapByOperator.values()) {
+            size += patternMap.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Map<String, Pattern> patternMap : patternMapByOperator.values()) {
+            patternMap.clear();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is a representation of a predefined method from the repository
@@ -40,6 +41,25 @@ public abstract class GlobalPredefinedMethod {
                                                                        Method method,
                                                                        Object[] arguments) throws Exception;
 
+    /**
+     * Invokes the async representation of the method, without blocking a thread of the executor.
+     * Only overridden by methods, which can wait without a thread.
+     *
+     * @param <E>            The generic type of the entity
+     * @param <ID>           The generic type of the entity id
+     * @param <R>            The generic type of the repository
+     * @param repositoryData The repository meta of the called repository
+     * @param method         The method, which should be invoked
+     * @param arguments      The object array, which represents the arguments of the method
+     * @return The future of the method invocation, or null if the method should be invoked on the executor
+     * @throws Exception any, if something bad happens
+     */
+    public <E, ID, R extends Repository<E, ID>> CompletableFuture<Object> handleAsync(RepositoryData<E, ID, R> repositoryData,
+                                                                                      Method method,
+                                                                                      Object[] arguments) throws Exception {
+        return null;
+    }
+
     protected <ID> Bson createIdFilter(ID uniqueId) {
         return Filters.eq("_id", uniqueId);
     }
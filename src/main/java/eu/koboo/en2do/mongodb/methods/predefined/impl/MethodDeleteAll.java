@@ -16,9 +16,14 @@ public class MethodDeleteAll extends GlobalPredefinedMethod {
 
     @Override
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
-                                                              Method method, Object[] arguments) {
+                                                              Method method, Object[] arguments) throws Exception {
+        repositoryData.flushWriteBehind();
         Bson idExistsFilter = createIdExistsFilter();
-        DeleteResult deleteResult = repositoryData.getEntityCollection().deleteMany(idExistsFilter);
-        return deleteResult.wasAcknowledged();
+        try {
+            DeleteResult deleteResult = repositoryData.getEntityCollection().deleteMany(idExistsFilter);
+            return deleteResult.wasAcknowledged();
+        } finally {
+            repositoryData.invalidateCachedEntities();
+        }
     }
 }
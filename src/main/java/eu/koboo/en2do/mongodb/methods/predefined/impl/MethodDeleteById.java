@@ -4,6 +4,7 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.result.DeleteResult;
 import eu.koboo.en2do.mongodb.RepositoryData;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
 import eu.koboo.en2do.repository.Repository;
 import org.bson.conversions.Bson;
 
@@ -20,8 +21,17 @@ public class MethodDeleteById extends GlobalPredefinedMethod {
                                                               Method method, Object[] arguments) throws Exception {
         MongoCollection<E> collection = repositoryData.getEntityCollection();
         ID uniqueId = checkUniqueIdByArgument(repositoryData, method, arguments[0]);
+        WriteBehindBuffer<E, ID> writeBehindBuffer = repositoryData.getWriteBehindBuffer();
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.bufferDelete(uniqueId);
+            return true;
+        }
         Bson idFilter = createIdFilter(uniqueId);
-        DeleteResult result = collection.deleteOne(idFilter);
-        return result.wasAcknowledged();
+        try {
+            DeleteResult result = collection.deleteOne(idFilter);
+            return result.wasAcknowledged();
+        } finally {
+            repositoryData.invalidateCachedEntity(uniqueId);
+        }
     }
 }
@@ -1,15 +1,16 @@
 package eu.koboo.en2do.mongodb.methods.predefined.impl;
 
-import com.mongodb.client.model.Filters;
-import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.WriteModel;
 import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
 import eu.koboo.en2do.repository.Repository;
-import org.bson.conversions.Bson;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 
 public class MethodDeleteMany extends GlobalPredefinedMethod {
@@ -25,13 +26,26 @@ public class MethodDeleteMany extends GlobalPredefinedMethod {
         if (entityList.isEmpty()) {
             return true;
         }
-        List<ID> idList = new LinkedList<>();
+        WriteBehindBuffer<E, ID> writeBehindBuffer = repositoryData.getWriteBehindBuffer();
+        if (writeBehindBuffer != null) {
+            for (E entity : entityList) {
+                writeBehindBuffer.bufferDelete(checkUniqueIdByEntity(repositoryData, method, entity));
+            }
+            return true;
+        }
+        List<ID> uniqueIdList = new ArrayList<>(entityList.size());
+        List<WriteModel<E>> writeModelList = new ArrayList<>(entityList.size());
         for (E entity : entityList) {
             ID uniqueId = checkUniqueIdByEntity(repositoryData, method, entity);
-            idList.add(uniqueId);
+            uniqueIdList.add(uniqueId);
+            writeModelList.add(new DeleteOneModel<>(createIdFilter(uniqueId)));
+        }
+        try {
+            BulkResult bulkResult = repositoryData.getMongoManager().getBulkWriteEngine()
+                .write(repositoryData, method, writeModelList);
+            return bulkResult.isAcknowledged();
+        } finally {
+            repositoryData.invalidateCachedEntities(uniqueIdList);
         }
-        Bson idFilter = Filters.in("_id", idList);
-        DeleteResult deleteResult = repositoryData.getEntityCollection().deleteMany(idFilter);
-        return deleteResult.wasAcknowledged();
     }
 }
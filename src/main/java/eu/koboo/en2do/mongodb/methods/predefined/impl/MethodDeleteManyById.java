@@ -1,14 +1,17 @@
 package eu.koboo.en2do.mongodb.methods.predefined.impl;
 
-import com.mongodb.client.model.Filters;
-import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.WriteModel;
 import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
 import eu.koboo.en2do.repository.Repository;
-import org.bson.conversions.Bson;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public class MethodDeleteManyById extends GlobalPredefinedMethod {
 
@@ -18,13 +21,28 @@ public class MethodDeleteManyById extends GlobalPredefinedMethod {
 
     @Override
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
-                                                              Method method, Object[] arguments) {
+                                                              Method method, Object[] arguments) throws Exception {
         Collection<ID> idList = checkUniqueIdList(repositoryData, method, arguments[0]);
         if (idList.isEmpty()) {
             return true;
         }
-        Bson idFilter = Filters.in("_id", idList);
-        DeleteResult deleteResult = repositoryData.getEntityCollection().deleteMany(idFilter);
-        return deleteResult.wasAcknowledged();
+        WriteBehindBuffer<E, ID> writeBehindBuffer = repositoryData.getWriteBehindBuffer();
+        if (writeBehindBuffer != null) {
+            for (ID uniqueId : idList) {
+                writeBehindBuffer.bufferDelete(uniqueId);
+            }
+            return true;
+        }
+        List<WriteModel<E>> writeModelList = new ArrayList<>(idList.size());
+        for (ID uniqueId : idList) {
+            writeModelList.add(new DeleteOneModel<>(createIdFilter(uniqueId)));
+        }
+        try {
+            BulkResult bulkResult = repositoryData.getMongoManager().getBulkWriteEngine()
+                .write(repositoryData, method, writeModelList);
+            return bulkResult.isAcknowledged();
+        } finally {
+            repositoryData.invalidateCachedEntities(idList);
+        }
     }
 }
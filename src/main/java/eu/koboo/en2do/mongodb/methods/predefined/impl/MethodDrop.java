@@ -14,8 +14,13 @@ public class MethodDrop extends GlobalPredefinedMethod {
 
     @Override
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
-                                                              Method method, Object[] arguments) {
-        repositoryData.getEntityCollection().drop();
+                                                              Method method, Object[] arguments) throws Exception {
+        repositoryData.flushWriteBehind();
+        try {
+            repositoryData.getEntityCollection().drop();
+        } finally {
+            repositoryData.invalidateCachedEntities();
+        }
         return true;
     }
 }
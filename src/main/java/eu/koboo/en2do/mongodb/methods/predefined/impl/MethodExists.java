@@ -19,6 +19,6 @@ public class MethodExists extends GlobalPredefinedMethod {
         E entity = checkEntity(repositoryData, method, arguments[0]);
         ID uniqueId = checkUniqueIdByEntity(repositoryData, method, entity);
         Bson idFilter = createIdFilter(uniqueId);
-        return repositoryData.getEntityCollection().countDocuments(idFilter) > 0;
+        return repositoryData.existsAny(idFilter, null);
     }
 }
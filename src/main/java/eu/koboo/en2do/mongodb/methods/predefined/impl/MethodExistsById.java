@@ -18,6 +18,6 @@ public class MethodExistsById extends GlobalPredefinedMethod {
                                                               Method method, Object[] arguments) throws Exception {
         ID uniqueId = checkUniqueIdByArgument(repositoryData, method, arguments[0]);
         Bson idFilter = createIdFilter(uniqueId);
-        return repositoryData.getEntityCollection().countDocuments(idFilter) > 0;
+        return repositoryData.existsAny(idFilter, null);
     }
 }
@@ -0,0 +1,26 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+
+public class MethodExistsManyById extends GlobalPredefinedMethod {
+
+    public MethodExistsManyById() {
+        super("existsManyById");
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) throws Exception {
+        Collection<ID> idList = checkUniqueIdList(repositoryData, method, arguments[0]);
+        if (idList.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return repositoryData.findExistingIds(idList);
+    }
+}
@@ -18,6 +18,7 @@ public class MethodFindAll extends GlobalPredefinedMethod {
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
                                                               Method method, Object[] arguments) {
         FindIterable<E> findIterable = repositoryData.createIterable(null, methodName);
+        repositoryData.explainFind(methodName, findIterable);
         return findIterable.into(new ArrayList<>());
     }
 }
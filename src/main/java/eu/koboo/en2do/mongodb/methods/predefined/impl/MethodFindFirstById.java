@@ -2,11 +2,14 @@ package eu.koboo.en2do.mongodb.methods.predefined.impl;
 
 import com.mongodb.client.FindIterable;
 import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.batch.LookupBatcher;
+import eu.koboo.en2do.mongodb.cache.EntityCache;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
 import eu.koboo.en2do.repository.Repository;
 import org.bson.conversions.Bson;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 public class MethodFindFirstById extends GlobalPredefinedMethod {
 
@@ -18,8 +21,53 @@ public class MethodFindFirstById extends GlobalPredefinedMethod {
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
                                                               Method method, Object[] arguments) throws Exception {
         ID uniqueId = checkUniqueIdByArgument(repositoryData, method, arguments[0]);
+        EntityCache<E, ID> entityCache = repositoryData.getEntityCache();
+        if (entityCache != null) {
+            E cachedEntity = entityCache.get(uniqueId);
+            if (cachedEntity != null) {
+                return cachedEntity;
+            }
+        }
+        LookupBatcher<E, ID> lookupBatcher = repositoryData.getLookupBatcher();
+        if (lookupBatcher != null) {
+            // The batch puts the found entities into the cache.
+            return lookupBatcher.find(uniqueId);
+        }
+        if (entityCache == null) {
+            return findEntity(repositoryData, uniqueId);
+        }
+        long loadStamp = entityCache.beginLoad();
+        E entity = findEntity(repositoryData, uniqueId);
+        if (entity != null) {
+            entityCache.put(uniqueId, entity, loadStamp);
+        }
+        return entity;
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> CompletableFuture<Object> handleAsync(RepositoryData<E, ID, R> repositoryData,
+                                                                                      Method method,
+                                                                                      Object[] arguments) throws Exception {
+        LookupBatcher<E, ID> lookupBatcher = repositoryData.getLookupBatcher();
+        if (lookupBatcher == null) {
+            return null;
+        }
+        ID uniqueId = checkUniqueIdByArgument(repositoryData, method, arguments[0]);
+        EntityCache<E, ID> entityCache = repositoryData.getEntityCache();
+        if (entityCache != null) {
+            E cachedEntity = entityCache.get(uniqueId);
+            if (cachedEntity != null) {
+                return CompletableFuture.completedFuture(cachedEntity);
+            }
+        }
+        // The callbacks of the caller shouldn't run on the threads of the batches.
+        return lookupBatcher.load(uniqueId).thenApplyAsync(entity -> entity, repositoryData.getMongoManager().getExecutorService());
+    }
+
+    private <E, ID, R extends Repository<E, ID>> E findEntity(RepositoryData<E, ID, R> repositoryData, ID uniqueId) {
         Bson idFilter = createIdFilter(uniqueId);
-        FindIterable<E> findIterable = repositoryData.createIterable(idFilter, methodName);
-        return findIterable.limit(1).first();
+        FindIterable<E> findIterable = repositoryData.createIterable(idFilter, methodName).limit(1);
+        repositoryData.explainFind(methodName, findIterable);
+        return findIterable.first();
     }
 }
@@ -0,0 +1,22 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+public class MethodFindManyById extends GlobalPredefinedMethod {
+
+    public MethodFindManyById() {
+        super("findManyById");
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) throws Exception {
+        Collection<ID> idList = checkUniqueIdList(repositoryData, method, arguments[0]);
+        return repositoryData.findEntitiesById(idList, methodName);
+    }
+}
@@ -0,0 +1,34 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class MethodFindManyByIdOrdered extends GlobalPredefinedMethod {
+
+    public MethodFindManyByIdOrdered() {
+        super("findManyByIdOrdered");
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) throws Exception {
+        Collection<ID> idList = checkUniqueIdList(repositoryData, method, arguments[0]);
+        Map<ID, E> entityMap = repositoryData.findEntitiesById(idList, methodName);
+        // Duplicated identifiers return their entity multiple times, like the given collection.
+        List<E> entityList = new ArrayList<>(idList.size());
+        for (ID uniqueId : idList) {
+            E entity = entityMap.get(uniqueId);
+            if (entity != null) {
+                entityList.add(entity);
+            }
+        }
+        return entityList;
+    }
+}
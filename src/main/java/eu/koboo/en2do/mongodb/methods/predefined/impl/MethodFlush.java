@@ -0,0 +1,25 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
+import eu.koboo.en2do.repository.Repository;
+
+import java.lang.reflect.Method;
+
+public class MethodFlush extends GlobalPredefinedMethod {
+
+    public MethodFlush() {
+        super("flush");
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) {
+        WriteBehindBuffer<E, ID> writeBehindBuffer = repositoryData.getWriteBehindBuffer();
+        if (writeBehindBuffer == null) {
+            return true;
+        }
+        return writeBehindBuffer.flush().isSuccessful();
+    }
+}
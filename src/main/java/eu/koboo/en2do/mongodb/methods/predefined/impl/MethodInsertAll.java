@@ -1,17 +1,16 @@
 package eu.koboo.en2do.mongodb.methods.predefined.impl;
 
-import com.mongodb.client.MongoCollection;
-import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.WriteModel;
 import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
 import eu.koboo.en2do.repository.Repository;
-import lombok.AccessLevel;
-import lombok.experimental.FieldDefaults;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 
-@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class MethodInsertAll extends GlobalPredefinedMethod {
 
     public MethodInsertAll() {
@@ -20,14 +19,20 @@ public class MethodInsertAll extends GlobalPredefinedMethod {
 
     @Override
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
-                                                              Method method, Object[] arguments) {
-        MongoCollection<E> entityCollection = repositoryData.getEntityCollection();
+                                                              Method method, Object[] arguments) throws Exception {
         List<E> insertList = checkEntityList(repositoryData, method, arguments[0]);
         if (insertList.isEmpty()) {
             return true;
         }
-        // Using "insertMany" should speed up inserting performance drastically
-        InsertManyResult result = entityCollection.insertMany(insertList);
-        return result.wasAcknowledged();
+        // Inserts can't be buffered, because they need to fail on existing entities.
+        // The buffered writes of the same entities are written first, otherwise they would overwrite the inserts.
+        repositoryData.flushWriteBehind();
+        List<WriteModel<E>> writeModelList = new ArrayList<>(insertList.size());
+        for (E entity : insertList) {
+            writeModelList.add(new InsertOneModel<>(entity));
+        }
+        BulkResult bulkResult = repositoryData.getMongoManager().getBulkWriteEngine()
+            .write(repositoryData, method, writeModelList);
+        return bulkResult.isAcknowledged();
     }
 }
@@ -0,0 +1,29 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class MethodMissingIds extends GlobalPredefinedMethod {
+
+    public MethodMissingIds() {
+        super("missingIds");
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) throws Exception {
+        Collection<ID> idList = checkUniqueIdList(repositoryData, method, arguments[0]);
+        Set<ID> missingIdSet = new LinkedHashSet<>(idList);
+        if (missingIdSet.isEmpty()) {
+            return missingIdSet;
+        }
+        missingIdSet.removeAll(repositoryData.findExistingIds(idList));
+        return missingIdSet;
+    }
+}
@@ -4,9 +4,11 @@ import com.mongodb.client.FindIterable;
 import eu.koboo.en2do.mongodb.RepositoryData;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
 import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.pagination.PageList;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.List;
 
 public class MethodPageAll extends GlobalPredefinedMethod {
 
@@ -18,7 +20,10 @@ public class MethodPageAll extends GlobalPredefinedMethod {
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
                                                               Method method, Object[] arguments) throws Exception {
         FindIterable<E> findIterable = repositoryData.createIterable(null, methodName);
-        findIterable = repositoryData.applyPageObject(method, findIterable, arguments);
-        return findIterable.into(new ArrayList<>());
+        findIterable = repositoryData.applyPageObject(method, null, findIterable, arguments);
+        repositoryData.explainFind(methodName, findIterable);
+        List<E> entityList = findIterable.into(new ArrayList<>());
+        String continuationToken = repositoryData.createContinuationToken(repositoryData.getPageObject(arguments), entityList);
+        return new PageList<>(entityList, continuationToken);
     }
 }
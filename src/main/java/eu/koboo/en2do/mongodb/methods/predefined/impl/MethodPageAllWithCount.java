@@ -0,0 +1,21 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.repository.Repository;
+
+import java.lang.reflect.Method;
+
+public class MethodPageAllWithCount extends GlobalPredefinedMethod {
+
+    public MethodPageAllWithCount() {
+        super("pageAllWithCount");
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) throws Exception {
+        return repositoryData.createPage(method, null, null, RepositoryData.createComment(methodName),
+            repositoryData.getPageObject(arguments));
+    }
+}
@@ -5,6 +5,7 @@ import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.result.UpdateResult;
 import eu.koboo.en2do.mongodb.RepositoryData;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
 import eu.koboo.en2do.repository.Repository;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
@@ -27,13 +28,20 @@ public class MethodSave extends GlobalPredefinedMethod {
                                                               Method method, Object[] arguments) throws Exception {
         E entity = checkEntity(repositoryData, method, arguments[0]);
         ID uniqueId = checkUniqueIdByEntity(repositoryData, method, entity);
+        WriteBehindBuffer<E, ID> writeBehindBuffer = repositoryData.getWriteBehindBuffer();
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.bufferSave(uniqueId, entity);
+            return true;
+        }
         Bson idFilter = createIdFilter(uniqueId);
+        // The replacement is upserted, so the document is created, if it doesn't exist.
+        // That's a single round trip, without checking the existence first.
         MongoCollection<E> entityCollection = repositoryData.getEntityCollection();
-        if (entityCollection.countDocuments(idFilter) > 0) {
+        try {
             UpdateResult result = entityCollection.replaceOne(idFilter, entity, replaceOptions);
             return result.wasAcknowledged();
+        } finally {
+            repositoryData.invalidateCachedEntity(uniqueId);
         }
-        entityCollection.insertOne(entity);
-        return true;
     }
 }
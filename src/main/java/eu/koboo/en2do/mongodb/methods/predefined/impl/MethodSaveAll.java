@@ -1,13 +1,15 @@
 package eu.koboo.en2do.mongodb.methods.predefined.impl;
 
-import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
 import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
 import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
 import eu.koboo.en2do.repository.Repository;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
-import org.bson.conversions.Bson;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -27,28 +29,31 @@ public class MethodSaveAll extends GlobalPredefinedMethod {
     @Override
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
                                                               Method method, Object[] arguments) throws Exception {
-        MongoCollection<E> entityCollection = repositoryData.getEntityCollection();
         Collection<E> entityList = checkEntityCollection(repositoryData, method, arguments[0]);
         if (entityList.isEmpty()) {
             return true;
         }
-        List<E> insertList = new ArrayList<>();
-        // Iterate through entities and check if it already exists by unique identifier.
+        WriteBehindBuffer<E, ID> writeBehindBuffer = repositoryData.getWriteBehindBuffer();
+        if (writeBehindBuffer != null) {
+            for (E entity : entityList) {
+                writeBehindBuffer.bufferSave(checkUniqueIdByEntity(repositoryData, method, entity), entity);
+            }
+            return true;
+        }
+        // Every entity is upserted by its unique identifier, so we don't need to check if it already exists.
+        List<ID> uniqueIdList = new ArrayList<>(entityList.size());
+        List<WriteModel<E>> writeModelList = new ArrayList<>(entityList.size());
         for (E entity : entityList) {
             ID uniqueId = checkUniqueIdByEntity(repositoryData, method, entity);
-            Bson idFilter = createIdFilter(uniqueId);
-            if (entityCollection.countDocuments(idFilter) > 0) {
-                // Entity exists, so we want to update the existing document.
-                entityCollection.replaceOne(idFilter, entity, replaceOptions);
-                continue;
-            }
-            // Entity doesn't exist, so we want to insert a new document.
-            insertList.add(entity);
+            uniqueIdList.add(uniqueId);
+            writeModelList.add(new ReplaceOneModel<>(createIdFilter(uniqueId), entity, replaceOptions));
         }
-        // Using "insertMany" should speed up inserting performance drastically
-        if (!insertList.isEmpty()) {
-            entityCollection.insertMany(insertList);
+        try {
+            BulkResult bulkResult = repositoryData.getMongoManager().getBulkWriteEngine()
+                .write(repositoryData, method, writeModelList);
+            return bulkResult.isAcknowledged();
+        } finally {
+            repositoryData.invalidateCachedEntities(uniqueIdList);
         }
-        return true;
     }
 }
@@ -0,0 +1,40 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import com.mongodb.client.model.FindOneAndReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.repository.Repository;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.bson.conversions.Bson;
+
+import java.lang.reflect.Method;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MethodSaveAndReturnPrevious extends GlobalPredefinedMethod {
+
+    FindOneAndReplaceOptions replaceOptions;
+
+    public MethodSaveAndReturnPrevious() {
+        super("saveAndReturnPrevious");
+        this.replaceOptions = new FindOneAndReplaceOptions()
+            .upsert(true)
+            .returnDocument(ReturnDocument.BEFORE);
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) throws Exception {
+        E entity = checkEntity(repositoryData, method, arguments[0]);
+        ID uniqueId = checkUniqueIdByEntity(repositoryData, method, entity);
+        // The previous entity could still be in the buffer of the write-behind mode.
+        repositoryData.flushWriteBehind();
+        Bson idFilter = createIdFilter(uniqueId);
+        try {
+            return repositoryData.getEntityCollection().findOneAndReplace(idFilter, entity, replaceOptions);
+        } finally {
+            repositoryData.invalidateCachedEntity(uniqueId);
+        }
+    }
+}
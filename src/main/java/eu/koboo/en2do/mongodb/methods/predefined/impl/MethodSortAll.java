@@ -19,6 +19,7 @@ public class MethodSortAll extends GlobalPredefinedMethod {
                                                               Method method, Object[] arguments) throws Exception {
         FindIterable<E> findIterable = repositoryData.createIterable(null, methodName);
         findIterable = repositoryData.applySortObject(method, findIterable, arguments);
+        repositoryData.explainFind(methodName, findIterable);
         return findIterable.into(new ArrayList<>());
     }
 }
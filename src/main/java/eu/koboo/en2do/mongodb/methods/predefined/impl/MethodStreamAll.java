@@ -0,0 +1,23 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import com.mongodb.client.FindIterable;
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.repository.Repository;
+
+import java.lang.reflect.Method;
+
+public class MethodStreamAll extends GlobalPredefinedMethod {
+
+    public MethodStreamAll() {
+        super("streamAll");
+    }
+
+    @Override
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) {
+        FindIterable<E> findIterable = repositoryData.createIterable(null, methodName);
+        repositoryData.explainFind(methodName, findIterable);
+        return repositoryData.createStream(findIterable);
+    }
+}
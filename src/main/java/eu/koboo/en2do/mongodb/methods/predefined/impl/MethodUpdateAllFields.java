@@ -19,7 +19,10 @@ public class MethodUpdateAllFields extends GlobalPredefinedMethod {
 
     @Override
     public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
-                                                              Method method, Object[] arguments) {
+                                                              Method method, Object[] arguments) throws Exception {
+        // The buffered writes would overwrite the updated fields on their flush.
+        repositoryData.flushWriteBehind();
+
         // Cast the first object of the array to the UpdateBatch object
         MongoCollection<E> collection = repositoryData.getEntityCollection();
         UpdateBatch updateBatch = (UpdateBatch) arguments[0];
@@ -27,9 +30,13 @@ public class MethodUpdateAllFields extends GlobalPredefinedMethod {
         // Call the UpdateBatch on all documents with the "id" field of the entity,
         // which could be a unique name or the "_id" field.
         Bson idExistsFilter = createIdExistsFilter();
-        UpdateResult result = collection.updateMany(idExistsFilter,
-            repositoryData.createUpdateDocument(updateBatch),
-            new UpdateOptions().upsert(false));
-        return result.wasAcknowledged();
+        try {
+            UpdateResult result = collection.updateMany(idExistsFilter,
+                repositoryData.createUpdateDocument(updateBatch),
+                new UpdateOptions().upsert(false));
+            return result.wasAcknowledged();
+        } finally {
+            repositoryData.invalidateCachedEntities();
+        }
     }
 }
\ No newline at end of file
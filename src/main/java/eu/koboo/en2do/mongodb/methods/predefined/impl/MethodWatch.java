@@ -0,0 +1,26 @@
+package eu.koboo.en2do.mongodb.methods.predefined.impl;
+
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.mongodb.methods.predefined.GlobalPredefinedMethod;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.watch.Watch;
+
+import java.lang.reflect.Method;
+
+public class MethodWatch extends GlobalPredefinedMethod {
+
+    public MethodWatch() {
+        super("watch");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E, ID, R extends Repository<E, ID>> Object handle(RepositoryData<E, ID, R> repositoryData,
+                                                              Method method, Object[] arguments) {
+        Watch<E, ID> watch = (Watch<E, ID>) arguments[0];
+        if (watch == null) {
+            throw new NullPointerException("The Watch of method \"" + method.getName() + "\" can't be null!");
+        }
+        return repositoryData.watch(null, null, watch);
+    }
+}
@@ -0,0 +1,161 @@
+package eu.koboo.en2do.mongodb.singleflight;
+
+import eu.koboo.en2do.mongodb.MethodCallable;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deduplicates the in-flight calls of a single method by their arguments.
+ * The first call of the arguments executes the query, all calls with equal arguments,
+ * which arrive before it's completed, attach to its future. As soon as the call is completed,
+ * the next call executes a new query, so the results are never older than the call.
+ * Every call gets its own copy of a returned List, Set or Map, but the entities inside are the same instances.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SingleFlightGroup {
+
+    Map<List<Object>, CompletableFuture<Object>> inFlightMap;
+    LongAdder calls;
+    LongAdder sharedCalls;
+
+    public SingleFlightGroup() {
+        this.inFlightMap = new ConcurrentHashMap<>();
+        this.calls = new LongAdder();
+        this.sharedCalls = new LongAdder();
+    }
+
+    /**
+     * Executes the callable, or waits for the in-flight call with equal arguments.
+     *
+     * @param arguments The arguments of the call
+     * @param callable  The query of the call
+     * @return The result of the query
+     * @throws Exception the exception of the query
+     */
+    public Object execute(Object[] arguments, MethodCallable callable) throws Exception {
+        List<Object> key = createKey(arguments);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightFuture = attach(key, future);
+        if (inFlightFuture != null) {
+            try {
+                return copyResult(inFlightFuture.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            Object result = callable.call();
+            // The attached calls only copy the shared result, so changing the returned one doesn't affect them.
+            future.complete(copyResult(result));
+            return result;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightMap.remove(key, future);
+        }
+    }
+
+    /**
+     * Same as "#execute", but executes the callable on the given executor.
+     * Attached calls don't block any thread.
+     *
+     * @param arguments The arguments of the call
+     * @param callable  The query of the call
+     * @param executor  The executor of the query
+     * @return The future of the result
+     */
+    public CompletableFuture<Object> executeAsync(Object[] arguments, MethodCallable callable, Executor executor) {
+        List<Object> key = createKey(arguments);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightFuture = attach(key, future);
+        if (inFlightFuture != null) {
+            // Every caller gets its own future, so completing it doesn't complete the shared one.
+            return inFlightFuture.thenApply(SingleFlightGroup::copyResult);
+        }
+        future.whenComplete((result, throwable) -> inFlightMap.remove(key, future));
+        future.completeAsync(() -> {
+            try {
+                return callable.call();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }, executor);
+        return future.thenApply(SingleFlightGroup::copyResult);
+    }
+
+    private CompletableFuture<Object> attach(List<Object> key, CompletableFuture<Object> future) {
+        calls.increment();
+        CompletableFuture<Object> inFlightFuture = inFlightMap.putIfAbsent(key, future);
+        if (inFlightFuture != null) {
+            sharedCalls.increment();
+        }
+        return inFlightFuture;
+    }
+
+    /**
+     * Copies the collection of the shared result, so every caller can change its own one.
+     * The entities aren't copied, because they can't be copied without decoding them again.
+     *
+     * @param result The shared result of the in-flight call
+     * @return The copy of the collection or the result itself
+     */
+    private static Object copyResult(Object result) {
+        if (result instanceof List) {
+            return new ArrayList<>((List<?>) result);
+        }
+        if (result instanceof Set) {
+            return new LinkedHashSet<>((Set<?>) result);
+        }
+        if (result instanceof Map) {
+            return new LinkedHashMap<>((Map<?, ?>) result);
+        }
+        return result;
+    }
+
+    private List<Object> createKey(Object[] arguments) {
+        if (arguments == null || arguments.length == 0) {
+            return Collections.emptyList();
+        }
+        // Copied, so changing the array of the caller doesn't change the key.
+        return Arrays.asList(arguments.clone());
+    }
+
+    /**
+     * @return The amount of calls of the method.
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return The amount of calls, which attached to an in-flight call instead of sending a query.
+     */
+    public long getSharedCalls() {
+        return sharedCalls.sum();
+    }
+
+    /**
+     * @return The amount of calls, which are currently in flight.
+     */
+    public int getInFlightCount() {
+        return inFlightMap.size();
+    }
+}
@@ -0,0 +1,229 @@
+package eu.koboo.en2do.mongodb.watch;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import eu.koboo.en2do.repository.methods.watch.ChangeListener;
+import eu.koboo.en2do.repository.methods.watch.ChangeSubscription;
+import eu.koboo.en2do.repository.methods.watch.ChangeType;
+import eu.koboo.en2do.repository.methods.watch.EntityChange;
+import eu.koboo.en2do.repository.methods.watch.Watch;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.java.Log;
+import org.bson.*;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.conversions.Bson;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Reads a change stream of a repository with its own daemon thread and delivers the decoded changes to the listener.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the entity id
+ */
+@Log
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ChangeStreamSubscription<E, ID> implements ChangeSubscription, Runnable {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+    private static final String FULL_DOCUMENT_PREFIX = "fullDocument.";
+
+    String collectionName;
+    MongoChangeStreamCursor<ChangeStreamDocument<E>> cursor;
+    Codec<ID> uniqueIdCodec;
+    Watch<E, ID> watch;
+    Set<ChangeStreamSubscription<E, ID>> subscriptionSet;
+
+    @NonFinal
+    volatile boolean active;
+    @NonFinal
+    volatile String resumeToken;
+
+    private ChangeStreamSubscription(String collectionName, MongoChangeStreamCursor<ChangeStreamDocument<E>> cursor,
+                                     Codec<ID> uniqueIdCodec, Watch<E, ID> watch,
+                                     Set<ChangeStreamSubscription<E, ID>> subscriptionSet) {
+        this.collectionName = collectionName;
+        this.cursor = cursor;
+        this.uniqueIdCodec = uniqueIdCodec;
+        this.watch = watch;
+        this.subscriptionSet = subscriptionSet;
+        BsonDocument cursorResumeToken = cursor.getResumeToken();
+        this.resumeToken = cursorResumeToken != null ? cursorResumeToken.toJson() : watch.getResumeToken();
+    }
+
+    /**
+     * Opens a change stream on the given collection and starts reading it.
+     * The cursor is opened on the calling thread, so every change after the return of this method is delivered.
+     *
+     * @param entityCollection    The collection of the repository
+     * @param entityUniqueIdClass The class of the unique identifier of the entity
+     * @param filter              The filter of the entities, or null if all changes should be delivered
+     * @param collation           The collation of the filter, or null
+     * @param watch               The watch object of the method
+     * @param subscriptionSet     The set of the open subscriptions of the repository
+     * @param <E>                 The generic type of the entity
+     * @param <ID>                The generic type of the entity id
+     * @return The started subscription
+     * @throws com.mongodb.MongoException if the change stream couldn't be opened
+     */
+    public static <E, ID> ChangeStreamSubscription<E, ID> open(MongoCollection<E> entityCollection,
+                                                               Class<ID> entityUniqueIdClass,
+                                                               Bson filter, Collation collation, Watch<E, ID> watch,
+                                                               Set<ChangeStreamSubscription<E, ID>> subscriptionSet) {
+        List<Bson> pipeline = Collections.emptyList();
+        if (filter != null) {
+            BsonDocument filterDocument = filter.toBsonDocument(BsonDocument.class, entityCollection.getCodecRegistry());
+            pipeline = Collections.singletonList(Aggregates.match(prefixFullDocument(filterDocument)));
+        }
+        // The current entity is looked up on updates, so the filter can be applied on the whole entity.
+        ChangeStreamIterable<E> changeStreamIterable = entityCollection.watch(pipeline)
+            .fullDocument(FullDocument.UPDATE_LOOKUP)
+            .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (collation != null) {
+            changeStreamIterable.collation(collation);
+        }
+        if (watch.getResumeToken() != null) {
+            changeStreamIterable.resumeAfter(BsonDocument.parse(watch.getResumeToken()));
+        }
+        Codec<ID> uniqueIdCodec = entityCollection.getCodecRegistry().get(entityUniqueIdClass);
+        MongoChangeStreamCursor<ChangeStreamDocument<E>> cursor = changeStreamIterable.cursor();
+        ChangeStreamSubscription<E, ID> subscription = new ChangeStreamSubscription<>(
+            entityCollection.getNamespace().getCollectionName(), cursor, uniqueIdCodec, watch, subscriptionSet);
+        subscription.start();
+        return subscription;
+    }
+
+    /**
+     * The filters of the repository methods are written on the entity, but the documents of the change stream
+     * contain the entity in the field "fullDocument". So every field key of the filter needs to be prefixed.
+     * Logical operators ("$and", "$or", "$nor") are kept and their sub-filters are prefixed.
+     *
+     * @param filterDocument The filter of the entity
+     * @return The filter of the change stream documents
+     */
+    static BsonDocument prefixFullDocument(BsonDocument filterDocument) {
+        BsonDocument prefixedDocument = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : filterDocument.entrySet()) {
+            String key = entry.getKey();
+            BsonValue value = entry.getValue();
+            if (!key.startsWith("$")) {
+                prefixedDocument.append(FULL_DOCUMENT_PREFIX + key, value);
+                continue;
+            }
+            if (value.isArray()) {
+                BsonArray prefixedArray = new BsonArray();
+                for (BsonValue arrayValue : value.asArray()) {
+                    prefixedArray.add(arrayValue.isDocument() ? prefixFullDocument(arrayValue.asDocument()) : arrayValue);
+                }
+                prefixedDocument.append(key, prefixedArray);
+                continue;
+            }
+            prefixedDocument.append(key, value);
+        }
+        return prefixedDocument;
+    }
+
+    private void start() {
+        this.active = true;
+        subscriptionSet.add(this);
+        Thread thread = new Thread(this, "en2do-watch-" + collectionName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        try (MongoChangeStreamCursor<ChangeStreamDocument<E>> cursor = this.cursor) {
+            while (active) {
+                ChangeStreamDocument<E> changeDocument = cursor.tryNext();
+                if (changeDocument == null) {
+                    // The cursor returns the position, even if there are no changes.
+                    BsonDocument cursorResumeToken = cursor.getResumeToken();
+                    if (cursorResumeToken != null) {
+                        resumeToken = cursorResumeToken.toJson();
+                    }
+                    continue;
+                }
+                String changeResumeToken = changeDocument.getResumeToken().toJson();
+                resumeToken = changeResumeToken;
+                deliver(new EntityChange<>(ChangeType.of(changeDocument.getOperationType()),
+                    decodeUniqueId(changeDocument.getDocumentKey()), changeDocument.getFullDocument(), changeResumeToken));
+            }
+        } catch (Exception e) {
+            // Closing the subscription or the client interrupts the cursor, that's not an error.
+            if (active) {
+                handleError(e);
+            }
+        } finally {
+            active = false;
+            subscriptionSet.remove(this);
+        }
+    }
+
+    private ID decodeUniqueId(BsonDocument documentKey) {
+        if (documentKey == null || !documentKey.containsKey("_id")) {
+            return null;
+        }
+        BsonDocumentReader reader = new BsonDocumentReader(new BsonDocument("_id", documentKey.get("_id")));
+        reader.readStartDocument();
+        reader.readName();
+        return uniqueIdCodec.decode(reader, DECODER_CONTEXT);
+    }
+
+    private void deliver(EntityChange<E, ID> entityChange) {
+        Executor executor = watch.getExecutor();
+        if (executor == null) {
+            callListener(entityChange);
+            return;
+        }
+        executor.execute(() -> callListener(entityChange));
+    }
+
+    private void callListener(EntityChange<E, ID> entityChange) {
+        ChangeListener<E, ID> changeListener = watch.getChangeListener();
+        try {
+            changeListener.onChange(entityChange);
+        } catch (Exception e) {
+            handleError(e);
+        }
+    }
+
+    private void handleError(Throwable throwable) {
+        if (watch.getErrorHandler() != null) {
+            watch.getErrorHandler().accept(throwable);
+            return;
+        }
+        log.log(Level.SEVERE, "Error in change stream of collection " + collectionName + ":", throwable);
+    }
+
+    @Override
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    @Override
+    public void close() {
+        // The thread stops after the current await of the cursor.
+        active = false;
+        subscriptionSet.remove(this);
+    }
+}
@@ -0,0 +1,272 @@
+package eu.koboo.en2do.mongodb.writebehind;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
+import eu.koboo.en2do.mongodb.bulk.BulkWriteEngine;
+import eu.koboo.en2do.mongodb.cache.EntityCache;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.java.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+/**
+ * Buffers the writes of a repository by the unique identifier of the entities.
+ * Only the last write of every entity is kept, so repeated saves of the same entity
+ * result in a single write on flushing. All buffered writes are flushed as one bulk write.
+ * Only transient failures of the whole bulk write are retried, at most "maxAttempts" times per write.
+ * Writes, which were rejected by the server, can't succeed on a retry and are dropped.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the entity id
+ */
+@Log
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WriteBehindBuffer<E, ID> {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private static final String RETRYABLE_WRITE_ERROR_LABEL = "RetryableWriteError";
+
+    BulkWriteEngine bulkWriteEngine;
+    MongoCollection<E> entityCollection;
+    EntityCache<E, ID> entityCache;
+    int maxBufferSize;
+    int maxAttempts;
+
+    // Guards the pending writes and the attempts.
+    Object bufferLock = new Object();
+    // Ensures the flushes are written in order, so an older write never overtakes a newer one.
+    ReentrantLock flushLock = new ReentrantLock();
+
+    @NonFinal
+    Map<ID, WriteModel<E>> pendingWriteMap;
+    // The failed attempts of the pending writes, which are retried.
+    Map<ID, Integer> attemptCountMap;
+    @NonFinal
+    ScheduledFuture<?> flushTask;
+
+    @Getter
+    WriteBehindMetrics metrics;
+
+    public WriteBehindBuffer(BulkWriteEngine bulkWriteEngine, MongoCollection<E> entityCollection,
+                             EntityCache<E, ID> entityCache, int maxBufferSize, int maxAttempts) {
+        this.bulkWriteEngine = bulkWriteEngine;
+        this.entityCollection = entityCollection;
+        this.entityCache = entityCache;
+        this.maxBufferSize = Math.max(1, maxBufferSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.pendingWriteMap = new LinkedHashMap<>();
+        this.attemptCountMap = new HashMap<>();
+        this.metrics = new WriteBehindMetrics();
+    }
+
+    /**
+     * Schedules the flushing of the buffer in the background.
+     *
+     * @param scheduler           The scheduler of the MongoManager
+     * @param flushIntervalMillis The interval in milliseconds
+     */
+    public void schedule(ScheduledExecutorService scheduler, long flushIntervalMillis) {
+        long interval = Math.max(1, flushIntervalMillis);
+        this.flushTask = scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void bufferSave(ID uniqueId, E entity) {
+        buffer(uniqueId, new ReplaceOneModel<>(Filters.eq("_id", uniqueId), entity, UPSERT));
+    }
+
+    public void bufferDelete(ID uniqueId) {
+        buffer(uniqueId, new DeleteOneModel<>(Filters.eq("_id", uniqueId)));
+    }
+
+    private void buffer(ID uniqueId, WriteModel<E> writeModel) {
+        metrics.recordWrite();
+        boolean full;
+        synchronized (bufferLock) {
+            // Remove first, so the entity moves to the end of the insertion order.
+            pendingWriteMap.remove(uniqueId);
+            pendingWriteMap.put(uniqueId, writeModel);
+            // The newer write didn't fail yet.
+            attemptCountMap.remove(uniqueId);
+            full = pendingWriteMap.size() >= maxBufferSize;
+        }
+        if (full) {
+            // Backpressure: The calling thread needs to flush the full buffer.
+            flush();
+        }
+    }
+
+    /**
+     * @return The amount of currently buffered entities.
+     */
+    public int size() {
+        synchronized (bufferLock) {
+            return pendingWriteMap.size();
+        }
+    }
+
+    /**
+     * Writes all buffered writes to the database.
+     * The writes, which were rejected by the server (e.g. by a duplicate key), are dropped.
+     * If the bulk write failed as a whole by a transient error, all writes are put back into the buffer,
+     * so they are retried by the next flush, until they failed "maxAttempts" times.
+     * If an entity was written again in the meantime, the newer write is kept.
+     *
+     * @return The result of the bulk write, which lists the dropped writes
+     * @throws RuntimeException if the bulk write failed as a whole.
+     */
+    public BulkResult flush() {
+        flushLock.lock();
+        try {
+            List<ID> uniqueIdList;
+            List<WriteModel<E>> writeModelList;
+            synchronized (bufferLock) {
+                if (pendingWriteMap.isEmpty()) {
+                    return new BulkResult();
+                }
+                uniqueIdList = new ArrayList<>(pendingWriteMap.keySet());
+                writeModelList = new ArrayList<>(pendingWriteMap.values());
+                pendingWriteMap = new LinkedHashMap<>();
+            }
+            long start = System.nanoTime();
+            BulkResult bulkResult;
+            try {
+                bulkResult = bulkWriteEngine.execute(entityCollection, writeModelList);
+            } catch (RuntimeException e) {
+                metrics.recordFlush(0, writeModelList.size(), System.nanoTime() - start);
+                if (isRetryable(e)) {
+                    // Nothing is known to be written, so the whole batch needs to be retried.
+                    requeue(uniqueIdList, writeModelList);
+                } else {
+                    drop(uniqueIdList, e.getMessage());
+                }
+                throw e;
+            } finally {
+                // The cache could have loaded the entities before they were written.
+                if (entityCache != null) {
+                    entityCache.invalidate(uniqueIdList);
+                }
+            }
+            List<Integer> failedIndexList = bulkResult.getFailedIndexes();
+            metrics.recordFlush(writeModelList.size() - failedIndexList.size(), failedIndexList.size(),
+                System.nanoTime() - start);
+            List<ID> failedUniqueIdList = new ArrayList<>(failedIndexList.size());
+            for (int failedIndex : failedIndexList) {
+                failedUniqueIdList.add(uniqueIdList.get(failedIndex));
+            }
+            synchronized (bufferLock) {
+                // The writes are done, either written or dropped below.
+                for (ID uniqueId : uniqueIdList) {
+                    attemptCountMap.remove(uniqueId);
+                }
+            }
+            if (!failedUniqueIdList.isEmpty()) {
+                // The server rejected the writes, so they would fail again on every retry.
+                drop(failedUniqueIdList, bulkResult.toString());
+            }
+            return bulkResult;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void requeue(List<ID> uniqueIdList, List<WriteModel<E>> writeModelList) {
+        int retriedWrites = 0;
+        List<ID> droppedUniqueIdList = new ArrayList<>();
+        synchronized (bufferLock) {
+            for (int i = 0; i < uniqueIdList.size(); i++) {
+                ID uniqueId = uniqueIdList.get(i);
+                // A write, which was buffered during the flush, is newer and wins.
+                if (pendingWriteMap.containsKey(uniqueId)) {
+                    continue;
+                }
+                int attemptCount = attemptCountMap.merge(uniqueId, 1, Integer::sum);
+                if (attemptCount >= maxAttempts) {
+                    droppedUniqueIdList.add(uniqueId);
+                    continue;
+                }
+                pendingWriteMap.put(uniqueId, writeModelList.get(i));
+                retriedWrites++;
+            }
+        }
+        metrics.recordRetries(retriedWrites);
+        if (!droppedUniqueIdList.isEmpty()) {
+            drop(droppedUniqueIdList, "Failed " + maxAttempts + " attempts");
+        }
+    }
+
+    private void drop(List<ID> uniqueIdList, String reason) {
+        synchronized (bufferLock) {
+            for (ID uniqueId : uniqueIdList) {
+                attemptCountMap.remove(uniqueId);
+            }
+        }
+        metrics.recordDrops(uniqueIdList.size());
+        log.log(Level.SEVERE, "Dropped " + uniqueIdList.size() + " buffered writes of collection " +
+            entityCollection.getNamespace().getFullName() + " " + uniqueIdList + ": " + reason);
+    }
+
+    /**
+     * Checks if the whole bulk write failed by a transient error, e.g. by a lost connection or an election,
+     * so the same writes could succeed on a retry.
+     *
+     * @param exception The exception of the bulk write
+     * @return true, if the writes should be retried.
+     */
+    private static boolean isRetryable(RuntimeException exception) {
+        if (exception instanceof MongoSocketException
+            || exception instanceof MongoTimeoutException
+            || exception instanceof MongoNotPrimaryException
+            || exception instanceof MongoNodeIsRecoveringException) {
+            return true;
+        }
+        return exception instanceof MongoException
+            && ((MongoException) exception).hasErrorLabel(RETRYABLE_WRITE_ERROR_LABEL);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // Never throw in the scheduler, otherwise the task is cancelled.
+            log.log(Level.SEVERE, "Couldn't flush buffered writes of collection " +
+                entityCollection.getNamespace().getFullName() + ":", e);
+        }
+    }
+
+    /**
+     * Stops the background flushing and flushes the remaining writes.
+     *
+     * @return The result of the last flush, which lists the dropped writes
+     * @throws RuntimeException if the last flush failed as a whole, the retried writes are still buffered.
+     */
+    public BulkResult close() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        return flush();
+    }
+}
@@ -0,0 +1,130 @@
+package eu.koboo.en2do.mongodb.writebehind;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the metrics of a WriteBehindBuffer.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class WriteBehindMetrics {
+
+    LongAdder receivedWrites = new LongAdder();
+    LongAdder flushedWrites = new LongAdder();
+    LongAdder failedWrites = new LongAdder();
+    LongAdder retriedWrites = new LongAdder();
+    LongAdder droppedWrites = new LongAdder();
+    LongAdder flushCount = new LongAdder();
+    LongAdder totalFlushNanos = new LongAdder();
+    AtomicLong lastFlushNanos = new AtomicLong();
+    AtomicLong maxFlushNanos = new AtomicLong();
+
+    void recordWrite() {
+        receivedWrites.increment();
+    }
+
+    void recordFlush(int succeeded, int failed, long nanos) {
+        flushedWrites.add(succeeded);
+        failedWrites.add(failed);
+        flushCount.increment();
+        totalFlushNanos.add(nanos);
+        lastFlushNanos.set(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    void recordRetries(int retried) {
+        retriedWrites.add(retried);
+    }
+
+    void recordDrops(int dropped) {
+        droppedWrites.add(dropped);
+    }
+
+    /**
+     * @return The amount of buffered write calls.
+     */
+    public long getReceivedWrites() {
+        return receivedWrites.sum();
+    }
+
+    /**
+     * @return The amount of writes, which were successfully written to the database after coalescing.
+     * Retried writes are only counted once, when they succeed.
+     */
+    public long getFlushedWrites() {
+        return flushedWrites.sum();
+    }
+
+    /**
+     * @return The amount of failed write attempts on flushing, every retry of a write is counted again.
+     */
+    public long getFailedWrites() {
+        return failedWrites.sum();
+    }
+
+    /**
+     * @return The amount of failed writes, which were put back into the buffer to be retried.
+     */
+    public long getRetriedWrites() {
+        return retriedWrites.sum();
+    }
+
+    /**
+     * @return The amount of writes, which were given up, because they were rejected by the server,
+     * failed by a non-transient error or failed too many attempts.
+     */
+    public long getDroppedWrites() {
+        return droppedWrites.sum();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    /**
+     * @return The share of write calls, which were replaced by a later write of the same entity (0.0 - 1.0).
+     * Writes, which are still buffered or waiting for a retry, are counted as replaced until they succeed.
+     */
+    public double getCoalescingRatio() {
+        long received = receivedWrites.sum();
+        if (received == 0) {
+            return 0;
+        }
+        return 1.0 - ((double) (flushedWrites.sum() + droppedWrites.sum()) / received);
+    }
+
+    public double getAverageFlushMillis() {
+        long count = flushCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) TimeUnit.NANOSECONDS.toMicros(totalFlushNanos.sum() / count) / 1000;
+    }
+
+    public double getLastFlushMillis() {
+        return (double) TimeUnit.NANOSECONDS.toMicros(lastFlushNanos.get()) / 1000;
+    }
+
+    public double getMaxFlushMillis() {
+        return (double) TimeUnit.NANOSECONDS.toMicros(maxFlushNanos.get()) / 1000;
+    }
+
+    @Override
+    public String toString() {
+        return "WriteBehindMetrics{" +
+            "receivedWrites=" + getReceivedWrites() +
+            ", flushedWrites=" + getFlushedWrites() +
+            ", failedWrites=" + getFailedWrites() +
+            ", retriedWrites=" + getRetriedWrites() +
+            ", droppedWrites=" + getDroppedWrites() +
+            ", flushCount=" + getFlushCount() +
+            ", coalescingRatio=" + getCoalescingRatio() +
+            ", averageFlushMillis=" + getAverageFlushMillis() +
+            ", maxFlushMillis=" + getMaxFlushMillis() +
+            '}';
+    }
+}
@@ -1,6 +1,8 @@
 package eu.koboo.en2do.operators;
 
 import eu.koboo.en2do.mongodb.exception.returntype.*;
+import eu.koboo.en2do.repository.methods.async.Async;
+import eu.koboo.en2do.repository.methods.watch.ChangeSubscription;
 import eu.koboo.en2do.utility.GenericUtils;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -8,8 +10,11 @@ import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the MethodOperator of a method inside a repository.
@@ -23,17 +28,32 @@ public enum MethodOperator {
      * Searches entities with the given filters.
      */
     FIND("find", (method, returnType, entityClass, repoClass) -> {
-        boolean isList = !GenericUtils.isNotTypeOf(Collection.class, returnType);
-        Class<?> returnEntityType;
-        if (isList) {
-            returnEntityType = GenericUtils.getGenericTypeOfReturnType(method);
-        } else {
-            returnEntityType = returnType;
-        }
-        if (GenericUtils.isNotTypeOf(entityClass, returnEntityType)) {
+        // The CompletableFuture of async methods is unwrapped, before the element type is resolved.
+        boolean async = method.isAnnotationPresent(Async.class);
+        Class<?> returnEntityType = GenericUtils.getElementTypeOfReturnType(method, async);
+        // Any other class or interface is returned as projection of the entity.
+        if (GenericUtils.isNotTypeOf(entityClass, returnEntityType) && !GenericUtils.isProjectionType(returnEntityType)) {
             throw new MethodFindReturnTypeException(method, entityClass, repoClass);
         }
     }),
+    /**
+     * Searches the ids of the entities with the given filters. Only the "_id" field is sent by the server,
+     * so the query is covered, if an index contains all filtered fields.
+     */
+    FIND_IDS("findIds", (method, returnType, entityClass, repoClass) -> {
+        if (!returnType.isAssignableFrom(ArrayList.class) && !returnType.isAssignableFrom(LinkedHashSet.class)
+            && !ResultType.of(returnType).isLazy()) {
+            throw new MethodIdReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Searches the id of the first entity with the given filters.
+     */
+    FIND_FIRST_ID("findFirstId", (method, returnType, entityClass, repoClass) -> {
+        if (ResultType.of(returnType) != ResultType.SINGLE) {
+            throw new MethodIdReturnTypeException(method, repoClass);
+        }
+    }),
     /**
      * Deletes all entities with the given filters.
      */
@@ -62,14 +82,25 @@ public enum MethodOperator {
      * Creates pagination on all entities with the given filters.
      */
     PAGE("page", (method, returnType, entityClass, repoClass) -> {
-        if (GenericUtils.isNotTypeOf(List.class, returnType)) {
+        ResultType resultType = ResultType.of(returnType);
+        if (GenericUtils.isNotTypeOf(List.class, returnType) && !resultType.isLazy() && resultType != ResultType.PAGE) {
             throw new MethodFindListReturnTypeException(method, entityClass, repoClass);
         }
-        Class<?> listType = GenericUtils.getGenericTypeOfReturnType(method);
-        if (!listType.isAssignableFrom(entityClass)) {
+        boolean async = method.isAnnotationPresent(Async.class);
+        Class<?> listType = GenericUtils.getElementTypeOfReturnType(method, async);
+        if (!listType.isAssignableFrom(entityClass) && !GenericUtils.isProjectionType(listType)) {
             throw new MethodFindListTypeException(method, repoClass, listType, entityClass);
         }
     }),
+    /**
+     * Creates pagination on the ids of all entities with the given filters.
+     */
+    PAGE_IDS("pageIds", (method, returnType, entityClass, repoClass) -> {
+        ResultType resultType = ResultType.of(returnType);
+        if (GenericUtils.isNotTypeOf(List.class, returnType) && !resultType.isLazy() && resultType != ResultType.PAGE) {
+            throw new MethodIdReturnTypeException(method, repoClass);
+        }
+    }),
     /**
      * Updates specific fields on all entities with the given filters.
      */
@@ -77,6 +108,74 @@ public enum MethodOperator {
         if (GenericUtils.isNotTypeOf(Boolean.class, returnType)) {
             throw new MethodBooleanReturnTypeException(method, repoClass);
         }
+    }),
+    /**
+     * Opens a change stream, which delivers the changes of all entities with the given filters.
+     */
+    WATCH("watch", (method, returnType, entityClass, repoClass) -> {
+        if (GenericUtils.isNotTypeOf(ChangeSubscription.class, returnType)) {
+            throw new MethodWatchReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Executes the aggregation pipeline of the "@Pipeline" annotation on all entities with the given filters.
+     */
+    AGGREGATE("aggregate", (method, returnType, entityClass, repoClass) -> {
+        if (returnType == void.class || returnType == Void.class || ResultType.of(returnType) == ResultType.PAGE) {
+            throw new MethodAggregateReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Sums the values of the given field of all entities with the given filters.
+     */
+    SUM("sum", (method, returnType, entityClass, repoClass) -> {
+        if (!GenericUtils.isNumber(returnType)) {
+            throw new MethodGroupReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Calculates the average of the values of the given field of all entities with the given filters.
+     */
+    AVG("avg", (method, returnType, entityClass, repoClass) -> {
+        if (!GenericUtils.isNumber(returnType)) {
+            throw new MethodGroupReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Returns the lowest value of the given field of all entities with the given filters.
+     */
+    MIN("min", (method, returnType, entityClass, repoClass) -> {
+        if (!isSingleValue(returnType)) {
+            throw new MethodGroupReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Returns the highest value of the given field of all entities with the given filters.
+     */
+    MAX("max", (method, returnType, entityClass, repoClass) -> {
+        if (!isSingleValue(returnType)) {
+            throw new MethodGroupReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Counts all entities with the given filters, grouped by the values of the given field.
+     */
+    COUNT_GROUPED("countGroupedBy", (method, returnType, entityClass, repoClass) -> {
+        if (GenericUtils.isNotTypeOf(Map.class, returnType)) {
+            throw new MethodGroupReturnTypeException(method, repoClass);
+        }
+        Class<?> valueType = GenericUtils.getMapTypesOfReturnType(method, method.isAnnotationPresent(Async.class))[1];
+        if (GenericUtils.isNotTypeOf(Long.class, valueType)) {
+            throw new MethodGroupReturnTypeException(method, repoClass);
+        }
+    }),
+    /**
+     * Returns the distinct values of the given field of all entities with the given filters.
+     */
+    DISTINCT("distinct", (method, returnType, entityClass, repoClass) -> {
+        if (!returnType.isAssignableFrom(ArrayList.class) && !returnType.isAssignableFrom(LinkedHashSet.class)) {
+            throw new MethodDistinctReturnTypeException(method, repoClass);
+        }
     });
 
     public static final MethodOperator[] VALUES = MethodOperator.values();
@@ -108,20 +207,69 @@ public enum MethodOperator {
         returnTypeValidator.check(method, returnType, entityClass, repoClass);
     }
 
+    /**
+     * Defines if the operator aggregates the values of a single field with a "$group" stage.
+     * The name of the field follows the keyword, before the optional filters.
+     *
+     * @return true, if the operator is "sum", "avg", "min", "max" or "countGroupedBy".
+     */
+    public boolean isGroupOperator() {
+        return this == SUM || this == AVG || this == MIN || this == MAX || this == COUNT_GROUPED;
+    }
+
+    /**
+     * Defines if the name of a field follows the keyword of the operator, before the optional filters.
+     *
+     * @return true, if the operator is a group operator or "distinct".
+     */
+    public boolean isFieldOperator() {
+        return isGroupOperator() || this == DISTINCT;
+    }
+
+    /**
+     * Defines if the operator only returns the ids of the entities.
+     *
+     * @return true, if the operator is "findIds", "findFirstId" or "pageIds".
+     */
+    public boolean isIdOperator() {
+        return this == FIND_IDS || this == FIND_FIRST_ID || this == PAGE_IDS;
+    }
+
+    /**
+     * Defines if the operator needs a Pagination object as last parameter.
+     *
+     * @return true, if the operator is "page" or "pageIds".
+     */
+    public boolean isPageOperator() {
+        return this == PAGE || this == PAGE_IDS;
+    }
+
+    private static boolean isSingleValue(Class<?> returnType) {
+        return returnType != void.class && returnType != Void.class
+            && GenericUtils.isNotTypeOf(Collection.class, returnType)
+            && GenericUtils.isNotTypeOf(Map.class, returnType)
+            && ResultType.of(returnType) == ResultType.SINGLE;
+    }
+
     /**
      * Parses the method operator by the name of the method. It just checks if the method is starting
-     * with any method operator of the enumeration.
+     * with any method operator of the enumeration. If multiple keywords match (e.g. "count" and "countGroupedBy"),
+     * the longest keyword is used.
      *
      * @param methodNamePart The name of the method.
      * @return The MethodOperator if any is found, otherwise null.
      */
     public static MethodOperator parseMethodStartsWith(String methodNamePart) {
+        MethodOperator foundOperator = null;
         for (MethodOperator operator : VALUES) {
             if (!methodNamePart.startsWith(operator.getKeyword())) {
                 continue;
             }
-            return operator;
+            if (foundOperator != null && foundOperator.getKeyword().length() >= operator.getKeyword().length()) {
+                continue;
+            }
+            foundOperator = operator;
         }
-        return null;
+        return foundOperator;
     }
 }
@@ -0,0 +1,64 @@
+package eu.koboo.en2do.operators;
+
+import com.mongodb.client.MongoCursor;
+import eu.koboo.en2do.repository.methods.pagination.Page;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Represents how the entities of a find method are returned.
+ */
+public enum ResultType {
+
+    /**
+     * Returns the first entity.
+     */
+    SINGLE,
+    /**
+     * Returns all entities in a List.
+     */
+    LIST,
+    /**
+     * Returns a lazy Stream, which is backed by a cursor and needs to be closed.
+     */
+    STREAM,
+    /**
+     * Returns the cursor itself, which is a closeable Iterator.
+     */
+    CURSOR,
+    /**
+     * Returns a Page with the entities and the total count.
+     */
+    PAGE;
+
+    /**
+     * Parses the result type by the return type of the method.
+     *
+     * @param returnType The return type of the method (after resolving async methods)
+     * @return The result type
+     */
+    public static ResultType of(Class<?> returnType) {
+        if (returnType == Page.class) {
+            return PAGE;
+        }
+        if (returnType == Stream.class) {
+            return STREAM;
+        }
+        if (Iterator.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(MongoCursor.class)) {
+            return CURSOR;
+        }
+        if (Collection.class.isAssignableFrom(returnType)) {
+            return LIST;
+        }
+        return SINGLE;
+    }
+
+    /**
+     * @return true, if the entities are decoded lazily while iterating.
+     */
+    public boolean isLazy() {
+        return this == STREAM || this == CURSOR;
+    }
+}
@@ -1,12 +1,15 @@
 package eu.koboo.en2do.parser.indices;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Collation;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import eu.koboo.en2do.mongodb.exception.repository.RepositoryIndexCollationNotFoundException;
 import eu.koboo.en2do.mongodb.exception.repository.RepositoryIndexFieldNotFoundException;
 import eu.koboo.en2do.repository.entity.compound.CompoundIndex;
 import eu.koboo.en2do.repository.entity.compound.Index;
 import eu.koboo.en2do.utility.AnnotationUtils;
+import eu.koboo.en2do.utility.CollationUtils;
 import org.bson.conversions.Bson;
 
 import java.lang.reflect.Field;
@@ -16,10 +19,13 @@ import java.util.Set;
 
 public class CompoundIndicesParser implements IndicesParser {
 
+    public static final String COLLATION_NAME_SUFFIX = "_collation";
+
     @Override
     public void parse(Class<?> repositoryClass, Class<?> entityClass, MongoCollection<?> entityCollection,
                       Set<Field> entityFieldSet) throws Exception {
         Set<CompoundIndex> compoundIndexSet = AnnotationUtils.collectAnnotations(entityClass, CompoundIndex.class);
+        Collation entityCollation = CollationUtils.parseEntityCollation(repositoryClass, entityClass);
         for (CompoundIndex compoundIndex : compoundIndexSet) {
             // Checking if the field in the annotation exists in the entity class.
             Index[] fieldIndexes = compoundIndex.value();
@@ -42,7 +48,49 @@ public class CompoundIndicesParser implements IndicesParser {
             }
             IndexOptions indexOptions = new IndexOptions()
                 .unique(compoundIndex.uniqueIndex());
+            Collation indexCollation = parseIndexCollation(repositoryClass, compoundIndex, entityCollation);
+            if (indexCollation != null) {
+                // The default name is already used, if the index was created without collation before.
+                indexOptions.collation(indexCollation)
+                    .name(createIndexName(fieldIndexes) + COLLATION_NAME_SUFFIX);
+            }
             entityCollection.createIndex(Indexes.compoundIndex(indexBsonList), indexOptions);
         }
     }
+
+    /**
+     * Creates the collation of the given index, see "CompoundIndex#collation".
+     *
+     * @param repositoryClass The class of the repository
+     * @param compoundIndex   The annotation of the index
+     * @param entityCollation The collation of the entity, or null
+     * @return The collation of the index, or null if the index is created without collation
+     * @throws Exception if the collation is invalid or the entity doesn't define a collation
+     */
+    public static Collation parseIndexCollation(Class<?> repositoryClass, CompoundIndex compoundIndex,
+                                                Collation entityCollation) throws Exception {
+        if (!compoundIndex.collationLocale().isEmpty()) {
+            return CollationUtils.createCollation(repositoryClass,
+                compoundIndex.collationLocale(), compoundIndex.collationStrength());
+        }
+        if (!compoundIndex.collation()) {
+            return null;
+        }
+        if (entityCollation == null) {
+            throw new RepositoryIndexCollationNotFoundException(repositoryClass);
+        }
+        return entityCollation;
+    }
+
+    private String createIndexName(Index[] fieldIndexes) {
+        // Same format as the default name of MongoDB.
+        StringBuilder builder = new StringBuilder();
+        for (Index fieldIndex : fieldIndexes) {
+            if (builder.length() > 0) {
+                builder.append('_');
+            }
+            builder.append(fieldIndex.value()).append('_').append(fieldIndex.ascending() ? 1 : -1);
+        }
+        return builder.toString();
+    }
 }
@@ -0,0 +1,25 @@
+package eu.koboo.en2do.parser.methods;
+
+import eu.koboo.en2do.operators.FilterOperator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Represents a parsed segment of a method filter, without any reference to reflection objects.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+public class FilterDescriptor {
+
+    /**
+     * The name of the entity field, or null if the filter uses a "@NestedField" key.
+     */
+    String fieldName;
+    String bsonFilterFieldKey;
+    boolean notFilter;
+    FilterOperator operator;
+    int nextParameterIndex;
+}
@@ -0,0 +1,37 @@
+package eu.koboo.en2do.parser.methods;
+
+import eu.koboo.en2do.operators.Chain;
+import eu.koboo.en2do.operators.MethodOperator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Represents the parsed name of a dynamic repository method. It's created by the MethodNameParser,
+ * either on runtime or on compile time by the en2do-processor.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+public class MethodDescriptor {
+
+    String methodName;
+    MethodOperator methodOperator;
+    Long methodDefinedEntityCount;
+    Chain chain;
+    List<FilterDescriptor> filterList;
+    int expectedParameterCount;
+
+    /**
+     * The name of the field of field operators (e.g. "sum" or "distinct"), or null for nested fields and other operators.
+     */
+    String targetFieldName;
+
+    /**
+     * The bson key of the field of field operators, or null for other operators.
+     */
+    String targetBsonFieldKey;
+}
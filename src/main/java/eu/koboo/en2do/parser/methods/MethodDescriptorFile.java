@@ -0,0 +1,127 @@
+package eu.koboo.en2do.parser.methods;
+
+import eu.koboo.en2do.operators.Chain;
+import eu.koboo.en2do.operators.FilterOperator;
+import eu.koboo.en2do.operators.MethodOperator;
+import lombok.experimental.UtilityClass;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads and writes the method descriptors, which are created by the en2do-processor on compile time.
+ * Every repository gets its own resource file, with one method descriptor per line:
+ * <pre>
+ * methodName  OPERATOR  entityCount  CHAIN  expectedParameterCount  filter;filter;...  targetField
+ * </pre>
+ * The columns are separated by tabs, every filter is written as
+ * "fieldName,bsonFilterFieldKey,notFilter,OPERATOR,nextParameterIndex".
+ * The field of field operators (e.g. "sum" or "distinct") is written as "fieldName,bsonFieldKey",
+ * or empty for other operators.
+ */
+@UtilityClass
+public class MethodDescriptorFile {
+
+    /**
+     * The header of the file, which is used to detect files of an incompatible format.
+     */
+    public static final String FORMAT_HEADER = "# en2do method descriptors v2";
+
+    /**
+     * Creates the resource path of the descriptor file of the given repository.
+     *
+     * @param repositoryBinaryName The binary name of the repository class (e.g. "com.example.Outer$MyRepository")
+     * @return The path of the resource
+     */
+    public String resourcePath(String repositoryBinaryName) {
+        return "META-INF/en2do/methods/" + repositoryBinaryName;
+    }
+
+    public void write(Writer writer, Collection<MethodDescriptor> descriptors) throws IOException {
+        writer.write(FORMAT_HEADER);
+        writer.write("\n");
+        for (MethodDescriptor descriptor : descriptors) {
+            StringJoiner filterJoiner = new StringJoiner(";");
+            for (FilterDescriptor filter : descriptor.getFilterList()) {
+                filterJoiner.add((filter.getFieldName() == null ? "" : filter.getFieldName()) + "," +
+                    filter.getBsonFilterFieldKey() + "," +
+                    filter.isNotFilter() + "," +
+                    filter.getOperator().name() + "," +
+                    filter.getNextParameterIndex());
+            }
+            writer.write(descriptor.getMethodName() + "\t" +
+                descriptor.getMethodOperator().name() + "\t" +
+                descriptor.getMethodDefinedEntityCount() + "\t" +
+                descriptor.getChain().name() + "\t" +
+                descriptor.getExpectedParameterCount() + "\t" +
+                filterJoiner + "\t" +
+                (descriptor.getTargetBsonFieldKey() == null ? "" :
+                    (descriptor.getTargetFieldName() == null ? "" : descriptor.getTargetFieldName()) + "," +
+                        descriptor.getTargetBsonFieldKey()));
+            writer.write("\n");
+        }
+    }
+
+    /**
+     * Reads the descriptor file of the given repository class, if the en2do-processor created it.
+     *
+     * @param repositoryClass The class of the repository
+     * @return The Map with the method names as key and their descriptor as value.
+     * Empty, if no file exists or the file has an incompatible format.
+     */
+    public Map<String, MethodDescriptor> read(Class<?> repositoryClass) {
+        ClassLoader classLoader = repositoryClass.getClassLoader();
+        if (classLoader == null) {
+            return Collections.emptyMap();
+        }
+        InputStream inputStream = classLoader.getResourceAsStream(resourcePath(repositoryClass.getName()));
+        if (inputStream == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, MethodDescriptor> descriptorMap = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            if (!FORMAT_HEADER.equals(reader.readLine())) {
+                return Collections.emptyMap();
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                MethodDescriptor descriptor = parseLine(line);
+                descriptorMap.put(descriptor.getMethodName(), descriptor);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The file is broken, so the methods get parsed on runtime.
+            return Collections.emptyMap();
+        }
+        return descriptorMap;
+    }
+
+    private MethodDescriptor parseLine(String line) {
+        String[] columns = line.split("\t", -1);
+        String entityCountString = columns[2];
+        Long entityCount = entityCountString.equals("null") ? null : Long.parseLong(entityCountString);
+        List<FilterDescriptor> filterList = new LinkedList<>();
+        if (!columns[5].isEmpty()) {
+            for (String filterString : columns[5].split(";")) {
+                String[] filterColumns = filterString.split(",", -1);
+                String fieldName = filterColumns[0].isEmpty() ? null : filterColumns[0];
+                filterList.add(new FilterDescriptor(fieldName, filterColumns[1],
+                    Boolean.parseBoolean(filterColumns[2]),
+                    FilterOperator.valueOf(filterColumns[3]),
+                    Integer.parseInt(filterColumns[4])));
+            }
+        }
+        String targetFieldName = null;
+        String targetBsonFieldKey = null;
+        if (!columns[6].isEmpty()) {
+            String[] targetColumns = columns[6].split(",", -1);
+            targetFieldName = targetColumns[0].isEmpty() ? null : targetColumns[0];
+            targetBsonFieldKey = targetColumns[1];
+        }
+        return new MethodDescriptor(columns[0], MethodOperator.valueOf(columns[1]), entityCount,
+            Chain.valueOf(columns[3]), filterList, Integer.parseInt(columns[4]), targetFieldName, targetBsonFieldKey);
+    }
+}
@@ -0,0 +1,250 @@
+package eu.koboo.en2do.parser.methods;
+
+import eu.koboo.en2do.operators.Chain;
+import eu.koboo.en2do.operators.FilterOperator;
+import eu.koboo.en2do.operators.MethodOperator;
+import eu.koboo.en2do.utility.MethodUtils;
+import lombok.experimental.UtilityClass;
+
+import java.util.*;
+
+/**
+ * Parses the name of a dynamic repository method into a MethodDescriptor.
+ * The parser only works with names, so it can be used on runtime with reflection
+ * and on compile time by the en2do-processor with the same results.
+ */
+@UtilityClass
+public class MethodNameParser {
+
+    /**
+     * Sorts the given field names by the length of their bson names, so the longest names are matched first.
+     *
+     * @param bsonNameFieldMap The Map with the bson names as keys and the field names as values
+     * @return The Map with the field names as keys and the bson names as values, sorted by the bson name length.
+     */
+    public Map<String, String> sortFieldNames(Map<String, String> bsonNameFieldMap) {
+        List<String> fieldBsonList = new LinkedList<>(bsonNameFieldMap.keySet());
+        fieldBsonList.sort(Comparator.comparingInt(String::length));
+        Collections.reverse(fieldBsonList);
+        Map<String, String> sortedFieldMap = new LinkedHashMap<>();
+        for (String bsonName : fieldBsonList) {
+            sortedFieldMap.put(bsonNameFieldMap.get(bsonName), bsonName);
+        }
+        return sortedFieldMap;
+    }
+
+    /**
+     * Parses the method name.
+     *
+     * @param methodName         The name of the method (after applying the "@Transform" annotation)
+     * @param sortedFieldMap     The field names with their bson names, sorted by the bson name length
+     * @param nestedFieldMap     The keys of the "@NestedField" annotations with their queries
+     * @return The parsed MethodDescriptor
+     * @throws MethodParseException if the method name is invalid.
+     */
+    public MethodDescriptor parse(String methodName, Map<String, String> sortedFieldMap,
+                                  Map<String, String> nestedFieldMap) throws MethodParseException {
+        // Parse the MethodOperator by the methodName
+        MethodOperator methodOperator = MethodOperator.parseMethodStartsWith(methodName);
+        if (methodOperator == null) {
+            throw new MethodParseException(MethodParseException.Reason.NO_METHOD_OPERATOR, methodName,
+                "Method \"" + methodName + "\" doesn't start with any method operator.");
+        }
+
+        // Remove the leading methodOperator to ensure it doesn't trick the validation
+        String strippedMethodName = methodOperator.removeOperatorFrom(methodName);
+
+        // Field operators name their field before the filters, e.g. "sumBalanceByCustomerType".
+        String targetFieldName = null;
+        String targetBsonFieldKey = null;
+        if (methodOperator.isFieldOperator()) {
+            String loweredTargetStrip = strippedMethodName.toLowerCase(Locale.ROOT);
+            int targetFieldLength = 0;
+            for (Map.Entry<String, String> nestedEntry : nestedFieldMap.entrySet()) {
+                String loweredKey = nestedEntry.getKey().toLowerCase(Locale.ROOT);
+                if (!loweredTargetStrip.startsWith(loweredKey)) {
+                    continue;
+                }
+                targetFieldLength = loweredKey.length();
+                targetBsonFieldKey = nestedEntry.getValue();
+                break;
+            }
+            if (targetBsonFieldKey == null) {
+                for (Map.Entry<String, String> fieldEntry : sortedFieldMap.entrySet()) {
+                    String fieldName = fieldEntry.getKey();
+                    if (!loweredTargetStrip.startsWith(fieldName.toLowerCase(Locale.ROOT))) {
+                        continue;
+                    }
+                    targetFieldLength = fieldName.length();
+                    targetFieldName = fieldName;
+                    targetBsonFieldKey = fieldEntry.getValue();
+                    break;
+                }
+            }
+            if (targetBsonFieldKey == null) {
+                throw new MethodParseException(MethodParseException.Reason.FIELD_NOT_FOUND, strippedMethodName,
+                    "Couldn't find any field with the name \"" + strippedMethodName + "\" in the entity.");
+            }
+            strippedMethodName = strippedMethodName.substring(targetFieldLength);
+            if (strippedMethodName.isEmpty()) {
+                return new MethodDescriptor(methodName, methodOperator, null,
+                    Chain.NONE, new LinkedList<>(), 0, targetFieldName, targetBsonFieldKey);
+            }
+            if (!strippedMethodName.startsWith("By")) {
+                throw new MethodParseException(MethodParseException.Reason.FIELD_NOT_FOUND, strippedMethodName,
+                    "Couldn't find any field with the name \"" + strippedMethodName + "\" in the entity.");
+            }
+        }
+
+        // Parse the defined entity count, by checking for the keywords
+        // "Top" - The first X entities
+        // "Many" - All entities
+        // "First" - Only the first entity
+        Long methodDefinedEntityCount = null;
+        if (strippedMethodName.startsWith("Top")) {
+            strippedMethodName = strippedMethodName.replaceFirst("Top", "");
+            if (strippedMethodName.startsWith("0")) {
+                throw new MethodParseException(MethodParseException.Reason.INVALID_TOP_NUMBER, methodName,
+                    "The number you want to filter can not start with \"0\".");
+            }
+            methodDefinedEntityCount = MethodUtils.getPrefixedNumber(strippedMethodName);
+            if (methodDefinedEntityCount == 0) {
+                throw new MethodParseException(MethodParseException.Reason.INVALID_TOP_NUMBER, methodName,
+                    "The number 0 is not a valid top number.");
+            }
+            strippedMethodName = strippedMethodName.replaceFirst(String.valueOf(methodDefinedEntityCount), "");
+        }
+        if (strippedMethodName.startsWith("Many")) {
+            strippedMethodName = strippedMethodName.replaceFirst("Many", "");
+            methodDefinedEntityCount = -1L;
+        }
+        if (strippedMethodName.startsWith("First")) {
+            strippedMethodName = strippedMethodName.replaceFirst("First", "");
+            methodDefinedEntityCount = 1L;
+        }
+
+        // The id operators already define their count by the keyword, unless "Top" is used.
+        if (methodDefinedEntityCount == null && methodOperator == MethodOperator.FIND_IDS) {
+            methodDefinedEntityCount = -1L;
+        }
+        if (methodOperator == MethodOperator.FIND_FIRST_ID) {
+            methodDefinedEntityCount = 1L;
+        }
+
+        // Aggregations can be named freely, only the text after "By" is parsed as filters.
+        if (methodOperator == MethodOperator.AGGREGATE && !strippedMethodName.startsWith("By")) {
+            return new MethodDescriptor(methodName, methodOperator, methodDefinedEntityCount,
+                Chain.NONE, new LinkedList<>(), 0, null, null);
+        }
+
+        // Remove the string "By" from the method name.
+        strippedMethodName = strippedMethodName.replaceFirst("By", "");
+
+        // Counts for further validation
+        int expectedParameterCount = 0;
+        int nextParameterIndex = 0;
+        int itemCount = 0;
+
+        // The list of the filters of this method.
+        List<FilterDescriptor> filterList = new LinkedList<>();
+
+        // The previous method name, but stripped by the method operator.
+        // So only the filters are left and lower cased.
+        String loweredStrip = strippedMethodName.toLowerCase(Locale.ROOT);
+
+        // Chain represents either AND or OR for all filters.
+        Chain chain = null;
+
+        // We are using a while loop. Just to ensure we are not doing
+        // infinite loops, we also track the execution amount using the safeBreakAmount.
+        int safeBreakAmount = 200;
+        while (!loweredStrip.equalsIgnoreCase("") && safeBreakAmount > 0) {
+            // Add safe break to avoid infinite loops
+            safeBreakAmount--;
+
+            String bsonFilterKey = null;
+            // Check if we can find any nested fields
+            for (Map.Entry<String, String> nestedEntry : nestedFieldMap.entrySet()) {
+                String loweredKey = nestedEntry.getKey().toLowerCase(Locale.ROOT);
+                if (!loweredStrip.startsWith(loweredKey)) {
+                    continue;
+                }
+                loweredStrip = loweredStrip.replaceFirst(loweredKey, "");
+                bsonFilterKey = nestedEntry.getValue();
+                break;
+            }
+
+            // Check if we can find any direct entity fields
+            String entityFieldName = null;
+            for (Map.Entry<String, String> fieldEntry : sortedFieldMap.entrySet()) {
+                String fieldName = fieldEntry.getKey();
+                String loweredFieldName = fieldName.toLowerCase(Locale.ROOT);
+                if (!loweredStrip.startsWith(loweredFieldName)) {
+                    continue;
+                }
+                loweredStrip = loweredStrip.replaceFirst(loweredFieldName, "");
+                entityFieldName = fieldName;
+                bsonFilterKey = fieldEntry.getValue();
+                break;
+            }
+
+            // Check if we found any field.
+            if (bsonFilterKey == null) {
+                throw new MethodParseException(MethodParseException.Reason.FIELD_NOT_FOUND, strippedMethodName,
+                    "Couldn't find any field with the name \"" + strippedMethodName + "\" in the entity.");
+            }
+
+            boolean notFilter = false;
+            if (loweredStrip.startsWith("not")) {
+                notFilter = true;
+                loweredStrip = loweredStrip.replaceFirst("not", "");
+            }
+
+            FilterOperator filterOperator = FilterOperator.EQUALS;
+            for (FilterOperator value : FilterOperator.VALUES) {
+                if (loweredStrip.startsWith("and") || loweredStrip.startsWith("or")) {
+                    break;
+                }
+                if (value == FilterOperator.EQUALS) {
+                    continue;
+                }
+                String loweredKeyword = value.getKeyword().toLowerCase(Locale.ROOT);
+                boolean startsWith = loweredStrip.startsWith(loweredKeyword);
+                if (!startsWith) {
+                    continue;
+                }
+                loweredStrip = loweredStrip.replaceFirst(loweredKeyword, "");
+                filterOperator = value;
+                break;
+            }
+
+            if (loweredStrip.startsWith("and")) {
+                loweredStrip = loweredStrip.replaceFirst("and", "");
+                if (chain != null && chain != Chain.AND) {
+                    throw new MethodParseException(MethodParseException.Reason.DUPLICATED_CHAIN, methodName,
+                        "Method \"" + methodName + "\" uses both \"And\" and \"Or\" as chain.");
+                }
+                chain = Chain.AND;
+            } else if (loweredStrip.startsWith("or")) {
+                loweredStrip = loweredStrip.replaceFirst("or", "");
+                if (chain != null && chain != Chain.OR) {
+                    throw new MethodParseException(MethodParseException.Reason.DUPLICATED_CHAIN, methodName,
+                        "Method \"" + methodName + "\" uses both \"And\" and \"Or\" as chain.");
+                }
+                chain = Chain.OR;
+            }
+
+            filterList.add(new FilterDescriptor(entityFieldName, bsonFilterKey, notFilter, filterOperator, nextParameterIndex));
+            int operatorParameterCount = filterOperator.getExpectedParameterCount();
+            expectedParameterCount += operatorParameterCount;
+            nextParameterIndex = itemCount + operatorParameterCount;
+            itemCount += 1;
+        }
+        if (chain == null) {
+            chain = Chain.NONE;
+        }
+
+        return new MethodDescriptor(methodName, methodOperator, methodDefinedEntityCount,
+            chain, filterList, expectedParameterCount, targetFieldName, targetBsonFieldKey);
+    }
+}
@@ -0,0 +1,30 @@
+package eu.koboo.en2do.parser.methods;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Thrown by the MethodNameParser. It doesn't know about any method or repository class,
+ * so the caller converts it to the exception of the given reason.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MethodParseException extends Exception {
+
+    Reason reason;
+    String detail;
+
+    public MethodParseException(Reason reason, String detail, String message) {
+        super(message);
+        this.reason = reason;
+        this.detail = detail;
+    }
+
+    public enum Reason {
+        NO_METHOD_OPERATOR,
+        INVALID_TOP_NUMBER,
+        FIELD_NOT_FOUND,
+        DUPLICATED_CHAIN
+    }
+}
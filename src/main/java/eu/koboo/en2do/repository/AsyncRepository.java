@@ -2,11 +2,15 @@ package eu.koboo.en2do.repository;
 
 import eu.koboo.en2do.repository.methods.async.Async;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.pagination.Page;
+import eu.koboo.en2do.repository.methods.pagination.PageList;
 import eu.koboo.en2do.repository.methods.pagination.Pagination;
 import eu.koboo.en2do.repository.methods.sort.Sort;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -107,6 +111,26 @@ public interface AsyncRepository<E, ID> {
     @Async
     CompletableFuture<Boolean> asyncExistsById(ID identifier);
 
+    /**
+     * Async representation
+     *
+     * @param identifiers The identifiers of the entities, which should be checked
+     * @return Future, with a Set of the existing identifiers
+     * @see Repository#existsManyById(Collection)
+     */
+    @Async
+    CompletableFuture<Set<ID>> asyncExistsManyById(Collection<ID> identifiers);
+
+    /**
+     * Async representation
+     *
+     * @param identifiers The identifiers of the entities, which should be checked
+     * @return Future, with a Set of the missing identifiers
+     * @see Repository#missingIds(Collection)
+     */
+    @Async
+    CompletableFuture<Set<ID>> asyncMissingIds(Collection<ID> identifiers);
+
     /**
      * Async representation
      *
@@ -126,6 +150,35 @@ public interface AsyncRepository<E, ID> {
     @Async
     CompletableFuture<E> asyncFindFirstById(ID identifier);
 
+    /**
+     * Async representation
+     *
+     * @param identifiers The identifiers of the entities, which should be found
+     * @return Future, with a Map of the found entities by their id
+     * @see Repository#findManyById(Collection)
+     */
+    @Async
+    CompletableFuture<Map<ID, E>> asyncFindManyById(Collection<ID> identifiers);
+
+    /**
+     * Async representation
+     *
+     * @param identifiers The identifiers of the entities, which should be found
+     * @return Future, with a List of the found entities
+     * @see Repository#findManyByIdOrdered(Collection)
+     */
+    @Async
+    CompletableFuture<List<E>> asyncFindManyByIdOrdered(Collection<ID> identifiers);
+
+    /**
+     * Async representation
+     *
+     * @return Future, with a boolean of success
+     * @see Repository#flush()
+     */
+    @Async
+    CompletableFuture<Boolean> asyncFlush();
+
     /**
      * Async representation
      *
@@ -134,7 +187,17 @@ public interface AsyncRepository<E, ID> {
      * @see Repository#pageAll(Pagination)
      */
     @Async
-    CompletableFuture<List<E>> asyncPageAll(Pagination pagination);
+    CompletableFuture<PageList<E>> asyncPageAll(Pagination pagination);
+
+    /**
+     * Async representation
+     *
+     * @param pagination The options, which should be used for pagination
+     * @return Future, with the Page of the entities and the total count
+     * @see Repository#pageAllWithCount(Pagination)
+     */
+    @Async
+    CompletableFuture<Page<E>> asyncPageAllWithCount(Pagination pagination);
 
     /**
      * Async representation
@@ -146,6 +209,16 @@ public interface AsyncRepository<E, ID> {
     @Async
     CompletableFuture<Boolean> asyncSave(E entity);
 
+    /**
+     * Async representation
+     *
+     * @param entity The entity, which should be saved
+     * @return Future, with the previous entity or null
+     * @see Repository#saveAndReturnPrevious(Object)
+     */
+    @Async
+    CompletableFuture<E> asyncSaveAndReturnPrevious(E entity);
+
     /**
      * Async representation
      *
@@ -2,11 +2,18 @@ package eu.koboo.en2do.repository;
 
 import com.mongodb.client.MongoCollection;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.pagination.Page;
+import eu.koboo.en2do.repository.methods.pagination.PageList;
 import eu.koboo.en2do.repository.methods.pagination.Pagination;
 import eu.koboo.en2do.repository.methods.sort.Sort;
+import eu.koboo.en2do.repository.methods.watch.ChangeSubscription;
+import eu.koboo.en2do.repository.methods.watch.Watch;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * The default Repository interface, which predefines several useful methods.
@@ -90,6 +97,23 @@ public interface Repository<E, ID> {
      */
     boolean existsById(ID identifier);
 
+    /**
+     * Checks which of the given unique identifiers exist in the repository.
+     * The check only reads the unique identifiers and is sent in chunks, instead of one query per identifier.
+     *
+     * @param identifiers The identifiers of the entities, which should be checked.
+     * @return A Set of the identifiers, which exist in the collection, in the order of the given identifiers.
+     */
+    Set<ID> existsManyById(Collection<ID> identifiers);
+
+    /**
+     * Returns the given unique identifiers, which don't exist in the repository, like the "#existsManyById" method.
+     *
+     * @param identifiers The identifiers of the entities, which should be checked.
+     * @return A Set of the identifiers, which don't exist in the collection, in the order of the given identifiers.
+     */
+    Set<ID> missingIds(Collection<ID> identifiers);
+
     /**
      * Finds all entities of the collection
      *
@@ -97,6 +121,14 @@ public interface Repository<E, ID> {
      */
     List<E> findAll();
 
+    /**
+     * Finds all entities of the collection, but decodes them lazily while the Stream is consumed.
+     * The Stream is backed by an open cursor, so it has to be closed (e.g. try-with-resources).
+     *
+     * @return A Stream with all entities of the repository.
+     */
+    Stream<E> streamAll();
+
     /**
      * Find the first entity with the given unique identifier.
      * If the entity is not found, "null" is returned.
@@ -107,6 +139,36 @@ public interface Repository<E, ID> {
 
     E findFirstById(ID identifier);
 
+    /**
+     * Finds all entities with the given unique identifiers, by sending the identifiers in chunks
+     * instead of one query per identifier.
+     *
+     * @param identifiers The unique identifiers of the entities, which are used to filter.
+     * @return A Map of the found entities by their unique identifier, in the order of the given identifiers.
+     * Identifiers without entity aren't contained.
+     */
+    Map<ID, E> findManyById(Collection<ID> identifiers);
+
+    /**
+     * Finds all entities with the given unique identifiers, like the "#findManyById" method.
+     *
+     * @param identifiers The unique identifiers of the entities, which are used to filter.
+     * @return A List of the found entities, in the order of the given identifiers.
+     * Identifiers without entity are skipped.
+     */
+    List<E> findManyByIdOrdered(Collection<ID> identifiers);
+
+    /**
+     * Writes all buffered writes of the write-behind mode to the database.
+     * If the repository doesn't use the write-behind mode, nothing happens.
+     * The writes, which were rejected by the server, are dropped.
+     *
+     * @return true, if all buffered writes were written successfully.
+     * If the bulk write failed as a whole, the exception is thrown instead.
+     * @see eu.koboo.en2do.repository.options.WriteBehind
+     */
+    boolean flush();
+
     /**
      * @return The collection name, defined by the "@Collection" annotation of the repository.
      */
@@ -136,9 +198,18 @@ public interface Repository<E, ID> {
      * This method applies the pagination of all entities of the repository.
      *
      * @param pagination The pagination, which is used to page the entities.
-     * @return A List with the paged entities.
+     * @return A List with the paged entities and the continuation token of a keyset pagination.
+     */
+    PageList<E> pageAll(Pagination pagination);
+
+    /**
+     * This method applies the pagination of all entities of the repository and counts all entities
+     * in the same aggregation.
+     *
+     * @param pagination The pagination, which is used to page the entities.
+     * @return The Page with the paged entities and the total count.
      */
-    List<E> pageAll(Pagination pagination);
+    Page<E> pageAllWithCount(Pagination pagination);
 
     /**
      * Saves the given entity to the database.
@@ -150,6 +221,15 @@ public interface Repository<E, ID> {
      */
     boolean save(E entity);
 
+    /**
+     * Saves the given entity to the database, like "save", and returns the previous
+     * version of the entity in the same round trip.
+     *
+     * @param entity The entity, which should be saved.
+     * @return The previous entity, or null if the entity didn't exist before.
+     */
+    E saveAndReturnPrevious(E entity);
+
     /**
      * Saves all entities of the given List to the database.
      *
@@ -183,6 +263,15 @@ public interface Repository<E, ID> {
      */
     boolean updateAllFields(UpdateBatch updateBatch);
 
+    /**
+     * Opens a change stream, which delivers the changes of all entities of the repository.
+     * Change streams require a replica set or a sharded cluster.
+     *
+     * @param watch The Watch with the listener of the changes.
+     * @return The subscription of the change stream, which needs to be closed, if the changes aren't needed anymore.
+     */
+    ChangeSubscription watch(Watch<E, ID> watch);
+
     /**
      * Allows access to the native mongodb collection,
      * for more advanced queries or unsupported en2do stuff.
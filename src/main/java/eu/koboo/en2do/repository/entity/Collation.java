@@ -0,0 +1,34 @@
+package eu.koboo.en2do.repository.entity;
+
+import com.mongodb.client.model.CollationStrength;
+
+import java.lang.annotation.*;
+
+/**
+ * This annotation defines the case-insensitive collation of the entity.
+ * If present, the "Ign" filters of the repository methods are executed as equality filters with this collation,
+ * instead of a regex. That way MongoDB can serve them from the compound indexes, which are created
+ * with the same collation, see "CompoundIndex#collation".
+ * The collation applies to the whole query, so methods, which compare any other string field
+ * (e.g. "findFirstByNameIgnAndCity"), keep using the regex for their "Ign" filters.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Collation {
+
+    /**
+     * Sets the locale of the collation, e.g. "en" or "de".
+     *
+     * @return The locale of the collation
+     */
+    String locale() default "en";
+
+    /**
+     * Sets the strength of the collation. Only PRIMARY (ignores case and diacritics)
+     * and SECONDARY (ignores case) are supported.
+     *
+     * @return The strength of the collation
+     */
+    CollationStrength strength() default CollationStrength.SECONDARY;
+}
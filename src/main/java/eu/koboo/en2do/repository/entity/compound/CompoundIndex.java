@@ -1,5 +1,7 @@
 package eu.koboo.en2do.repository.entity.compound;
 
+import com.mongodb.client.model.CollationStrength;
+
 import java.lang.annotation.*;
 
 /**
@@ -27,4 +29,32 @@ public @interface CompoundIndex {
      * @return true, if the compound index is unique on every document.
      */
     boolean uniqueIndex() default false;
+
+    /**
+     * Creates the index with the collation of the "@Collation" annotation of the entity,
+     * so the "Ign" filters can use it. Indexes without collation are only used by the "Ign" filters,
+     * if the entity doesn't define a collation.
+     * CAUTION: Queries without the same collation can't use this index to compare strings,
+     * and a unique index becomes case-insensitive, so creating it fails, if the collection already
+     * contains values, which only differ in case. The name of the index gets the suffix "_collation",
+     * so it doesn't conflict with an existing index of the same fields.
+     *
+     * @return true, if the index is created with the collation of the entity.
+     */
+    boolean collation() default false;
+
+    /**
+     * Sets the locale of the collation of this index. If set, the index is created with this collation
+     * instead of the collation of the entity, see "collation".
+     *
+     * @return The locale of the collation
+     */
+    String collationLocale() default "";
+
+    /**
+     * Sets the strength of the collation of this index. Only used if "collationLocale" is set.
+     *
+     * @return The strength of the collation
+     */
+    CollationStrength collationStrength() default CollationStrength.SECONDARY;
 }
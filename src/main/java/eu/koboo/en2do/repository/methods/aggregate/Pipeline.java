@@ -0,0 +1,26 @@
+package eu.koboo.en2do.repository.methods.aggregate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation defines the aggregation pipeline of a method, which starts with the operator "aggregate".
+ * The value is a json array of the stages, e.g.:
+ * "[{ $group: { _id: '$city', total: { $sum: '$balance' } } }, { $match: { total: { $gte: ?0 } } }]"
+ * The placeholders "?0", "?1", ... are replaced by the parameters of the method at the same index,
+ * encoded like the values of the filters. Placeholders inside of quoted strings are not replaced.
+ * If the method name defines filters after "aggregateBy", they are prepended as "$match" stage.
+ * The results are decoded into the return type of the method, which can be the entity or any other POJO,
+ * either as single object, List, Stream or MongoCursor.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Pipeline {
+
+    /**
+     * @return The stages of the pipeline as json array.
+     */
+    String value();
+}
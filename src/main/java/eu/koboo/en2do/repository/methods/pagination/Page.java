@@ -0,0 +1,68 @@
+package eu.koboo.en2do.repository.methods.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Represents a single page of a pagination, together with the total count of the paginated entities.
+ * The entities and the count are queried in a single aggregation.
+ *
+ * @param <E> The generic type of the entity
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ToString
+public class Page<E> {
+
+    /**
+     * The entities of the page.
+     */
+    List<E> items;
+
+    /**
+     * The count of all entities, which match the filter of the method.
+     * If the count was capped by "Pagination#countLimit", it's the limit at most.
+     */
+    long totalCount;
+
+    /**
+     * Defines if the total count reached the limit of "Pagination#countLimit",
+     * so there could be more entities (e.g. "1000+").
+     */
+    boolean totalCountCapped;
+
+    /**
+     * The number of the page, starting with 1. Keyset paginations don't know their page number, so it's 0.
+     */
+    long page;
+
+    int entitiesPerPage;
+
+    /**
+     * Defines if there are more entities after this page.
+     */
+    boolean hasNext;
+
+    /**
+     * The token, which continues a keyset pagination after the last entity of this page.
+     * Pass it to "Pagination#after" to request the next page. If the page is empty, it's the token of the request.
+     * Offset paginations don't have a token, so it's null.
+     */
+    String continuationToken;
+
+    /**
+     * @return The count of pages, or the count of pages until the limit, if the total count was capped.
+     */
+    public long getTotalPages() {
+        if (entitiesPerPage <= 0) {
+            return 0;
+        }
+        return (totalCount + entitiesPerPage - 1) / entitiesPerPage;
+    }
+}
@@ -0,0 +1,32 @@
+package eu.koboo.en2do.repository.methods.pagination;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Represents a single page of a pagination, which is returned as List.
+ * Methods, which declare "List" as return type, return this object too,
+ * so the continuation token of a keyset pagination can be read by casting the List.
+ *
+ * @param <E> The generic type of the items
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PageList<E> extends ArrayList<E> {
+
+    /**
+     * The token, which continues a keyset pagination after the last item of this page.
+     * Pass it to "Pagination#after" to request the next page. If the page is empty, it's the token of the request.
+     * Offset paginations don't have a token, so it's null.
+     */
+    String continuationToken;
+
+    public PageList(Collection<? extends E> items, String continuationToken) {
+        super(items);
+        this.continuationToken = continuationToken;
+    }
+}
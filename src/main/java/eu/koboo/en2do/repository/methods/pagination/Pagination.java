@@ -6,12 +6,18 @@ import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * This object is used to provide simplified pagination in several repositories.
  * See documentation: <a href="https://koboo.gitbook.io/en2do/usage/pagination">...</a>
+ * <p>
+ * There are two strategies:
+ * - "of" creates an offset pagination, which skips "(page - 1) * entitiesPerPage" entities.
+ * The server still needs to walk over the skipped entities, so deep pages get slower.
+ * - "keyset" creates a keyset pagination, which continues after the sort values of the last returned entity.
+ * Every page costs the same, but pages can only be requested one after another, by the continuation token.
  */
 @Getter
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -25,17 +31,38 @@ public class Pagination {
      * @return The created Pagination object
      */
     public static Pagination of(int entitiesPerPage) {
-        return new Pagination(entitiesPerPage);
+        return new Pagination(entitiesPerPage, false);
+    }
+
+    /**
+     * Use this method to create a new keyset pagination object. The entities are additionally sorted
+     * by their unique identifier, so every entity has a distinct position.
+     * The returned page ("PageList" or "Page") contains the continuation token after its last entity,
+     * which is passed to "after" to request the following entities. The pagination object itself isn't changed,
+     * so it can be shared between threads.
+     *
+     * @param entitiesPerPage Sets the maximum entities per one page.
+     * @return The created Pagination object
+     */
+    public static Pagination keyset(int entitiesPerPage) {
+        return new Pagination(entitiesPerPage, true);
     }
 
     int entitiesPerPage;
+    // The order of the fields defines the priority of the sorting.
     Map<String, Boolean> pageDirectionMap;
+    boolean keyset;
     @NonFinal
     long page;
+    @NonFinal
+    String continuationToken;
+    @NonFinal
+    long countLimit;
 
-    private Pagination(int entitiesPerPage) {
-        this.pageDirectionMap = new HashMap<>();
+    private Pagination(int entitiesPerPage, boolean keyset) {
+        this.pageDirectionMap = new LinkedHashMap<>();
         this.entitiesPerPage = entitiesPerPage;
+        this.keyset = keyset;
         this.page = 1;
     }
 
@@ -70,7 +97,39 @@ public class Pagination {
      * @return The used Pagination object
      */
     public Pagination setPage(long page) {
+        if (keyset) {
+            throw new IllegalStateException("Keyset pagination can't jump to pages, use the continuation token instead.");
+        }
         this.page = page;
         return this;
     }
+
+    /**
+     * Use this method to cap the total count of methods, which return a Page.
+     * Counting stops after the given amount of entities, which keeps very large result sets cheap.
+     * If the limit is zero or less, all entities are counted.
+     *
+     * @param countLimit The maximum total count
+     * @return The used Pagination object
+     */
+    public Pagination countLimit(long countLimit) {
+        this.countLimit = countLimit;
+        return this;
+    }
+
+    /**
+     * Use this method to continue a keyset pagination after the position of the given token.
+     * The token is an opaque string, which can be persisted to continue the pagination later.
+     * If the token is null, the pagination starts with the first page.
+     *
+     * @param continuationToken The token of "PageList#getContinuationToken" or "Page#getContinuationToken"
+     * @return The used Pagination object
+     */
+    public Pagination after(String continuationToken) {
+        if (!keyset) {
+            throw new IllegalStateException("Only keyset pagination can be continued by a token.");
+        }
+        this.continuationToken = continuationToken;
+        return this;
+    }
 }
@@ -0,0 +1,28 @@
+package eu.koboo.en2do.repository.methods.projection;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation defines the fields of the entity, which are loaded by a "find" or "page" method.
+ * All other fields are not sent by the server and keep their default value in the returned entities.
+ * The id of the entity is always loaded.
+ * The same projection is created automatically, if the method returns another class or an interface
+ * instead of the entity:
+ * - Classes are decoded like entities, all of their fields need to exist in the entity.
+ * - Interfaces are created as proxy, which only declare getter methods (e.g. "getFirstName" or "isLocked")
+ * of the fields of the entity.
+ * CAUTION: Don't save the returned entities of this annotation, because it would overwrite
+ * the unloaded fields with their default values.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Projection {
+
+    /**
+     * @return The names of the fields of the entity, which should be loaded.
+     */
+    String[] value();
+}
@@ -0,0 +1,21 @@
+package eu.koboo.en2do.repository.methods.singleflight;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation deduplicates identical calls of the annotated method, which are in flight at the same time.
+ * While a call with the same arguments is executed, further calls don't send their own query,
+ * but wait for the running call and return its result. The arguments are compared by "equals".
+ * It's only allowed on "find", "count", "exists", "aggregate" and the group methods (e.g. "sum"),
+ * which don't return a Stream or a cursor. Page methods aren't allowed, because the Pagination
+ * argument isn't compared by its values.
+ * Every deduplicated call returns its own List, Set or Map, so adding or removing elements doesn't affect other calls.
+ * CAUTION: The entities inside are shared by all deduplicated calls, so the returned entities shouldn't be changed.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SingleFlight {
+}
@@ -0,0 +1,13 @@
+package eu.koboo.en2do.repository.methods.watch;
+
+/**
+ * Receives the changes of a change stream.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the entity id
+ */
+@FunctionalInterface
+public interface ChangeListener<E, ID> {
+
+    void onChange(EntityChange<E, ID> entityChange) throws Exception;
+}
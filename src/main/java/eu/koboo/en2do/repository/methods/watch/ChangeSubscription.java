@@ -0,0 +1,27 @@
+package eu.koboo.en2do.repository.methods.watch;
+
+/**
+ * Represents an open change stream of a repository. The change stream is read by its own thread,
+ * until the subscription is closed, or the MongoManager is closed.
+ */
+public interface ChangeSubscription extends AutoCloseable {
+
+    /**
+     * @return true, if the change stream is still read.
+     */
+    boolean isActive();
+
+    /**
+     * Returns the token of the last read position of the change stream. It's also updated, if there were
+     * no changes, so persisting it and passing it to "Watch#resumeAfter" continues the stream at the same position.
+     *
+     * @return The resume token, or null if the change stream didn't return any position yet.
+     */
+    String getResumeToken();
+
+    /**
+     * Stops reading the change stream. Changes, which are already read, are still delivered.
+     */
+    @Override
+    void close();
+}
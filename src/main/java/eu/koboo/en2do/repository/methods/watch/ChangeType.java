@@ -0,0 +1,37 @@
+package eu.koboo.en2do.repository.methods.watch;
+
+import com.mongodb.client.model.changestream.OperationType;
+
+/**
+ * Represents the type of change of an EntityChange.
+ */
+public enum ChangeType {
+
+    INSERT,
+    UPDATE,
+    REPLACE,
+    DELETE,
+    /**
+     * Any other change of the collection, like dropping or renaming it.
+     * These changes don't have any entity or unique identifier.
+     */
+    OTHER;
+
+    public static ChangeType of(OperationType operationType) {
+        if (operationType == null) {
+            return OTHER;
+        }
+        switch (operationType) {
+            case INSERT:
+                return INSERT;
+            case UPDATE:
+                return UPDATE;
+            case REPLACE:
+                return REPLACE;
+            case DELETE:
+                return DELETE;
+            default:
+                return OTHER;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package eu.koboo.en2do.repository.methods.watch;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Represents a single change of an entity, which was delivered by a change stream.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the entity id
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ToString
+public class EntityChange<E, ID> {
+
+    ChangeType changeType;
+
+    /**
+     * The unique identifier of the changed entity, or null if the change isn't related to an entity.
+     */
+    ID uniqueId;
+
+    /**
+     * The current state of the entity. It's null on deletions, and on updates of entities,
+     * which were deleted before the change was delivered.
+     */
+    E entity;
+
+    /**
+     * The token of this change, which can be persisted to resume the change stream after this change.
+     *
+     * @see Watch#resumeAfter(String)
+     */
+    String resumeToken;
+}
@@ -0,0 +1,80 @@
+package eu.koboo.en2do.repository.methods.watch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * This object is used to open a change stream on a repository, either with "Repository#watch"
+ * or with a dynamic method, starting with "watchBy".
+ * Change streams require a replica set or a sharded cluster.
+ *
+ * @param <E>  The generic type of the entity
+ * @param <ID> The generic type of the entity id
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class Watch<E, ID> {
+
+    /**
+     * Use this method to create a new watch object.
+     *
+     * @param changeListener The listener, which receives the changes.
+     * @param <E>            The generic type of the entity
+     * @param <ID>           The generic type of the entity id
+     * @return The created Watch object
+     */
+    public static <E, ID> Watch<E, ID> of(ChangeListener<E, ID> changeListener) {
+        return new Watch<>(changeListener);
+    }
+
+    final ChangeListener<E, ID> changeListener;
+    Executor executor;
+    String resumeToken;
+    Consumer<Throwable> errorHandler;
+
+    private Watch(ChangeListener<E, ID> changeListener) {
+        if (changeListener == null) {
+            throw new NullPointerException("The ChangeListener of a Watch can't be null!");
+        }
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Sets the executor, which calls the listener. If not set, the listener is called by the thread,
+     * which reads the change stream, so the changes are delivered in order.
+     *
+     * @param executor The executor
+     * @return The instance of the Watch
+     */
+    public Watch<E, ID> executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Resumes the change stream after the change of the given token.
+     *
+     * @param resumeToken The token of "EntityChange#getResumeToken" or "ChangeSubscription#getResumeToken"
+     * @return The instance of the Watch
+     */
+    public Watch<E, ID> resumeAfter(String resumeToken) {
+        this.resumeToken = resumeToken;
+        return this;
+    }
+
+    /**
+     * Sets the handler of the exceptions of the listener and of the change stream itself.
+     * If not set, the exceptions are logged.
+     *
+     * @param errorHandler The handler
+     * @return The instance of the Watch
+     */
+    public Watch<E, ID> onError(Consumer<Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+}
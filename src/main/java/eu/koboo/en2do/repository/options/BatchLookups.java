@@ -0,0 +1,32 @@
+package eu.koboo.en2do.repository.options;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation enables the batching of "findFirstById" and "asyncFindFirstById" of the annotated repository.
+ * Concurrent lookups are collected for a short window, or until the maximum batch size is reached,
+ * and are sent as a single "$in" query. The found entities are passed back to the waiting callers.
+ * Every lookup waits up to the window, so this only pays off, if many lookups are called concurrently.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BatchLookups {
+
+    /**
+     * Sets the maximum amount of unique identifiers of a single batch.
+     * If the batch is full, it's sent without waiting for the end of the window.
+     *
+     * @return The maximum amount of unique identifiers
+     */
+    int maxBatchSize() default 100;
+
+    /**
+     * Sets the time, a batch waits for further lookups, after its first lookup.
+     *
+     * @return The time in milliseconds
+     */
+    long windowMillis() default 2;
+}
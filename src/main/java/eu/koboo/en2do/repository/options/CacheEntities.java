@@ -0,0 +1,33 @@
+package eu.koboo.en2do.repository.options;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation enables the entity cache of the annotated repository.
+ * The entities found by "findFirstById" are cached by their unique identifier, so repeated lookups
+ * don't need a round trip to the database. The cached entities are invalidated by the writes of the repository,
+ * but not by writes of other applications or of the native collection, which is why the entries expire.
+ * Every lookup returns a new copy of the cached entity, so changing it doesn't change the cache.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CacheEntities {
+
+    /**
+     * Sets the maximum amount of cached entities. If the cache is full,
+     * the least frequently used entities are evicted first.
+     *
+     * @return The maximum amount of cached entities
+     */
+    int maximumSize() default 10_000;
+
+    /**
+     * Sets the time after which a cached entity expires.
+     *
+     * @return The time in milliseconds
+     */
+    long expireAfterWriteMillis() default 60_000;
+}
@@ -0,0 +1,46 @@
+package eu.koboo.en2do.repository.options;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation enables the write-behind mode of the annotated repository.
+ * The calls of "save", "saveAll", "delete", "deleteById", "deleteMany" and "deleteManyById" are buffered
+ * by the unique identifier of the entity, so only the last write of every entity is sent to the database.
+ * The buffer is flushed as a single bulk write, if it reaches the maximum size, after the flush interval,
+ * on calling "flush" of the repository, and on closing the MongoManager.
+ * If the bulk write failed by a transient error (e.g. a lost connection), the writes are put back into the buffer
+ * and retried, unless the entity was written again in the meantime. Writes, which were rejected by the server
+ * or failed "maxAttempts" times, are dropped and logged.
+ * If the last flush on closing drops or fails any write, the MongoManager throws an exception.
+ * CAUTION: Reads are not served from the buffer, so they only see the written entities after the flush.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface WriteBehind {
+
+    /**
+     * Sets the maximum amount of buffered entities. If the buffer is full,
+     * the calling thread flushes the buffer, before the write is buffered.
+     *
+     * @return The maximum amount of buffered entities
+     */
+    int maxBufferSize() default 1000;
+
+    /**
+     * Sets the interval, in which the buffer is flushed in the background.
+     *
+     * @return The interval in milliseconds
+     */
+    long flushIntervalMillis() default 1000;
+
+    /**
+     * Sets how often a write is sent to the database, before it's dropped.
+     * Only transient failures of the whole bulk write are retried.
+     *
+     * @return The maximum amount of attempts per write
+     */
+    int maxAttempts() default 5;
+}
@@ -0,0 +1,109 @@
+package eu.koboo.en2do.utility;
+
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CollationStrength;
+import eu.koboo.en2do.mongodb.exception.repository.RepositoryInvalidCollationException;
+import eu.koboo.en2do.operators.FilterOperator;
+import lombok.experimental.UtilityClass;
+import org.bson.types.ObjectId;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A utility class for everything related to collations
+ */
+@UtilityClass
+public class CollationUtils {
+
+    /**
+     * Creates the collation of the "@Collation" annotation of the entity.
+     *
+     * @param repositoryClass The class of the repository
+     * @param entityClass     The class of the entity
+     * @return The collation, or null if the entity isn't annotated
+     * @throws Exception if the strength of the collation isn't case-insensitive.
+     */
+    public Collation parseEntityCollation(Class<?> repositoryClass, Class<?> entityClass) throws Exception {
+        eu.koboo.en2do.repository.entity.Collation collation =
+            entityClass.getAnnotation(eu.koboo.en2do.repository.entity.Collation.class);
+        if (collation == null) {
+            return null;
+        }
+        return createCollation(repositoryClass, collation.locale(), collation.strength());
+    }
+
+    /**
+     * Creates a case-insensitive collation.
+     *
+     * @param repositoryClass The class of the repository
+     * @param locale          The locale of the collation
+     * @param strength        The strength of the collation
+     * @return The collation
+     * @throws Exception if the strength of the collation isn't case-insensitive.
+     */
+    public Collation createCollation(Class<?> repositoryClass, String locale,
+                                     CollationStrength strength) throws Exception {
+        if (strength != CollationStrength.PRIMARY && strength != CollationStrength.SECONDARY) {
+            throw new RepositoryInvalidCollationException(repositoryClass, strength);
+        }
+        return Collation.builder()
+            .locale(locale)
+            .collationStrength(strength)
+            .build();
+    }
+
+    /**
+     * Checks if the given filter could compare strings, which would be changed by the collation of the entity.
+     * A collation applies to the whole query, not only to the "Ign" filters. Only filters, which don't compare
+     * any value or compare fields with a known non-string type, aren't changed by it.
+     *
+     * @param operator The operator of the filter
+     * @param field    The filtered field of the entity, or null if the filter uses a "@NestedField" key
+     * @return true, if the filter is changed by a case-insensitive collation
+     */
+    public boolean isCollationSensitive(FilterOperator operator, Field field) {
+        switch (operator) {
+            case EXISTS:
+            case IS_NULL:
+            case NON_NULL:
+            case IS_TRUE:
+            case IS_FALSE:
+            case LIST_EMPTY:
+            case HAS_KEY:
+            case GEO:
+                return false;
+            default:
+                break;
+        }
+        if (field == null) {
+            // The type of nested fields isn't known.
+            return true;
+        }
+        Class<?> fieldClass = field.getType();
+        if (fieldClass.isArray()) {
+            fieldClass = fieldClass.getComponentType();
+        } else if (Collection.class.isAssignableFrom(fieldClass)) {
+            if (!(field.getGenericType() instanceof ParameterizedType)) {
+                return true;
+            }
+            Type elementType = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            if (!(elementType instanceof Class<?>)) {
+                return true;
+            }
+            fieldClass = (Class<?>) elementType;
+        }
+        fieldClass = GenericUtils.boxType(fieldClass);
+        return !Number.class.isAssignableFrom(fieldClass)
+            && fieldClass != Boolean.class
+            && !Date.class.isAssignableFrom(fieldClass)
+            && !Temporal.class.isAssignableFrom(fieldClass)
+            && fieldClass != UUID.class
+            && fieldClass != ObjectId.class;
+    }
+}
@@ -1,12 +1,16 @@
 package eu.koboo.en2do.utility;
 
+import eu.koboo.en2do.repository.methods.pagination.Page;
 import lombok.experimental.UtilityClass;
 
 import java.lang.reflect.*;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * A utility class for everything related to generic types or class types.
@@ -56,7 +60,67 @@ public class GenericUtils {
     public Class<?> getGenericTypeOfReturnType(Method method) {
         Type returnType = method.getGenericReturnType();
         ParameterizedType type = (ParameterizedType) returnType;
-        return (Class<?>) type.getActualTypeArguments()[0];
+        // Nested generic types, like "CompletableFuture<List<E>>", return their raw type.
+        return getRawType(type.getActualTypeArguments()[0]);
+    }
+
+    /**
+     * Gets the type of the elements, which are returned by the given method.
+     * The CompletableFuture of async methods is unwrapped, then the generic type of
+     * Collections, Streams, Iterators and Pages is returned. Any other type is returned directly.
+     *
+     * @param method The method with the return type
+     * @param async  true, if the method returns a CompletableFuture
+     * @return The class of the returned elements
+     */
+    public Class<?> getElementTypeOfReturnType(Method method, boolean async) {
+        Type type = method.getGenericReturnType();
+        if (async) {
+            type = getFirstTypeArgument(type);
+        }
+        Class<?> rawType = getRawType(type);
+        if (Collection.class.isAssignableFrom(rawType) || Stream.class.isAssignableFrom(rawType)
+            || Iterator.class.isAssignableFrom(rawType) || rawType == Page.class) {
+            type = getFirstTypeArgument(type);
+        }
+        return getRawType(type);
+    }
+
+    /**
+     * Gets the key and value type of the Map, which is returned by the given method.
+     * The CompletableFuture of async methods is unwrapped.
+     *
+     * @param method The method with the return type
+     * @param async  true, if the method returns a CompletableFuture
+     * @return The array with the class of the keys at index 0 and the class of the values at index 1
+     */
+    public Class<?>[] getMapTypesOfReturnType(Method method, boolean async) {
+        Type type = method.getGenericReturnType();
+        if (async) {
+            type = getFirstTypeArgument(type);
+        }
+        if (!(type instanceof ParameterizedType)) {
+            return new Class<?>[]{Object.class, Object.class};
+        }
+        Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+        return new Class<?>[]{getRawType(typeArguments[0]), getRawType(typeArguments[1])};
+    }
+
+    private Type getFirstTypeArgument(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return Object.class;
+        }
+        return ((ParameterizedType) type).getActualTypeArguments()[0];
+    }
+
+    private Class<?> getRawType(Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return Object.class;
     }
 
     /**
@@ -109,6 +173,67 @@ public class GenericUtils {
         return !class1.isAssignableFrom(class2);
     }
 
+    /**
+     * Checks if the given class can be used as projection of an entity. Projections are interfaces
+     * or classes, which are not part of the JDK, like "java.lang.String".
+     *
+     * @param clazz The class to check
+     * @return true, if the class can be used as projection
+     */
+    public boolean isProjectionType(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.isEnum()) {
+            return false;
+        }
+        return !clazz.getName().startsWith("java.");
+    }
+
+    /**
+     * Checks if the given class is a number, either as primitive or as subclass of java.lang.Number.
+     *
+     * @param clazz The class to check
+     * @return true, if the class is a number
+     */
+    public boolean isNumber(Class<?> clazz) {
+        return Number.class.isAssignableFrom(boxType(clazz));
+    }
+
+    /**
+     * Gets the wrapper class of the given primitive class.
+     *
+     * @param clazz The class, which could be a primitive
+     * @return The wrapper class, or the given class if it's not a primitive
+     */
+    public Class<?> boxType(Class<?> clazz) {
+        if (!clazz.isPrimitive()) {
+            return clazz;
+        }
+        if (clazz == boolean.class) {
+            return Boolean.class;
+        }
+        if (clazz == short.class) {
+            return Short.class;
+        }
+        if (clazz == float.class) {
+            return Float.class;
+        }
+        if (clazz == int.class) {
+            return Integer.class;
+        }
+        if (clazz == long.class) {
+            return Long.class;
+        }
+        if (clazz == double.class) {
+            return Double.class;
+        }
+        if (clazz == char.class) {
+            return Character.class;
+        }
+        if (clazz == byte.class) {
+            return Byte.class;
+        }
+        return Void.class;
+    }
+
     /**
      * Checks if the given class is a type of "boolean"
      *
@@ -0,0 +1,161 @@
+package eu.koboo.en2do.utility;
+
+import com.mongodb.client.model.Filters;
+import lombok.experimental.UtilityClass;
+import org.bson.*;
+import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A utility class for everything related to keyset pagination
+ */
+@UtilityClass
+public class KeysetUtils {
+
+    private static final String UNIQUE_ID_KEY = "_id";
+    private static final JsonWriterSettings TOKEN_JSON_SETTINGS = JsonWriterSettings.builder()
+        .outputMode(JsonMode.EXTENDED)
+        .build();
+
+    /**
+     * Creates the sort keys of a keyset pagination. The unique identifier is always added as last key,
+     * so every entity has a distinct position, even if the values of the other keys are equal.
+     *
+     * @param pageDirectionMap  The sorting of the pagination
+     * @param uniqueIdFieldName The name of the unique identifier field of the entity
+     * @return The sort keys in order of their priority, with the direction as value (true = ascending)
+     */
+    public LinkedHashMap<String, Boolean> createKeysetSortMap(Map<String, Boolean> pageDirectionMap,
+                                                              String uniqueIdFieldName) {
+        LinkedHashMap<String, Boolean> keysetSortMap = new LinkedHashMap<>();
+        for (Map.Entry<String, Boolean> entry : pageDirectionMap.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            String sortKey = entry.getKey();
+            if (sortKey.equals(uniqueIdFieldName)) {
+                sortKey = UNIQUE_ID_KEY;
+            }
+            keysetSortMap.putIfAbsent(sortKey, entry.getValue());
+        }
+        keysetSortMap.putIfAbsent(UNIQUE_ID_KEY, true);
+        return keysetSortMap;
+    }
+
+    public BsonDocument createSortDocument(Map<String, Boolean> keysetSortMap) {
+        BsonDocument sortDocument = new BsonDocument();
+        for (Map.Entry<String, Boolean> entry : keysetSortMap.entrySet()) {
+            sortDocument.append(entry.getKey(), new BsonInt32(entry.getValue() ? 1 : -1));
+        }
+        return sortDocument;
+    }
+
+    /**
+     * Creates the filter of all entities, which are sorted after the given values.
+     * For the keys (a, b, _id) that's: a > va OR (a = va AND b > vb) OR (a = va AND b = vb AND _id > vid),
+     * with "less than" for descending keys. The server resolves it with an index on the keys.
+     * Null and missing values are sorted before all other values, but "$gt" and "$lt" never match them,
+     * so they are compared explicitly:
+     * - ascending after null: a != null
+     * - descending after null: nothing, only the following keys separate the entities with null
+     * - descending after a value: a < va OR a = null
+     *
+     * @param keysetSortMap The sort keys of "createKeysetSortMap"
+     * @param values        The values of the last entity of the previous page
+     * @return The filter of the following entities
+     */
+    public Bson createKeysetFilter(Map<String, Boolean> keysetSortMap, BsonArray values) {
+        List<String> sortKeyList = new ArrayList<>(keysetSortMap.keySet());
+        List<Bson> orFilterList = new ArrayList<>(sortKeyList.size());
+        for (int i = 0; i < sortKeyList.size(); i++) {
+            String sortKey = sortKeyList.get(i);
+            BsonValue value = values.get(i);
+            Bson keyFilter;
+            if (keysetSortMap.get(sortKey)) {
+                keyFilter = value.isNull() ? Filters.ne(sortKey, null) : Filters.gt(sortKey, value);
+            } else {
+                if (value.isNull()) {
+                    continue;
+                }
+                keyFilter = Filters.or(Filters.lt(sortKey, value), Filters.eq(sortKey, null));
+            }
+            List<Bson> andFilterList = new ArrayList<>(i + 1);
+            for (int j = 0; j < i; j++) {
+                // Also matches missing fields, like the sorting of the server.
+                andFilterList.add(Filters.eq(sortKeyList.get(j), values.get(j)));
+            }
+            andFilterList.add(keyFilter);
+            orFilterList.add(andFilterList.size() == 1 ? andFilterList.get(0) : Filters.and(andFilterList));
+        }
+        return orFilterList.size() == 1 ? orFilterList.get(0) : Filters.or(orFilterList);
+    }
+
+    /**
+     * Creates the continuation token, which points after the given entity.
+     *
+     * @param keysetSortMap  The sort keys of "createKeysetSortMap"
+     * @param entityDocument The encoded last entity of the page
+     * @return The opaque token
+     */
+    public String createContinuationToken(Map<String, Boolean> keysetSortMap, BsonDocument entityDocument) {
+        BsonArray keyArray = new BsonArray();
+        BsonArray valueArray = new BsonArray();
+        for (String sortKey : keysetSortMap.keySet()) {
+            keyArray.add(new BsonString(sortKey));
+            valueArray.add(getValue(entityDocument, sortKey));
+        }
+        BsonDocument tokenDocument = new BsonDocument("k", keyArray).append("v", valueArray);
+        byte[] tokenBytes = tokenDocument.toJson(TOKEN_JSON_SETTINGS).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+    }
+
+    /**
+     * Parses the values of the given continuation token.
+     *
+     * @param keysetSortMap     The sort keys of "createKeysetSortMap"
+     * @param continuationToken The token of "createContinuationToken"
+     * @return The values of the token, or null if the token is invalid or was created with other sort keys
+     */
+    public BsonArray parseContinuationToken(Map<String, Boolean> keysetSortMap, String continuationToken) {
+        BsonDocument tokenDocument;
+        try {
+            byte[] tokenBytes = Base64.getUrlDecoder().decode(continuationToken);
+            tokenDocument = BsonDocument.parse(new String(tokenBytes, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            return null;
+        }
+        BsonValue keyValue = tokenDocument.get("k");
+        BsonValue valueValue = tokenDocument.get("v");
+        if (keyValue == null || !keyValue.isArray() || valueValue == null || !valueValue.isArray()) {
+            return null;
+        }
+        BsonArray keyArray = keyValue.asArray();
+        BsonArray valueArray = valueValue.asArray();
+        if (keyArray.size() != keysetSortMap.size() || valueArray.size() != keysetSortMap.size()) {
+            return null;
+        }
+        int index = 0;
+        for (String sortKey : keysetSortMap.keySet()) {
+            BsonValue tokenKey = keyArray.get(index++);
+            if (!tokenKey.isString() || !tokenKey.asString().getValue().equals(sortKey)) {
+                return null;
+            }
+        }
+        return valueArray;
+    }
+
+    private BsonValue getValue(BsonDocument document, String dottedKey) {
+        BsonValue value = document;
+        for (String key : dottedKey.split("\\.")) {
+            if (value == null || !value.isDocument()) {
+                return BsonNull.VALUE;
+            }
+            value = value.asDocument().get(key);
+        }
+        return value == null ? BsonNull.VALUE : value;
+    }
+}
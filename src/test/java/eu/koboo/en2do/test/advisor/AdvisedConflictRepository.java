@@ -0,0 +1,12 @@
+package eu.koboo.en2do.test.advisor;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+
+// Uses the collection of AdvisedEntityRepository, but keeps the existing indexes.
+@Collection("advised_entities")
+public interface AdvisedConflictRepository extends Repository<AdvisedEntity, String> {
+
+    // The name of the suggested index is already used by another index.
+    long countByRegionIgn(String region);
+}
@@ -0,0 +1,27 @@
+package eu.koboo.en2do.test.advisor;
+
+import eu.koboo.en2do.repository.entity.Collation;
+import eu.koboo.en2do.repository.entity.Id;
+import eu.koboo.en2do.repository.entity.compound.CompoundIndex;
+import eu.koboo.en2do.repository.entity.compound.Index;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter // lombok
+@Setter // lombok
+@NoArgsConstructor // lombok
+@AllArgsConstructor // lombok
+@FieldDefaults(level = AccessLevel.PRIVATE) // lombok
+@ToString // lombok
+@Collation(locale = "en")
+@CompoundIndex({@Index("region"), @Index(value = "level", ascending = false)})
+@CompoundIndex(value = {@Index("owner")}, collation = true)
+public class AdvisedEntity {
+
+    @Id
+    String uniqueId;
+
+    String region;
+    String owner;
+    int level;
+}
@@ -0,0 +1,30 @@
+package eu.koboo.en2do.test.advisor;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.options.DropIndexesOnStart;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.sort.SortBy;
+
+import java.util.List;
+
+@Collection("advised_entities")
+@DropIndexesOnStart
+public interface AdvisedEntityRepository extends Repository<AdvisedEntity, String> {
+
+    // Served by the compound index, also in the reversed direction.
+    @SortBy(field = "level", ascending = true)
+    List<AdvisedEntity> findManyByRegion(String region);
+
+    // Collection scan and in-memory sort.
+    @SortBy(field = "level")
+    List<AdvisedEntity> findManyByOwnerAndLevelGreaterThan(String owner, int level);
+
+    // The branch of "owner" isn't indexed, the index on "owner" uses another collation.
+    long countByRegionOrOwner(String region, String owner);
+
+    // Served by the index on "owner" with the collation of the entity.
+    List<AdvisedEntity> findManyByOwnerIgn(String owner);
+
+    // The index on "region" doesn't use the collation of the entity.
+    long countByRegionIgn(String region);
+}
@@ -0,0 +1,123 @@
+package eu.koboo.en2do.test.advisor;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.SettingsBuilder;
+import eu.koboo.en2do.mongodb.advisor.IndexAdvice;
+import eu.koboo.en2do.mongodb.advisor.IndexProblem;
+import eu.koboo.en2do.test.RepositoryTest;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexAdvisorTest extends RepositoryTest<AdvisedEntity, String, AdvisedEntityRepository> {
+
+    @Override
+    public Class<AdvisedEntityRepository> repositoryClass() {
+        return AdvisedEntityRepository.class;
+    }
+
+    @BeforeAll
+    @Override
+    public void setup() {
+        manager = new MongoManager(new SettingsBuilder()
+            .disableMongoDBLogger()
+            .enableIndexAdvisor());
+        repository = manager.create(repositoryClass());
+        assertNotNull(repository);
+    }
+
+    private IndexAdvice findAdvice(List<IndexAdvice> adviceList, String methodName) {
+        for (IndexAdvice advice : adviceList) {
+            if (advice.getMethod().getName().equals(methodName)) {
+                return advice;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    @Order(1)
+    public void adviseIndexes() {
+        List<IndexAdvice> adviceList = manager.getIndexAdvices(AdvisedEntityRepository.class);
+        assertEquals(3, adviceList.size());
+        assertNull(findAdvice(adviceList, "findManyByRegion"));
+        assertNull(findAdvice(adviceList, "findManyByOwnerIgn"));
+
+        IndexAdvice rangeAdvice = findAdvice(adviceList, "findManyByOwnerAndLevelGreaterThan");
+        assertNotNull(rangeAdvice);
+        assertTrue(rangeAdvice.getProblemSet().contains(IndexProblem.COLLECTION_SCAN));
+        assertTrue(rangeAdvice.getProblemSet().contains(IndexProblem.IN_MEMORY_SORT));
+        assertEquals(BsonDocument.parse("{owner: 1, level: -1}"), rangeAdvice.getSuggestedIndexList().get(0));
+        assertFalse(rangeAdvice.isIndexCreated());
+
+        IndexAdvice orAdvice = findAdvice(adviceList, "countByRegionOrOwner");
+        assertNotNull(orAdvice);
+        assertEquals(1, orAdvice.getSuggestedIndexList().size());
+        assertEquals(BsonDocument.parse("{owner: 1}"), orAdvice.getSuggestedIndexList().get(0));
+
+        // The keys match the index on "region", but the collation doesn't.
+        IndexAdvice collationAdvice = findAdvice(adviceList, "countByRegionIgn");
+        assertNotNull(collationAdvice);
+        assertTrue(collationAdvice.getProblemSet().contains(IndexProblem.COLLECTION_SCAN));
+        assertEquals(BsonDocument.parse("{region: 1}"), collationAdvice.getSuggestedIndexList().get(0));
+    }
+
+    @Test
+    @Order(2)
+    public void createAdvisedIndexes() {
+        MongoManager creatingManager = new MongoManager(new SettingsBuilder()
+            .disableMongoDBLogger()
+            .createAdvisedIndexes());
+        assertNotNull(creatingManager.create(repositoryClass()));
+        List<IndexAdvice> adviceList = creatingManager.getIndexAdvices();
+        assertFalse(adviceList.isEmpty());
+        for (IndexAdvice advice : adviceList) {
+            assertTrue(advice.isIndexCreated());
+        }
+
+        List<BsonDocument> indexKeyList = new ArrayList<>();
+        BsonDocument collationIndexDocument = null;
+        for (BsonDocument indexDocument : creatingManager.getRepositoryData(AdvisedEntityRepository.class)
+            .getEntityCollection().listIndexes(BsonDocument.class)) {
+            indexKeyList.add(indexDocument.getDocument("key"));
+            if (indexDocument.getString("name").getValue().equals("region_1_collation")) {
+                collationIndexDocument = indexDocument;
+            }
+        }
+        assertTrue(indexKeyList.contains(BsonDocument.parse("{owner: 1, level: -1}")));
+        // The index of the "Ign" method is created with the collation of the entity.
+        assertNotNull(collationIndexDocument);
+        assertEquals(BsonDocument.parse("{region: 1}"), collationIndexDocument.getDocument("key"));
+        assertTrue(collationIndexDocument.containsKey("collation"));
+        creatingManager.close(false);
+    }
+
+    @Test
+    @Order(3)
+    public void recordIndexError() {
+        MongoCollection<AdvisedEntity> collection = repository.getNativeCollection();
+        collection.dropIndexes();
+        collection.createIndex(Indexes.ascending("owner"), new IndexOptions().name("region_1_collation"));
+
+        MongoManager creatingManager = new MongoManager(new SettingsBuilder()
+            .disableMongoDBLogger()
+            .createAdvisedIndexes());
+        assertNotNull(creatingManager.create(AdvisedConflictRepository.class));
+        List<IndexAdvice> adviceList = creatingManager.getIndexAdvices(AdvisedConflictRepository.class);
+        IndexAdvice collationAdvice = findAdvice(adviceList, "countByRegionIgn");
+        assertNotNull(collationAdvice);
+        // The creation fails, but the repository is still created and the error is reported.
+        assertFalse(collationAdvice.isIndexCreated());
+        assertNotNull(collationAdvice.getIndexError());
+        creatingManager.close(false);
+    }
+}
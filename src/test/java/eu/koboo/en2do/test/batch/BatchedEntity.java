@@ -0,0 +1,19 @@
+package eu.koboo.en2do.test.batch;
+
+import eu.koboo.en2do.repository.entity.Id;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter // lombok
+@Setter // lombok
+@NoArgsConstructor // lombok
+@AllArgsConstructor // lombok
+@FieldDefaults(level = AccessLevel.PRIVATE) // lombok
+@ToString // lombok
+public class BatchedEntity {
+
+    @Id
+    String uniqueId;
+
+    int level;
+}
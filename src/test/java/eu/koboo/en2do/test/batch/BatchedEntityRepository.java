@@ -0,0 +1,12 @@
+package eu.koboo.en2do.test.batch;
+
+import eu.koboo.en2do.repository.AsyncRepository;
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.options.BatchLookups;
+
+@Collection("batched_entities")
+@BatchLookups(maxBatchSize = 10, windowMillis = 20)
+public interface BatchedEntityRepository extends Repository<BatchedEntity, String>,
+    AsyncRepository<BatchedEntity, String> {
+}
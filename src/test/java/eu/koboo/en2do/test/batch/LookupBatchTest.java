@@ -0,0 +1,70 @@
+package eu.koboo.en2do.test.batch;
+
+import eu.koboo.en2do.mongodb.batch.LookupBatchMetrics;
+import eu.koboo.en2do.test.RepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookupBatchTest extends RepositoryTest<BatchedEntity, String, BatchedEntityRepository> {
+
+    @Override
+    public Class<BatchedEntityRepository> repositoryClass() {
+        return BatchedEntityRepository.class;
+    }
+
+    private LookupBatchMetrics metrics() {
+        return manager.getRepositoryData(BatchedEntityRepository.class).getLookupBatcher().getMetrics();
+    }
+
+    @Test
+    @Order(1)
+    public void saveEntities() {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(repository.save(new BatchedEntity("entity-" + i, i)));
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void batchAsyncLookups() {
+        List<CompletableFuture<BatchedEntity>> futureList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futureList.add(repository.asyncFindFirstById("entity-" + i));
+        }
+        futureList.add(repository.asyncFindFirstById("unknown"));
+        for (int i = 0; i < 20; i++) {
+            BatchedEntity entity = futureList.get(i).join();
+            assertNotNull(entity);
+            assertEquals(i, entity.getLevel());
+        }
+        assertNull(futureList.get(20).join());
+
+        LookupBatchMetrics metrics = metrics();
+        assertEquals(21, metrics.getLookups());
+        assertEquals(3, metrics.getBatchCount());
+        assertEquals(10, metrics.getMaxBatchSize());
+    }
+
+    @Test
+    @Order(3)
+    public void batchSyncLookups() {
+        long batchCount = metrics().getBatchCount();
+        List<CompletableFuture<BatchedEntity>> futureList = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String uniqueId = "entity-" + i;
+            futureList.add(CompletableFuture.supplyAsync(() -> repository.findFirstById(uniqueId)));
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, futureList.get(i).join().getLevel());
+        }
+        // The sync lookups can be spread over more than one window.
+        assertTrue(metrics().getBatchCount() - batchCount < 5);
+        assertTrue(metrics().getAverageAddedWaitMillis() > 0);
+    }
+}
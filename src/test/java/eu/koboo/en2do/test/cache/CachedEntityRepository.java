@@ -0,0 +1,13 @@
+package eu.koboo.en2do.test.cache;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.options.CacheEntities;
+
+@Collection("cached_entities")
+@CacheEntities(maximumSize = 2)
+public interface CachedEntityRepository extends Repository<CachedEntity, String> {
+
+    boolean updateFieldsByLevel(int level, UpdateBatch updateBatch);
+}
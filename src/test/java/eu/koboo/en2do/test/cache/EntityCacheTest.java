@@ -0,0 +1,78 @@
+package eu.koboo.en2do.test.cache;
+
+import eu.koboo.en2do.mongodb.cache.EntityCache;
+import eu.koboo.en2do.repository.methods.fields.FieldUpdate;
+import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.test.RepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityCacheTest extends RepositoryTest<CachedEntity, String, CachedEntityRepository> {
+
+    @Override
+    public Class<CachedEntityRepository> repositoryClass() {
+        return CachedEntityRepository.class;
+    }
+
+    private EntityCache<CachedEntity, String> entityCache() {
+        return manager.getRepositoryData(CachedEntityRepository.class).getEntityCache();
+    }
+
+    @Test
+    @Order(1)
+    public void saveEntities() {
+        assertNotNull(entityCache());
+        assertTrue(repository.save(new CachedEntity("first", 1)));
+        assertTrue(repository.save(new CachedEntity("second", 2)));
+        assertTrue(repository.save(new CachedEntity("third", 3)));
+    }
+
+    @Test
+    @Order(2)
+    public void readThrough() {
+        EntityCache<CachedEntity, String> entityCache = entityCache();
+        CachedEntity entity = repository.findFirstById("first");
+        assertNotNull(entity);
+        assertEquals(0, entityCache.getHitCount());
+        assertEquals(1, entityCache.getMissCount());
+
+        // Every hit returns its own copy.
+        entity.setLevel(100);
+        CachedEntity cachedEntity = repository.findFirstById("first");
+        assertEquals(1, cachedEntity.getLevel());
+        assertNotSame(cachedEntity, repository.findFirstById("first"));
+        assertEquals(2, entityCache.getHitCount());
+    }
+
+    @Test
+    @Order(3)
+    public void evictLeastFrequentlyUsed() {
+        EntityCache<CachedEntity, String> entityCache = entityCache();
+        assertNotNull(repository.findFirstById("second"));
+        assertNotNull(repository.findFirstById("third"));
+        assertEquals(2, entityCache.size());
+        assertEquals(1, entityCache.getEvictionCount());
+
+        // "first" was hit, so "second" got evicted.
+        long hitCount = entityCache.getHitCount();
+        assertNotNull(repository.findFirstById("first"));
+        assertEquals(hitCount + 1, entityCache.getHitCount());
+    }
+
+    @Test
+    @Order(4)
+    public void invalidateOnWrite() {
+        EntityCache<CachedEntity, String> entityCache = entityCache();
+        assertTrue(repository.save(new CachedEntity("first", 10)));
+        assertEquals(10, repository.findFirstById("first").getLevel());
+
+        assertTrue(repository.updateFieldsByLevel(10, UpdateBatch.of(FieldUpdate.set("level", 20))));
+        assertEquals(0, entityCache.size());
+        assertEquals(20, repository.findFirstById("first").getLevel());
+
+        assertTrue(repository.deleteById("first"));
+        assertNull(repository.findFirstById("first"));
+    }
+}
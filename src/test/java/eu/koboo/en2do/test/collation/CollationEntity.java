@@ -0,0 +1,29 @@
+package eu.koboo.en2do.test.collation;
+
+import eu.koboo.en2do.repository.entity.Collation;
+import eu.koboo.en2do.repository.entity.Id;
+import eu.koboo.en2do.repository.entity.compound.CompoundIndex;
+import eu.koboo.en2do.repository.entity.compound.Index;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.UUID;
+
+@Getter // lombok
+@Setter // lombok
+@NoArgsConstructor // lombok
+@FieldDefaults(level = AccessLevel.PRIVATE) // lombok
+@ToString // lombok
+@Collation(locale = "en")
+@CompoundIndex(value = {@Index("userName")}, collation = true)
+public class CollationEntity {
+
+    @Id
+    UUID uniqueId;
+
+    String userName;
+
+    String tag;
+
+    int level;
+}
@@ -0,0 +1,19 @@
+package eu.koboo.en2do.test.collation;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+
+import java.util.UUID;
+
+@Collection("collation_entities")
+public interface CollationEntityRepository extends Repository<CollationEntity, UUID> {
+
+    CollationEntity findFirstByUserNameIgn(String userName);
+
+    long countByUserNameIgn(String userName);
+
+    boolean existsByUserNameIgnAndLevel(String userName, int level);
+
+    // The tag is compared case-sensitive, so the collation isn't used.
+    CollationEntity findFirstByUserNameIgnAndTag(String userName, String tag);
+}
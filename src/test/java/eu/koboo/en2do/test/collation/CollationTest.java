@@ -0,0 +1,85 @@
+package eu.koboo.en2do.test.collation;
+
+import eu.koboo.en2do.mongodb.RepositoryData;
+import eu.koboo.en2do.parser.indices.CompoundIndicesParser;
+import eu.koboo.en2do.test.RepositoryTest;
+import org.bson.Document;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollationTest extends RepositoryTest<CollationEntity, UUID, CollationEntityRepository> {
+
+    static final CollationEntity ENTITY;
+
+    static {
+        ENTITY = new CollationEntity();
+        ENTITY.setUniqueId(UUID.randomUUID());
+        ENTITY.setUserName("Koboo");
+        ENTITY.setLevel(5);
+        ENTITY.setTag("Gold");
+    }
+
+    @Override
+    public Class<CollationEntityRepository> repositoryClass() {
+        return CollationEntityRepository.class;
+    }
+
+    @Test
+    @Order(1)
+    public void saveEntity() {
+        assertTrue(repository.save(ENTITY));
+        assertTrue(repository.exists(ENTITY));
+    }
+
+    @Test
+    @Order(2)
+    public void findIgnoreCase() {
+        CollationEntity entity = repository.findFirstByUserNameIgn("kOBOO");
+        assertNotNull(entity);
+        assertEquals(ENTITY.getUniqueId(), entity.getUniqueId());
+
+        assertNull(repository.findFirstByUserNameIgn("Kob"));
+        assertEquals(1, repository.countByUserNameIgn("KOBOO"));
+        assertTrue(repository.existsByUserNameIgnAndLevel("koboo", 5));
+        assertFalse(repository.existsByUserNameIgnAndLevel("koboo", 6));
+    }
+
+    @Test
+    @Order(3)
+    public void findMixedCase() {
+        RepositoryData<CollationEntity, UUID, CollationEntityRepository> repositoryData =
+            manager.getRepositoryData(CollationEntityRepository.class);
+        assertNotNull(repositoryData.lookupDynamicMethod("findFirstByUserNameIgn").getCollation());
+        assertNotNull(repositoryData.lookupDynamicMethod("existsByUserNameIgnAndLevel").getCollation());
+        assertNull(repositoryData.lookupDynamicMethod("findFirstByUserNameIgnAndTag").getCollation());
+
+        CollationEntity entity = repository.findFirstByUserNameIgnAndTag("KOBOO", "Gold");
+        assertNotNull(entity);
+        assertEquals(ENTITY.getUniqueId(), entity.getUniqueId());
+        assertNull(repository.findFirstByUserNameIgnAndTag("KOBOO", "GOLD"));
+    }
+
+    @Test
+    @Order(4)
+    public void collationIndex() {
+        boolean collationIndex = false;
+        for (Document indexDocument : manager.getRepositoryData(CollationEntityRepository.class)
+            .getEntityCollection().listIndexes()) {
+            if (indexDocument.getString("name").equals("userName_1" + CompoundIndicesParser.COLLATION_NAME_SUFFIX)) {
+                collationIndex = indexDocument.containsKey("collation");
+            }
+        }
+        assertTrue(collationIndex);
+    }
+
+    @Test
+    @Order(5)
+    public void deleteEntity() {
+        assertTrue(repository.delete(ENTITY));
+        assertFalse(repository.exists(ENTITY));
+    }
+}
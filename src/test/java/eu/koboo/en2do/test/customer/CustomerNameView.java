@@ -0,0 +1,14 @@
+package eu.koboo.en2do.test.customer;
+
+public interface CustomerNameView {
+
+    int getCustomerId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    default String getFullName() {
+        return getFirstName() + " " + getLastName();
+    }
+}
@@ -1,21 +1,31 @@
 package eu.koboo.en2do.test.customer;
 
+import com.mongodb.client.MongoCursor;
 import eu.koboo.en2do.repository.AsyncRepository;
 import eu.koboo.en2do.repository.Collection;
 import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.aggregate.Pipeline;
 import eu.koboo.en2do.repository.methods.async.Async;
 import eu.koboo.en2do.repository.methods.fields.UpdateBatch;
+import eu.koboo.en2do.repository.methods.pagination.Page;
 import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.repository.methods.projection.Projection;
+import eu.koboo.en2do.repository.methods.singleflight.SingleFlight;
 import eu.koboo.en2do.repository.methods.sort.Limit;
 import eu.koboo.en2do.repository.methods.sort.Skip;
 import eu.koboo.en2do.repository.methods.sort.Sort;
 import eu.koboo.en2do.repository.methods.sort.SortBy;
 import eu.koboo.en2do.repository.methods.transform.NestedField;
 import eu.koboo.en2do.repository.methods.transform.Transform;
+import eu.koboo.en2do.repository.methods.watch.ChangeSubscription;
+import eu.koboo.en2do.repository.methods.watch.Watch;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @SuppressWarnings("unused")
 @Collection("customer_repository")
@@ -37,6 +47,14 @@ public interface CustomerRepository extends Repository<Customer, UUID>, AsyncRep
 
     boolean existsByLastName(String lastName);
 
+    @SingleFlight
+    List<Customer> findManyByLastName(String lastName);
+
+    @SingleFlight
+    @Transform("findManyByLastNameExistsAndLastName")
+    @Async
+    CompletableFuture<List<Customer>> asyncFindManyByLastName(String lastName);
+
     boolean existsByLastNameContains(String lastNamePart);
 
     Customer findFirstByFirstNameIgn(String firstname);
@@ -81,6 +99,10 @@ public interface CustomerRepository extends Repository<Customer, UUID>, AsyncRep
     @Skip(5)
     List<Customer> findManyByCustomerIdExists();
 
+    Stream<Customer> findManyByCustomerIdGreaterEq(int customerId);
+
+    MongoCursor<Customer> findManyByCustomerIdLessThan(int customerId);
+
     List<Customer> findManyByCustomerIdNot(int customerId, Sort sort);
 
     @Transform("existsByStreet")
@@ -91,6 +113,8 @@ public interface CustomerRepository extends Repository<Customer, UUID>, AsyncRep
 
     List<Customer> pageByCustomerIdNot(int customerId, Pagination sorter);
 
+    Page<Customer> pageByCustomerIdGreaterThan(int customerId, Pagination pagination);
+
     boolean updateFieldsByFirstName(String firstName, UpdateBatch updateBatch);
 
     Customer findFirstByTransformedFieldName(String status);
@@ -109,4 +133,64 @@ public interface CustomerRepository extends Repository<Customer, UUID>, AsyncRep
     List<Customer> findManyByOrdersListEmpty();
 
     List<Customer> findManyByOrdersNotListEmpty();
+
+    ChangeSubscription watchByCustomerId(int customerId, Watch<Customer, UUID> watch);
+
+    @Pipeline("[{ $group: { _id: '$lastName', count: { $sum: 1 }, totalBalance: { $sum: '$balance' } } }," +
+        " { $match: { count: { $gte: ?0 } } }," +
+        " { $project: { _id: 0, lastName: '$_id', count: 1, totalBalance: 1 } }]")
+    List<CustomerBalanceSummary> aggregateBalanceByLastName(int minimumCount);
+
+    @Pipeline("[{ $group: { _id: '$lastName', count: { $sum: 1 }, totalBalance: { $sum: '$balance' } } }," +
+        " { $project: { _id: 0, lastName: '$_id', count: 1, totalBalance: 1 } }]")
+    CustomerBalanceSummary aggregateByCustomerIdGreaterThan(int customerId);
+
+    @Pipeline("[{ $match: { customerId: { $lt: ?0 } } }, { $sort: { customerId: 1 } }]")
+    Stream<Customer> aggregateCustomersBelow(int customerId);
+
+    @Pipeline("[{ $group: { _id: '$lastName', count: { $sum: 1 }, totalBalance: { $sum: '$balance' } } }," +
+        " { $project: { _id: 0, lastName: '$_id', count: 1, totalBalance: 1 } }]")
+    @Transform("aggregateBalanceSummary")
+    @Async
+    CompletableFuture<List<CustomerBalanceSummary>> asyncAggregateBalanceSummary();
+
+    double sumBalanceByLastName(String lastName);
+
+    Double avgBalance();
+
+    Integer maxCustomerIdByLastName(String lastName);
+
+    int minCustomerId();
+
+    Map<CustomerType, Long> countGroupedByCustomerType();
+
+    @Transform("countGroupedByLastName")
+    @Async
+    CompletableFuture<Map<String, Long>> asyncCountGroupedByLastName();
+
+    List<CustomerType> distinctCustomerTypeByLastName(String lastName);
+
+    Set<String> distinctLastName();
+
+    Set<UUID> distinctIdList();
+
+    @SortBy(field = "customerId")
+    List<CustomerNameView> findManyByCity(String city);
+
+    CustomerContact findFirstByCustomerIdAndPhoneNumber(int customerId, Long phoneNumber);
+
+    @Projection({"customerId", "firstName"})
+    List<Customer> findManyByPostalCode(Integer postalCode);
+
+    Page<CustomerNameView> pageByLastName(String lastName, Pagination pagination);
+
+    List<UUID> findIdsByLastName(String lastName);
+
+    Set<UUID> findIdsTop3ByCity(String city);
+
+    UUID findFirstIdByCustomerId(int customerId);
+
+    Stream<UUID> findIdsByCustomerIdGreaterThan(int customerId);
+
+    Page<UUID> pageIdsByLastName(String lastName, Pagination pagination);
 }
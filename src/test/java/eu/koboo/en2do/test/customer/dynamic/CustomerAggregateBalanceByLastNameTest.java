@@ -0,0 +1,78 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerBalanceSummary;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerAggregateBalanceByLastNameTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            customer.setBalance(10);
+            if (i == 4) {
+                customer.setLastName("Other");
+            }
+            assertTrue(repository.save(customer));
+        }
+        assertEquals(5, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void aggregateWithPlaceholder() {
+        List<CustomerBalanceSummary> summaryList = repository.aggregateBalanceByLastName(2);
+        assertNotNull(summaryList);
+        assertEquals(1, summaryList.size());
+        CustomerBalanceSummary summary = summaryList.get(0);
+        assertEquals(Const.LAST_NAME, summary.getLastName());
+        assertEquals(4, summary.getCount());
+        assertEquals(40, summary.getTotalBalance());
+
+        assertEquals(2, repository.aggregateBalanceByLastName(1).size());
+    }
+
+    @Test
+    @Order(4)
+    public void aggregateWithFilter() {
+        CustomerBalanceSummary summary = repository.aggregateByCustomerIdGreaterThan(3);
+        assertNotNull(summary);
+        assertEquals("Other", summary.getLastName());
+        assertEquals(1, summary.getCount());
+    }
+
+    @Test
+    @Order(5)
+    public void aggregateStreamAndAsync() {
+        try (Stream<Customer> customerStream = repository.aggregateCustomersBelow(3)) {
+            List<Integer> customerIdList = customerStream.map(Customer::getCustomerId).collect(Collectors.toList());
+            assertEquals(List.of(0, 1, 2), customerIdList);
+        }
+        List<CustomerBalanceSummary> summaryList = repository.asyncAggregateBalanceSummary().join();
+        assertNotNull(summaryList);
+        assertEquals(2, summaryList.size());
+    }
+}
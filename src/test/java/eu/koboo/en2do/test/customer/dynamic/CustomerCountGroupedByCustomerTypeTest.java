@@ -0,0 +1,62 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import eu.koboo.en2do.test.customer.CustomerType;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerCountGroupedByCustomerTypeTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 6; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            customer.setCustomerType(i < 3 ? CustomerType.DEFAULT : CustomerType.SUBSCRIBER);
+            if (i == 5) {
+                customer.setLastName("Other");
+            }
+            assertTrue(repository.save(customer));
+        }
+        assertEquals(6, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void countGrouped() {
+        Map<CustomerType, Long> countMap = repository.countGroupedByCustomerType();
+        assertNotNull(countMap);
+        assertEquals(2, countMap.size());
+        assertEquals(3L, countMap.get(CustomerType.DEFAULT));
+        assertEquals(3L, countMap.get(CustomerType.SUBSCRIBER));
+        assertFalse(countMap.containsKey(CustomerType.REGULAR));
+    }
+
+    @Test
+    @Order(4)
+    public void countGroupedAsync() {
+        Map<String, Long> countMap = repository.asyncCountGroupedByLastName().join();
+        assertNotNull(countMap);
+        assertEquals(5L, countMap.get(Const.LAST_NAME));
+        assertEquals(1L, countMap.get("Other"));
+    }
+}
@@ -0,0 +1,69 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import eu.koboo.en2do.test.customer.CustomerType;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerDistinctCustomerTypeTest extends CustomerRepositoryTest {
+
+    private static final UUID SHARED_ID = UUID.randomUUID();
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 6; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            customer.setCustomerType(i < 3 ? CustomerType.DEFAULT : CustomerType.SUBSCRIBER);
+            customer.setIdList(List.of(SHARED_ID, UUID.randomUUID()));
+            if (i == 5) {
+                customer.setLastName("Other");
+                customer.setCustomerType(CustomerType.REGULAR);
+            }
+            assertTrue(repository.save(customer));
+        }
+        assertEquals(6, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void distinctWithFilter() {
+        List<CustomerType> typeList = repository.distinctCustomerTypeByLastName(Const.LAST_NAME);
+        assertNotNull(typeList);
+        assertEquals(2, typeList.size());
+        assertTrue(typeList.contains(CustomerType.DEFAULT));
+        assertTrue(typeList.contains(CustomerType.SUBSCRIBER));
+
+        assertEquals(List.of(CustomerType.REGULAR), repository.distinctCustomerTypeByLastName("Other"));
+    }
+
+    @Test
+    @Order(4)
+    public void distinctWithoutFilter() {
+        assertEquals(Set.of(Const.LAST_NAME, "Other"), repository.distinctLastName());
+
+        Set<UUID> idSet = repository.distinctIdList();
+        assertNotNull(idSet);
+        assertEquals(7, idSet.size());
+        assertTrue(idSet.contains(SHARED_ID));
+    }
+}
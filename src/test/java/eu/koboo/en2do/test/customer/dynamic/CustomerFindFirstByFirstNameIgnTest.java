@@ -0,0 +1,84 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.mongodb.methods.dynamic.RegexPatternCache;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindFirstByFirstNameIgnTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        Customer customer = Const.createCustomer();
+        assertNotNull(customer);
+        assertTrue(repository.save(customer));
+        assertTrue(repository.exists(customer));
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        Customer customer = repository.findFirstByFirstNameIgn(Const.FIRST_NAME.toUpperCase());
+        assertNotNull(customer);
+        assertEquals(Const.CUSTOMER_ID, customer.getCustomerId());
+        assertEquals(Const.FIRST_NAME, customer.getFirstName());
+
+        // The argument is escaped, so it's not used as regex.
+        assertNull(repository.findFirstByFirstNameIgn("rain.r"));
+        assertNull(repository.findFirstByFirstNameContains("ain.*"));
+    }
+
+    @Test
+    @Order(4)
+    public void metacharacterTest() {
+        Customer customer = Const.createCustomer();
+        customer.setUniqueId(UUID.randomUUID());
+        customer.setFirstName("Ra.in(er)+");
+        assertTrue(repository.save(customer));
+
+        Customer foundCustomer = repository.findFirstByFirstNameIgn("RA.IN(ER)+");
+        assertNotNull(foundCustomer);
+        assertEquals(customer.getUniqueId(), foundCustomer.getUniqueId());
+        foundCustomer = repository.findFirstByFirstNameContains("in(er)+");
+        assertNotNull(foundCustomer);
+        assertEquals(customer.getUniqueId(), foundCustomer.getUniqueId());
+        assertNull(repository.findFirstByFirstNameContains("r.in"));
+    }
+
+    @Test
+    @Order(5)
+    public void patternCacheTest() {
+        RegexPatternCache patternCache = manager.getRegexPatternCache();
+        long hitCount = patternCache.getHitCount();
+        long missCount = patternCache.getMissCount();
+
+        assertNotNull(repository.findFirstByFirstNameIgn("rAiNeR"));
+        assertEquals(missCount + 1, patternCache.getMissCount());
+        assertEquals(hitCount, patternCache.getHitCount());
+
+        assertNotNull(repository.findFirstByFirstNameIgn("rAiNeR"));
+        assertNotNull(repository.findFirstByFirstNameIgn("rAiNeR"));
+        assertEquals(missCount + 1, patternCache.getMissCount());
+        assertEquals(hitCount + 2, patternCache.getHitCount());
+
+        // Every operator has its own patterns.
+        assertNotNull(repository.findFirstByFirstNameContains("rAiNeR"));
+        assertEquals(missCount + 2, patternCache.getMissCount());
+    }
+}
@@ -0,0 +1,86 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.repository.methods.pagination.Page;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindIdsByLastNameTest extends CustomerRepositoryTest {
+
+    private final List<UUID> savedIdList = new ArrayList<>();
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+            savedIdList.add(customer.getUniqueId());
+        }
+        assertEquals(5, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void findIds() {
+        List<UUID> idList = repository.findIdsByLastName(Const.LAST_NAME);
+        assertNotNull(idList);
+        assertEquals(5, idList.size());
+        assertTrue(idList.containsAll(savedIdList));
+
+        Set<UUID> idSet = repository.findIdsTop3ByCity(Const.CITY);
+        assertNotNull(idSet);
+        assertEquals(3, idSet.size());
+
+        assertEquals(savedIdList.get(2), repository.findFirstIdByCustomerId(2));
+        assertNull(repository.findFirstIdByCustomerId(10));
+    }
+
+    @Test
+    @Order(4)
+    public void streamIds() {
+        try (Stream<UUID> idStream = repository.findIdsByCustomerIdGreaterThan(1)) {
+            Set<UUID> idSet = idStream.collect(Collectors.toSet());
+            assertEquals(3, idSet.size());
+            assertFalse(idSet.contains(savedIdList.get(0)));
+        }
+    }
+
+    @Test
+    @Order(5)
+    public void pageIds() {
+        Pagination pagination = Pagination.keyset(3);
+        Page<UUID> page = repository.pageIdsByLastName(Const.LAST_NAME, pagination);
+        assertNotNull(page);
+        assertEquals(5, page.getTotalCount());
+        assertEquals(3, page.getItems().size());
+        assertTrue(page.isHasNext());
+
+        page = repository.pageIdsByLastName(Const.LAST_NAME, pagination.after(page.getContinuationToken()));
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.isHasNext());
+    }
+}
@@ -0,0 +1,93 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.repository.methods.pagination.Page;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerContact;
+import eu.koboo.en2do.test.customer.CustomerNameView;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyByCityProjectionTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+        }
+        assertEquals(5, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void findInterfaceProjection() {
+        List<CustomerNameView> viewList = repository.findManyByCity(Const.CITY);
+        assertNotNull(viewList);
+        assertEquals(5, viewList.size());
+        CustomerNameView view = viewList.get(0);
+        assertEquals(0, view.getCustomerId());
+        assertEquals(Const.FIRST_NAME, view.getFirstName());
+        assertEquals(Const.FIRST_NAME + " " + Const.LAST_NAME, view.getFullName());
+    }
+
+    @Test
+    @Order(4)
+    public void findClassProjection() {
+        CustomerContact contact = repository.findFirstByCustomerIdAndPhoneNumber(2, Const.PHONE_NUMBER);
+        assertNotNull(contact);
+        assertEquals(Const.FIRST_NAME, contact.getFirstName());
+        assertEquals(Const.CITY, contact.getCity());
+        assertEquals(Const.PHONE_NUMBER, contact.getPhoneNumber());
+    }
+
+    @Test
+    @Order(5)
+    public void findEntityProjection() {
+        List<Customer> customerList = repository.findManyByPostalCode(Const.POSTAL_CODE);
+        assertNotNull(customerList);
+        assertEquals(5, customerList.size());
+        for (Customer customer : customerList) {
+            assertNotNull(customer.getUniqueId());
+            assertEquals(Const.FIRST_NAME, customer.getFirstName());
+            assertNull(customer.getLastName());
+            assertNull(customer.getCity());
+        }
+    }
+
+    @Test
+    @Order(6)
+    public void pageInterfaceProjection() {
+        Pagination pagination = Pagination.keyset(3)
+            .order("customerId");
+        Page<CustomerNameView> page = repository.pageByLastName(Const.LAST_NAME, pagination);
+        assertNotNull(page);
+        assertEquals(5, page.getTotalCount());
+        assertEquals(3, page.getItems().size());
+        assertTrue(page.isHasNext());
+
+        page = repository.pageByLastName(Const.LAST_NAME, pagination.after(page.getContinuationToken()));
+        assertEquals(2, page.getItems().size());
+        assertEquals(3, page.getItems().get(0).getCustomerId());
+        assertFalse(page.isHasNext());
+    }
+}
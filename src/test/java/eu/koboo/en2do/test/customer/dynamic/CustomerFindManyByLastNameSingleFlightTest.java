@@ -0,0 +1,119 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.mongodb.singleflight.SingleFlightGroup;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepository;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyByLastNameSingleFlightTest extends CustomerRepositoryTest {
+
+    private static final int THREADS = 20;
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        Customer customer = Const.createCustomer();
+        assertNotNull(customer);
+        assertTrue(repository.save(customer));
+        assertTrue(repository.exists(customer));
+    }
+
+    @Test
+    @Order(3)
+    public void findConcurrently() throws Exception {
+        SingleFlightGroup singleFlightGroup = manager.getRepositoryData(CustomerRepository.class)
+            .getSingleFlightGroup("findManyByLastName");
+        assertNotNull(singleFlightGroup);
+
+        // The calls are released at the same time, until at least one of them attached to an in-flight call.
+        int rounds = 0;
+        while (singleFlightGroup.getSharedCalls() == 0 && rounds < 10) {
+            findConcurrently(THREADS);
+            rounds++;
+        }
+        assertEquals((long) rounds * THREADS, singleFlightGroup.getCalls());
+        assertTrue(singleFlightGroup.getSharedCalls() > 0);
+        assertEquals(0, singleFlightGroup.getInFlightCount());
+    }
+
+    private void findConcurrently(int threads) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<List<Customer>>> futureList = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futureList.add(executorService.submit(() -> {
+                    startLatch.await();
+                    return repository.findManyByLastName(Const.LAST_NAME);
+                }));
+            }
+            startLatch.countDown();
+            List<List<Customer>> resultList = new ArrayList<>();
+            for (Future<List<Customer>> future : futureList) {
+                List<Customer> customerList = future.get();
+                assertNotNull(customerList);
+                assertEquals(1, customerList.size());
+                assertEquals(Const.FIRST_NAME, customerList.get(0).getFirstName());
+                resultList.add(customerList);
+            }
+            // Every caller gets its own list, even if the result was shared.
+            resultList.get(0).clear();
+            for (int i = 1; i < resultList.size(); i++) {
+                assertNotSame(resultList.get(0), resultList.get(i));
+                assertEquals(1, resultList.get(i).size());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @Order(4)
+    public void findAsyncConcurrently() {
+        SingleFlightGroup singleFlightGroup = manager.getRepositoryData(CustomerRepository.class)
+            .getSingleFlightGroup("findManyByLastNameExistsAndLastName");
+        assertNotNull(singleFlightGroup);
+
+        List<CompletableFuture<List<Customer>>> futureList = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futureList.add(repository.asyncFindManyByLastName(Const.LAST_NAME));
+        }
+        List<List<Customer>> resultList = new ArrayList<>();
+        for (CompletableFuture<List<Customer>> future : futureList) {
+            List<Customer> customerList = future.join();
+            assertNotNull(customerList);
+            assertEquals(1, customerList.size());
+            resultList.add(customerList);
+        }
+        // Changing the list of one caller doesn't change the list of the attached callers.
+        resultList.get(0).clear();
+        for (int i = 1; i < resultList.size(); i++) {
+            assertEquals(1, resultList.get(i).size());
+        }
+        // The async calls are attached without blocking, so the query of the first call is still in flight.
+        assertEquals(THREADS, singleFlightGroup.getCalls());
+        assertTrue(singleFlightGroup.getSharedCalls() > 0);
+        assertTrue(repository.findManyByLastName("Unknown").isEmpty());
+    }
+}
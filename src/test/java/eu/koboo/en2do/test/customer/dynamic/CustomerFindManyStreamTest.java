@@ -0,0 +1,60 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import com.mongodb.client.MongoCursor;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyStreamTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 15; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        try (Stream<Customer> customerStream = repository.findManyByCustomerIdGreaterEq(10)) {
+            List<Integer> customerIdList = customerStream
+                .map(Customer::getCustomerId)
+                .collect(Collectors.toList());
+            assertEquals(5, customerIdList.size());
+            assertTrue(customerIdList.stream().allMatch(customerId -> customerId >= 10));
+        }
+
+        int count = 0;
+        try (MongoCursor<Customer> customerCursor = repository.findManyByCustomerIdLessThan(5)) {
+            while (customerCursor.hasNext()) {
+                assertTrue(customerCursor.next().getCustomerId() < 5);
+                count++;
+            }
+        }
+        assertEquals(5, count);
+    }
+}
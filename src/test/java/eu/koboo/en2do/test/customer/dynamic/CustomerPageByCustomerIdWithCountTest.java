@@ -0,0 +1,61 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.repository.methods.pagination.Page;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerPageByCustomerIdWithCountTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 15; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void findCustomer() {
+        Pagination pagination = Pagination.keyset(4)
+            .order("customerId");
+        Page<Customer> page = repository.pageByCustomerIdGreaterThan(4, pagination);
+        assertNotNull(page);
+        assertEquals(10, page.getTotalCount());
+        assertEquals(4, page.getItems().size());
+        assertEquals(5, page.getItems().get(0).getCustomerId());
+        assertTrue(page.isHasNext());
+        assertNotNull(page.getContinuationToken());
+        // The pagination isn't changed, the next page is requested by the token.
+        assertNull(pagination.getContinuationToken());
+
+        page = repository.pageByCustomerIdGreaterThan(4, pagination.after(page.getContinuationToken()));
+        page = repository.pageByCustomerIdGreaterThan(4, pagination.after(page.getContinuationToken()));
+        assertEquals(2, page.getItems().size());
+        assertEquals(13, page.getItems().get(0).getCustomerId());
+        assertEquals(10, page.getTotalCount());
+        assertFalse(page.isHasNext());
+    }
+}
@@ -0,0 +1,57 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerSumBalanceByLastNameTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            customer.setBalance(10 * (i + 1));
+            if (i == 4) {
+                customer.setLastName("Other");
+            }
+            assertTrue(repository.save(customer));
+        }
+        assertEquals(5, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void sumAndAverage() {
+        assertEquals(100, repository.sumBalanceByLastName(Const.LAST_NAME));
+        assertEquals(50, repository.sumBalanceByLastName("Other"));
+        assertEquals(0, repository.sumBalanceByLastName("Unknown"));
+        assertEquals(30.0, repository.avgBalance());
+    }
+
+    @Test
+    @Order(4)
+    public void minAndMax() {
+        assertEquals(3, repository.maxCustomerIdByLastName(Const.LAST_NAME));
+        assertNull(repository.maxCustomerIdByLastName("Unknown"));
+        assertEquals(0, repository.minCustomerId());
+    }
+}
@@ -0,0 +1,67 @@
+package eu.koboo.en2do.test.customer.dynamic;
+
+import eu.koboo.en2do.repository.methods.watch.ChangeSubscription;
+import eu.koboo.en2do.repository.methods.watch.ChangeType;
+import eu.koboo.en2do.repository.methods.watch.EntityChange;
+import eu.koboo.en2do.repository.methods.watch.Watch;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.bson.Document;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CustomerWatchByCustomerIdTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void watchCustomer() throws Exception {
+        // Change streams are only available on replica sets.
+        Document hello = manager.getMongoDatabase().runCommand(new Document("hello", 1));
+        assumeTrue(hello.containsKey("setName"));
+
+        BlockingQueue<EntityChange<Customer, UUID>> changeQueue = new LinkedBlockingQueue<>();
+        ChangeSubscription subscription = repository.watchByCustomerId(Const.CUSTOMER_ID, Watch.of(changeQueue::add));
+        // The change stream is opened before the method returns, so no change can be missed.
+        assertTrue(subscription.isActive());
+        assertNotNull(subscription.getResumeToken());
+
+        Customer otherCustomer = Const.createCustomer();
+        otherCustomer.setUniqueId(UUID.randomUUID());
+        otherCustomer.setCustomerId(Const.CUSTOMER_ID + 1);
+        assertTrue(repository.save(otherCustomer));
+
+        Customer customer = Const.createCustomer();
+        customer.setUniqueId(UUID.randomUUID());
+        assertTrue(repository.save(customer));
+
+        EntityChange<Customer, UUID> entityChange = changeQueue.poll(10, TimeUnit.SECONDS);
+        assertNotNull(entityChange);
+        assertEquals(ChangeType.INSERT, entityChange.getChangeType());
+        assertEquals(customer.getUniqueId(), entityChange.getUniqueId());
+        assertEquals(Const.CUSTOMER_ID, entityChange.getEntity().getCustomerId());
+        assertNotNull(entityChange.getResumeToken());
+        assertTrue(changeQueue.isEmpty());
+
+        subscription.close();
+        assertFalse(subscription.isActive());
+        assertNotNull(subscription.getResumeToken());
+    }
+}
@@ -0,0 +1,56 @@
+package eu.koboo.en2do.test.customer.generated;
+
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.SettingsBuilder;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerGeneratedRepositoryTest extends CustomerRepositoryTest {
+
+    @BeforeAll
+    @Override
+    public void setup() {
+        manager = new MongoManager(new SettingsBuilder()
+            .disableMongoDBLogger()
+            .enableRepositoryClassGeneration());
+        repository = manager.create(repositoryClass());
+        assertNotNull(repository);
+        assertTrue(repository.deleteAll());
+    }
+
+    @Test
+    @Order(1)
+    public void generatedRepository() {
+        assertFalse(Proxy.isProxyClass(repository.getClass()));
+        assertEquals(Customer.class, repository.getEntityClass());
+        assertEquals("customer_repository", repository.getCollectionName());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        Customer customer = Const.createCustomer();
+        customer.setUniqueId(UUID.randomUUID());
+        assertTrue(repository.save(customer));
+        assertTrue(repository.exists(customer));
+    }
+
+    @Test
+    @Order(3)
+    public void callDynamicMethods() {
+        assertEquals(1, repository.countByFirstName(Const.FIRST_NAME));
+        assertNotNull(repository.findFirstByFirstName(Const.FIRST_NAME));
+        List<Customer> customerList = repository.asyncFindManyByLastName(Const.LAST_NAME).join();
+        assertEquals(1, customerList.size());
+    }
+}
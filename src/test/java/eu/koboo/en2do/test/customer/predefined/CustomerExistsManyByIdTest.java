@@ -0,0 +1,62 @@
+package eu.koboo.en2do.test.customer.predefined;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerExistsManyByIdTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+        assertEquals(5, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void existsManyById() {
+        List<UUID> uniqueIdList = new ArrayList<>();
+        for (Customer customer : repository.findAll()) {
+            uniqueIdList.add(customer.getUniqueId());
+        }
+        UUID unknownUniqueId = UUID.randomUUID();
+        uniqueIdList.add(2, unknownUniqueId);
+
+        Set<UUID> existingIdSet = repository.existsManyById(uniqueIdList);
+        assertNotNull(existingIdSet);
+        assertEquals(5, existingIdSet.size());
+        assertFalse(existingIdSet.contains(unknownUniqueId));
+        List<UUID> expectedIdList = new ArrayList<>(uniqueIdList);
+        expectedIdList.remove(unknownUniqueId);
+        assertEquals(expectedIdList, new ArrayList<>(existingIdSet));
+
+        Set<UUID> missingIdSet = repository.missingIds(uniqueIdList);
+        assertNotNull(missingIdSet);
+        assertEquals(Collections.singleton(unknownUniqueId), missingIdSet);
+
+        assertTrue(repository.existsManyById(Collections.emptyList()).isEmpty());
+        assertTrue(repository.missingIds(Collections.emptyList()).isEmpty());
+    }
+}
@@ -0,0 +1,69 @@
+package eu.koboo.en2do.test.customer.predefined;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFindManyByIdTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 5; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+        assertEquals(5, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void findManyById() {
+        List<UUID> uniqueIdList = new ArrayList<>();
+        for (Customer customer : repository.findAll()) {
+            uniqueIdList.add(customer.getUniqueId());
+        }
+        Collections.reverse(uniqueIdList);
+        UUID unknownUniqueId = UUID.randomUUID();
+        uniqueIdList.add(1, unknownUniqueId);
+
+        Map<UUID, Customer> customerMap = repository.findManyById(uniqueIdList);
+        assertNotNull(customerMap);
+        assertEquals(5, customerMap.size());
+        assertFalse(customerMap.containsKey(unknownUniqueId));
+        for (Map.Entry<UUID, Customer> entry : customerMap.entrySet()) {
+            assertEquals(entry.getKey(), entry.getValue().getUniqueId());
+            assertEquals(Const.FIRST_NAME, entry.getValue().getFirstName());
+        }
+        List<UUID> expectedIdList = new ArrayList<>(uniqueIdList);
+        expectedIdList.remove(unknownUniqueId);
+        assertEquals(expectedIdList, new ArrayList<>(customerMap.keySet()));
+
+        List<Customer> customerList = repository.findManyByIdOrdered(uniqueIdList);
+        assertNotNull(customerList);
+        assertEquals(5, customerList.size());
+        for (int i = 0; i < customerList.size(); i++) {
+            assertEquals(expectedIdList.get(i), customerList.get(i).getUniqueId());
+        }
+
+        assertTrue(repository.findManyById(Collections.emptyList()).isEmpty());
+    }
+}
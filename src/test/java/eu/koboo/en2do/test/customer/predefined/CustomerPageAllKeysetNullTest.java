@@ -0,0 +1,74 @@
+package eu.koboo.en2do.test.customer.predefined;
+
+import eu.koboo.en2do.repository.methods.pagination.PageList;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerPageAllKeysetNullTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 7; i++) {
+            Customer customer = Const.createCustomer();
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            // Three customers without postal code, so the first pages end on null values.
+            customer.setPostalCode(i < 3 ? null : 1000 + i);
+            assertTrue(repository.save(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void pageAscending() {
+        assertAllPaged(true);
+    }
+
+    @Test
+    @Order(4)
+    public void pageDescending() {
+        assertAllPaged(false);
+    }
+
+    private void assertAllPaged(boolean ascending) {
+        Pagination pagination = Pagination.keyset(2)
+            .order("postalCode", ascending);
+        Set<UUID> uniqueIdSet = new HashSet<>();
+        int nullCount = 0;
+        String continuationToken = null;
+        for (int page = 0; page < 4; page++) {
+            PageList<Customer> customerList = repository.pageAll(pagination.after(continuationToken));
+            assertEquals(page < 3 ? 2 : 1, customerList.size());
+            for (Customer customer : customerList) {
+                assertTrue(uniqueIdSet.add(customer.getUniqueId()));
+                if (customer.getPostalCode() == null) {
+                    nullCount++;
+                }
+            }
+            continuationToken = customerList.getContinuationToken();
+        }
+        assertEquals(7, uniqueIdSet.size());
+        assertEquals(3, nullCount);
+        assertTrue(repository.pageAll(pagination.after(continuationToken)).isEmpty());
+    }
+}
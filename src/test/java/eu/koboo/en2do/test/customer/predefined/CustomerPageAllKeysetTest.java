@@ -0,0 +1,83 @@
+package eu.koboo.en2do.test.customer.predefined;
+
+import eu.koboo.en2do.repository.methods.pagination.PageList;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerPageAllKeysetTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 15; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            // Every customer id is used three times, so the pages need the unique id to separate them.
+            customer.setCustomerId(i / 3);
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void findCustomer() {
+        Pagination pagination = Pagination.keyset(4)
+            .order("customerId", false);
+        assertNull(pagination.getContinuationToken());
+
+        int previousCustomerId = Integer.MAX_VALUE;
+        int customerCount = 0;
+        String continuationToken = null;
+        for (int page = 0; page < 4; page++) {
+            PageList<Customer> customerList = repository.pageAll(pagination.after(continuationToken));
+            assertNotNull(customerList);
+            assertEquals(page < 3 ? 4 : 3, customerList.size());
+            for (Customer customer : customerList) {
+                assertTrue(customer.getCustomerId() <= previousCustomerId);
+                previousCustomerId = customer.getCustomerId();
+                customerCount++;
+            }
+            assertNotNull(customerList.getContinuationToken());
+            assertNotEquals(continuationToken, customerList.getContinuationToken());
+            continuationToken = customerList.getContinuationToken();
+        }
+        assertEquals(15, customerCount);
+        PageList<Customer> emptyList = repository.pageAll(pagination.after(continuationToken));
+        assertTrue(emptyList.isEmpty());
+        // An empty page keeps the token, so the pagination can be polled for new entities.
+        assertEquals(continuationToken, emptyList.getContinuationToken());
+
+        // The token can be persisted and used by a new pagination.
+        Pagination restoredPagination = Pagination.keyset(4)
+            .order("customerId", false)
+            .after(continuationToken);
+        assertTrue(repository.pageAll(restoredPagination).isEmpty());
+
+        // Concurrent requests with the same pagination get the same page, because the pagination isn't changed.
+        Pagination sharedPagination = Pagination.keyset(4)
+            .order("customerId", false);
+        PageList<Customer> firstList = repository.pageAll(sharedPagination);
+        PageList<Customer> secondList = repository.pageAll(sharedPagination);
+        assertNull(sharedPagination.getContinuationToken());
+        assertEquals(firstList.getContinuationToken(), secondList.getContinuationToken());
+    }
+}
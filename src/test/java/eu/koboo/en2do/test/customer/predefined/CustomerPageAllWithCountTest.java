@@ -0,0 +1,66 @@
+package eu.koboo.en2do.test.customer.predefined;
+
+import eu.koboo.en2do.repository.methods.pagination.Page;
+import eu.koboo.en2do.repository.methods.pagination.Pagination;
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerPageAllWithCountTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 15; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            assertTrue(repository.save(customer));
+            assertTrue(repository.exists(customer));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void findCustomer() {
+        Page<Customer> page = repository.pageAllWithCount(
+            Pagination.of(5)
+                .order("customerId")
+                .setPage(2)
+        );
+        assertNotNull(page);
+        assertEquals(5, page.getItems().size());
+        assertEquals(5, page.getItems().get(0).getCustomerId());
+        assertEquals(15, page.getTotalCount());
+        assertFalse(page.isTotalCountCapped());
+        assertEquals(3, page.getTotalPages());
+        assertEquals(2, page.getPage());
+        assertTrue(page.isHasNext());
+
+        Page<Customer> lastPage = repository.pageAllWithCount(
+            Pagination.of(5)
+                .setPage(3)
+                .countLimit(10)
+        );
+        assertEquals(5, lastPage.getItems().size());
+        assertFalse(lastPage.isHasNext());
+        assertEquals(10, lastPage.getTotalCount());
+        assertTrue(lastPage.isTotalCountCapped());
+    }
+}
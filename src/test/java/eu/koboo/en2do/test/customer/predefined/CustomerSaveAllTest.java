@@ -0,0 +1,53 @@
+package eu.koboo.en2do.test.customer.predefined;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerSaveAllTest extends CustomerRepositoryTest {
+
+    static final List<Customer> CUSTOMER_LIST = new ArrayList<>();
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        for (int i = 0; i < 15; i++) {
+            Customer customer = Const.createCustomer();
+            assertNotNull(customer);
+            customer.setUniqueId(UUID.randomUUID());
+            customer.setCustomerId(i);
+            CUSTOMER_LIST.add(customer);
+        }
+        assertTrue(repository.saveAll(CUSTOMER_LIST));
+        assertEquals(15, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void updateCustomer() {
+        for (Customer customer : CUSTOMER_LIST) {
+            customer.setFirstName("Updated");
+        }
+        assertTrue(repository.saveAll(CUSTOMER_LIST));
+        assertEquals(15, repository.countAll());
+        for (Customer customer : repository.findAll()) {
+            assertEquals("Updated", customer.getFirstName());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package eu.koboo.en2do.test.customer.predefined;
+
+import eu.koboo.en2do.test.Const;
+import eu.koboo.en2do.test.customer.Customer;
+import eu.koboo.en2do.test.customer.CustomerRepositoryTest;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerSaveAndReturnPreviousTest extends CustomerRepositoryTest {
+
+    @Test
+    @Order(1)
+    public void cleanUpRepository() {
+        List<Customer> customerList = repository.findAll();
+        assertNotNull(customerList);
+        assertTrue(customerList.isEmpty());
+    }
+
+    @Test
+    @Order(2)
+    public void saveCustomer() {
+        Customer customer = Const.createCustomer();
+        assertNotNull(customer);
+        assertNull(repository.saveAndReturnPrevious(customer));
+        assertTrue(repository.exists(customer));
+    }
+
+    @Test
+    @Order(3)
+    public void operationTest() {
+        Customer customer = Const.createCustomer();
+        customer.setFirstName("Updated");
+        Customer previousCustomer = repository.saveAndReturnPrevious(customer);
+        assertNotNull(previousCustomer);
+        assertEquals(Const.FIRST_NAME, previousCustomer.getFirstName());
+
+        Customer savedCustomer = repository.findFirstById(Const.UNIQUE_ID);
+        assertNotNull(savedCustomer);
+        assertEquals("Updated", savedCustomer.getFirstName());
+    }
+}
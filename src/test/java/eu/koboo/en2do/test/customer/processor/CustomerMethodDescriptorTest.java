@@ -0,0 +1,36 @@
+package eu.koboo.en2do.test.customer.processor;
+
+import eu.koboo.en2do.operators.Chain;
+import eu.koboo.en2do.operators.FilterOperator;
+import eu.koboo.en2do.operators.MethodOperator;
+import eu.koboo.en2do.parser.methods.FilterDescriptor;
+import eu.koboo.en2do.parser.methods.MethodDescriptor;
+import eu.koboo.en2do.parser.methods.MethodDescriptorFile;
+import eu.koboo.en2do.test.customer.CustomerRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerMethodDescriptorTest {
+
+    @Test
+    public void readDescriptors() {
+        Map<String, MethodDescriptor> descriptorMap = MethodDescriptorFile.read(CustomerRepository.class);
+        assertFalse(descriptorMap.isEmpty());
+
+        MethodDescriptor descriptor = descriptorMap.get("findFirstByFirstNameAndUniqueId");
+        assertNotNull(descriptor);
+        assertEquals(MethodOperator.FIND, descriptor.getMethodOperator());
+        assertEquals(1L, descriptor.getMethodDefinedEntityCount());
+        assertEquals(Chain.AND, descriptor.getChain());
+        assertEquals(2, descriptor.getExpectedParameterCount());
+        assertEquals(2, descriptor.getFilterList().size());
+
+        FilterDescriptor filter = descriptor.getFilterList().get(0);
+        assertEquals("firstName", filter.getFieldName());
+        assertEquals(FilterOperator.EQUALS, filter.getOperator());
+        assertFalse(filter.isNotFilter());
+    }
+}
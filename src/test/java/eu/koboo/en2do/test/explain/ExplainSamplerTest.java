@@ -0,0 +1,86 @@
+package eu.koboo.en2do.test.explain;
+
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.SettingsBuilder;
+import eu.koboo.en2do.mongodb.explain.ExplainSummary;
+import eu.koboo.en2do.test.RepositoryTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExplainSamplerTest extends RepositoryTest<ExplainedEntity, String, ExplainedEntityRepository> {
+
+    @Override
+    public Class<ExplainedEntityRepository> repositoryClass() {
+        return ExplainedEntityRepository.class;
+    }
+
+    @BeforeAll
+    @Override
+    public void setup() {
+        manager = new MongoManager(new SettingsBuilder()
+            .disableMongoDBLogger()
+            .explainSampleRate(1.0));
+        repository = manager.create(repositoryClass());
+        assertNotNull(repository);
+        assertTrue(repository.deleteAll());
+    }
+
+    @Test
+    @Order(1)
+    public void saveEntities() {
+        List<ExplainedEntity> entityList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            entityList.add(new ExplainedEntity("entity_" + i, "region_" + (i % 4), "owner_" + (i % 2), i));
+        }
+        assertTrue(repository.saveAll(entityList));
+    }
+
+    @Test
+    @Order(2)
+    public void explainUnindexedFind() {
+        assertEquals(10, repository.findManyByOwner("owner_0").size());
+        ExplainSummary summary = manager.getExplainSampler().getSummary(repositoryClass(), "findManyByOwner");
+        assertNotNull(summary);
+        assertEquals(1, summary.getSampleCount());
+        assertEquals(1, summary.getCollectionScanCount());
+        assertEquals(1, summary.getInMemorySortCount());
+        assertEquals(10, summary.getReturned());
+        assertTrue(summary.hasWarnings());
+    }
+
+    @Test
+    @Order(3)
+    public void explainIndexedFind() {
+        assertEquals(5, repository.findManyByRegion("region_1").size());
+        ExplainSummary summary = manager.getExplainSampler().getSummary(repositoryClass(), "findManyByRegion");
+        assertNotNull(summary);
+        assertEquals(1, summary.getSampleCount());
+        assertEquals(0, summary.getCollectionScanCount());
+        assertFalse(summary.hasWarnings());
+    }
+
+    @Test
+    @Order(4)
+    public void explainCount() {
+        assertEquals(10, repository.countByOwner("owner_1"));
+        ExplainSummary summary = manager.getExplainSampler().getSummary(repositoryClass(), "countByOwner");
+        assertNotNull(summary);
+        assertEquals(1, summary.getCollectionScanCount());
+    }
+
+    @Test
+    @Order(5)
+    public void explainPredefinedFind() {
+        assertNotNull(repository.findFirstById("entity_3"));
+        ExplainSummary summary = manager.getExplainSampler().getSummary(repositoryClass(), "findFirstById");
+        assertNotNull(summary);
+        assertFalse(summary.hasWarnings());
+        assertTrue(manager.getExplainSampler().getSummaries().size() >= 4);
+    }
+}
@@ -0,0 +1,24 @@
+package eu.koboo.en2do.test.explain;
+
+import eu.koboo.en2do.repository.entity.Id;
+import eu.koboo.en2do.repository.entity.compound.CompoundIndex;
+import eu.koboo.en2do.repository.entity.compound.Index;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Getter // lombok
+@Setter // lombok
+@NoArgsConstructor // lombok
+@AllArgsConstructor // lombok
+@FieldDefaults(level = AccessLevel.PRIVATE) // lombok
+@ToString // lombok
+@CompoundIndex(@Index("region"))
+public class ExplainedEntity {
+
+    @Id
+    String uniqueId;
+
+    String region;
+    String owner;
+    int level;
+}
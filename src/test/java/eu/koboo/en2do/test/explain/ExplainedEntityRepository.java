@@ -0,0 +1,20 @@
+package eu.koboo.en2do.test.explain;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.methods.sort.SortBy;
+
+import java.util.List;
+
+@Collection("explained_entities")
+public interface ExplainedEntityRepository extends Repository<ExplainedEntity, String> {
+
+    // Served by the index of "region".
+    List<ExplainedEntity> findManyByRegion(String region);
+
+    // Collection scan and in-memory sort.
+    @SortBy(field = "level")
+    List<ExplainedEntity> findManyByOwner(String owner);
+
+    long countByOwner(String owner);
+}
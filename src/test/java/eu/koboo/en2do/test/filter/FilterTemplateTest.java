@@ -0,0 +1,164 @@
+package eu.koboo.en2do.test.filter;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.model.Filters;
+import eu.koboo.en2do.mongodb.methods.dynamic.FilterTemplate;
+import eu.koboo.en2do.mongodb.methods.dynamic.IndexedFilter;
+import eu.koboo.en2do.operators.Chain;
+import eu.koboo.en2do.operators.FilterOperator;
+import org.bson.BsonDocument;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the filters written by the FilterTemplate with the filters,
+ * which were created with "com.mongodb.client.model.Filters" before the templates were introduced.
+ */
+public class FilterTemplateTest {
+
+    private static final CodecRegistry CODEC_REGISTRY = MongoClientSettings.getDefaultCodecRegistry();
+    private static final String UNIQUE_ID_FIELD = "uniqueId";
+
+    private BsonDocument render(Bson filter) {
+        return filter.toBsonDocument(BsonDocument.class, CODEC_REGISTRY);
+    }
+
+    private BsonDocument bindIgnoreCase(Chain chain, List<IndexedFilter> filterList, boolean ignoreCaseByCollation,
+                                        Object... boundValues) {
+        FilterTemplate template = new FilterTemplate(chain, filterList, UNIQUE_ID_FIELD, ignoreCaseByCollation);
+        return render(template.bind(boundValues));
+    }
+
+    private BsonDocument bind(Chain chain, List<IndexedFilter> filterList, Object... boundValues) {
+        return bindIgnoreCase(chain, filterList, false, boundValues);
+    }
+
+    private IndexedFilter filter(String fieldKey, FilterOperator operator) {
+        return new IndexedFilter(fieldKey, false, operator, 0, false);
+    }
+
+    private IndexedFilter notFilter(String fieldKey, FilterOperator operator) {
+        return new IndexedFilter(fieldKey, true, operator, 0, false);
+    }
+
+    @Test
+    public void directSlots() {
+        Date date = new Date(1700000000000L);
+        assertEquals(render(Filters.eq("firstName", "Alice")),
+            bind(Chain.NONE, Collections.singletonList(filter("firstName", FilterOperator.EQUALS)), "Alice"));
+        assertEquals(render(Filters.eq("firstName", null)),
+            bind(Chain.NONE, Collections.singletonList(filter("firstName", FilterOperator.EQUALS)), (Object) null));
+        assertEquals(render(Filters.gt("balance", 1.5)),
+            bind(Chain.NONE, Collections.singletonList(filter("balance", FilterOperator.GREATER_THAN)), 1.5));
+        assertEquals(render(Filters.lt("customerId", 10)),
+            bind(Chain.NONE, Collections.singletonList(filter("customerId", FilterOperator.LESS_THAN)), 10));
+        assertEquals(render(Filters.gte("created", date)),
+            bind(Chain.NONE, Collections.singletonList(filter("created", FilterOperator.GREATER_EQUALS)), date));
+        assertEquals(render(Filters.lte("houseNumber", 5L)),
+            bind(Chain.NONE, Collections.singletonList(filter("houseNumber", FilterOperator.LESS_EQUALS)), 5L));
+    }
+
+    @Test
+    public void constantSlots() {
+        assertEquals(render(Filters.exists("street")),
+            bind(Chain.NONE, Collections.singletonList(filter("street", FilterOperator.EXISTS)), (Object) null));
+        assertEquals(render(Filters.eq("street", null)),
+            bind(Chain.NONE, Collections.singletonList(filter("street", FilterOperator.IS_NULL)), (Object) null));
+        assertEquals(render(Filters.eq("locked", true)),
+            bind(Chain.NONE, Collections.singletonList(filter("locked", FilterOperator.IS_TRUE)), (Object) null));
+        assertEquals(render(Filters.eq("locked", false)),
+            bind(Chain.NONE, Collections.singletonList(filter("locked", FilterOperator.IS_FALSE)), (Object) null));
+    }
+
+    @Test
+    public void negatedSlots() {
+        assertEquals(render(Filters.nor(Filters.eq("firstName", "Alice"))),
+            bind(Chain.NONE, Collections.singletonList(notFilter("firstName", FilterOperator.EQUALS)), "Alice"));
+        assertEquals(render(Filters.nor(Filters.exists("street"))),
+            bind(Chain.NONE, Collections.singletonList(notFilter("street", FilterOperator.EXISTS)), (Object) null));
+    }
+
+    @Test
+    public void nonDirectSlots() {
+        // Non-direct slots get their filter created by the IndexedMethod, the template only embeds it.
+        Bson inFilter = Filters.in("customerId", 1, 2, 3);
+        assertEquals(render(inFilter),
+            bind(Chain.NONE, Collections.singletonList(filter("customerId", FilterOperator.IN)), inFilter));
+
+        Bson containsFilter = Filters.regex("lastName", Pattern.compile("ann", Pattern.CASE_INSENSITIVE));
+        Bson betweenFilter = Filters.and(Filters.gt("balance", 1), Filters.lt("balance", 5));
+        List<IndexedFilter> filterList = Arrays.asList(
+            filter("lastName", FilterOperator.CONTAINS),
+            filter("firstName", FilterOperator.EQUALS),
+            filter("balance", FilterOperator.BETWEEN));
+        assertEquals(render(Filters.and(containsFilter, Filters.eq("firstName", "Alice"), betweenFilter)),
+            bind(Chain.AND, filterList, containsFilter, "Alice", betweenFilter));
+    }
+
+    @Test
+    public void ignoreCaseSlots() {
+        List<IndexedFilter> filterList = Collections.singletonList(filter("firstName", FilterOperator.EQUALS_IGNORE_CASE));
+        // Executed with the collation of the entity, so it's a plain equality.
+        assertEquals(render(Filters.eq("firstName", "alice")), bindIgnoreCase(Chain.NONE, filterList, true, "alice"));
+        // Otherwise the regex filter of the IndexedMethod is embedded.
+        Bson regexFilter = Filters.regex("firstName", Pattern.compile("^alice$", Pattern.CASE_INSENSITIVE));
+        assertEquals(render(regexFilter), bindIgnoreCase(Chain.NONE, filterList, false, regexFilter));
+    }
+
+    @Test
+    public void uniqueIdMapping() {
+        assertEquals(render(Filters.eq("_id", "abc")),
+            bind(Chain.NONE, Collections.singletonList(filter("uniqueId", FilterOperator.EQUALS)), "abc"));
+        // The name of the id field is compared case-insensitive.
+        assertEquals(render(Filters.gt("_id", 3)),
+            bind(Chain.NONE, Collections.singletonList(filter("UniqueId", FilterOperator.GREATER_THAN)), 3));
+        assertEquals(render(Filters.and(Filters.eq("firstName", "Alice"), Filters.eq("_id", "abc"))),
+            bind(Chain.AND, Arrays.asList(filter("firstName", FilterOperator.EQUALS),
+                filter("uniqueId", FilterOperator.EQUALS)), "Alice", "abc"));
+        FilterTemplate template = new FilterTemplate(Chain.NONE,
+            Collections.singletonList(filter("uniqueId", FilterOperator.EQUALS)), UNIQUE_ID_FIELD, false);
+        assertEquals("_id", template.getSlot(0).getFieldKey());
+    }
+
+    @Test
+    public void orChains() {
+        List<IndexedFilter> filterList = Arrays.asList(
+            filter("firstName", FilterOperator.EQUALS),
+            notFilter("lastName", FilterOperator.EQUALS),
+            filter("customerId", FilterOperator.GREATER_THAN),
+            filter("locked", FilterOperator.IS_TRUE));
+        Bson expected = Filters.or(
+            Filters.eq("firstName", "Alice"),
+            Filters.nor(Filters.eq("lastName", "Smith")),
+            Filters.gt("customerId", 7),
+            Filters.eq("locked", true));
+        assertEquals(render(expected), bind(Chain.OR, filterList, "Alice", "Smith", 7, null));
+
+        Bson inFilter = Filters.in("customerId", new ArrayList<>(Arrays.asList(1, 2)));
+        assertEquals(render(Filters.or(Filters.eq("_id", "abc"), inFilter)),
+            bind(Chain.OR, Arrays.asList(filter("uniqueId", FilterOperator.EQUALS),
+                filter("customerId", FilterOperator.IN)), "abc", inFilter));
+    }
+
+    @Test
+    public void rebindTemplate() {
+        // The template is compiled once, every bind writes its own values.
+        FilterTemplate template = new FilterTemplate(Chain.AND, Arrays.asList(
+            filter("firstName", FilterOperator.EQUALS),
+            filter("customerId", FilterOperator.LESS_THAN)), UNIQUE_ID_FIELD, false);
+        Bson first = template.bind(new Object[]{"Alice", 1});
+        Bson second = template.bind(new Object[]{"Bob", 2});
+        assertEquals(render(Filters.and(Filters.eq("firstName", "Alice"), Filters.lt("customerId", 1))), render(first));
+        assertEquals(render(Filters.and(Filters.eq("firstName", "Bob"), Filters.lt("customerId", 2))), render(second));
+    }
+}
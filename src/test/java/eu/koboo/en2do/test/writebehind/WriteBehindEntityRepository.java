@@ -0,0 +1,12 @@
+package eu.koboo.en2do.test.writebehind;
+
+import eu.koboo.en2do.repository.Collection;
+import eu.koboo.en2do.repository.Repository;
+import eu.koboo.en2do.repository.options.WriteBehind;
+
+@Collection("write_behind_entities")
+@WriteBehind(maxBufferSize = 100, flushIntervalMillis = 60_000)
+public interface WriteBehindEntityRepository extends Repository<WriteBehindEntity, String> {
+
+    long countByLevelGreaterThan(int level);
+}
@@ -0,0 +1,191 @@
+package eu.koboo.en2do.test.writebehind;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.WriteModel;
+import eu.koboo.en2do.MongoManager;
+import eu.koboo.en2do.SettingsBuilder;
+import eu.koboo.en2do.mongodb.bulk.BulkResult;
+import eu.koboo.en2do.mongodb.bulk.BulkWriteEngine;
+import eu.koboo.en2do.mongodb.writebehind.WriteBehindBuffer;
+import eu.koboo.en2do.test.RepositoryTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteBehindTest extends RepositoryTest<WriteBehindEntity, String, WriteBehindEntityRepository> {
+
+    @Override
+    public Class<WriteBehindEntityRepository> repositoryClass() {
+        return WriteBehindEntityRepository.class;
+    }
+
+    @BeforeAll
+    @Override
+    public void setup() {
+        // The deletion of the default setup would only be buffered.
+        manager = new MongoManager(new SettingsBuilder().disableMongoDBLogger());
+        repository = manager.create(repositoryClass());
+        assertTrue(repository.drop());
+        assertEquals(0, repository.countAll());
+    }
+
+    @Test
+    @Order(1)
+    public void bufferWrites() {
+        for (int level = 1; level <= 10; level++) {
+            assertTrue(repository.save(new WriteBehindEntity("first", level)));
+            assertTrue(repository.save(new WriteBehindEntity("second", level)));
+        }
+        assertTrue(repository.save(new WriteBehindEntity("third", 1)));
+        assertTrue(repository.deleteById("third"));
+
+        // Nothing is written until the buffer is flushed.
+        assertEquals(0, repository.countAll());
+        assertTrue(repository.flush());
+
+        assertEquals(2, repository.countAll());
+        assertEquals(10, repository.findFirstById("first").getLevel());
+        assertEquals(10, repository.findFirstById("second").getLevel());
+        assertNull(repository.findFirstById("third"));
+    }
+
+    @Test
+    @Order(2)
+    public void flushBeforeFilteredWrite() {
+        assertTrue(repository.save(new WriteBehindEntity("third", 20)));
+        // Dynamic methods can't read the buffer, but filtered writes flush it first.
+        assertEquals(2, repository.countByLevelGreaterThan(5));
+        assertTrue(repository.deleteAll());
+        assertEquals(0, repository.countAll());
+    }
+
+    @Test
+    @Order(3)
+    public void dropRejectedWrites() {
+        WriteBehindBuffer<WriteBehindEntity, String> buffer = manager.getRepositoryData(repositoryClass()).getWriteBehindBuffer();
+        assertNotNull(buffer);
+        long failedWrites = buffer.getMetrics().getFailedWrites();
+        long droppedWrites = buffer.getMetrics().getDroppedWrites();
+
+        // The replacement can't change the unique identifier, so the server rejects the write.
+        buffer.bufferSave("fourth", new WriteBehindEntity("other", 1));
+        assertTrue(repository.save(new WriteBehindEntity("fifth", 1)));
+        assertFalse(repository.flush());
+        assertEquals(failedWrites + 1, buffer.getMetrics().getFailedWrites());
+        assertEquals(droppedWrites + 1, buffer.getMetrics().getDroppedWrites());
+
+        // The rejected write would fail on every retry, so it's dropped. The successful one is written.
+        assertEquals(0, buffer.size());
+        assertNotNull(repository.findFirstById("fifth"));
+        assertNull(repository.findFirstById("fourth"));
+
+        assertTrue(repository.save(new WriteBehindEntity("fourth", 2)));
+        assertTrue(repository.flush());
+        assertEquals(0, buffer.size());
+        assertEquals(2, repository.findFirstById("fourth").getLevel());
+    }
+
+    @Test
+    @Order(4)
+    public void retryFailedFlush() {
+        MongoCollection<WriteBehindEntity> collection = repository.getNativeCollection();
+        AtomicReference<WriteBehindBuffer<WriteBehindEntity, String>> bufferReference = new AtomicReference<>();
+        BulkWriteEngine failingEngine = new BulkWriteEngine(new SettingsBuilder(), null) {
+            boolean failed;
+
+            @Override
+            public <E> BulkResult execute(MongoCollection<E> entityCollection, List<WriteModel<E>> writeModelList) {
+                if (failed) {
+                    return super.execute(entityCollection, writeModelList);
+                }
+                failed = true;
+                // The entity is written again, while the flush is running.
+                bufferReference.get().bufferSave("sixth", new WriteBehindEntity("sixth", 2));
+                throw new MongoSocketException("Simulated failure of the bulk write", new ServerAddress());
+            }
+        };
+        WriteBehindBuffer<WriteBehindEntity, String> buffer = new WriteBehindBuffer<>(failingEngine, collection, null,
+            100, WriteBehindBuffer.DEFAULT_MAX_ATTEMPTS);
+        bufferReference.set(buffer);
+
+        buffer.bufferSave("sixth", new WriteBehindEntity("sixth", 1));
+        buffer.bufferSave("seventh", new WriteBehindEntity("seventh", 1));
+        assertThrows(MongoSocketException.class, buffer::flush);
+        assertEquals(2, buffer.getMetrics().getFailedWrites());
+        assertEquals(1, buffer.getMetrics().getRetriedWrites());
+
+        // Nothing is lost and the newer write wins over the failed one.
+        assertEquals(2, buffer.size());
+        assertNull(repository.findFirstById("sixth"));
+        assertTrue(buffer.flush().isSuccessful());
+        assertEquals(0, buffer.size());
+        assertEquals(2, repository.findFirstById("sixth").getLevel());
+        assertEquals(1, repository.findFirstById("seventh").getLevel());
+    }
+
+    @Test
+    @Order(5)
+    public void closeWithFailedWrites() {
+        MongoManager closingManager = new MongoManager(new SettingsBuilder().disableMongoDBLogger());
+        WriteBehindEntityRepository closingRepository = closingManager.create(repositoryClass());
+        assertNotNull(closingRepository);
+        WriteBehindBuffer<WriteBehindEntity, String> buffer = closingManager.getRepositoryData(repositoryClass())
+            .getWriteBehindBuffer();
+        buffer.bufferSave("eighth", new WriteBehindEntity("other", 1));
+        assertThrows(RuntimeException.class, closingManager::close);
+        assertNull(repository.findFirstById("eighth"));
+    }
+
+    @Test
+    @Order(6)
+    public void flushBeforeInsert() {
+        assertTrue(repository.save(new WriteBehindEntity("ninth", 1)));
+        assertTrue(repository.deleteById("ninth"));
+        // The buffered delete is written before the insert, so it can't remove the inserted entity later.
+        assertTrue(repository.insertAll(Collections.singletonList(new WriteBehindEntity("ninth", 2))));
+        assertTrue(repository.flush());
+        assertEquals(2, repository.findFirstById("ninth").getLevel());
+    }
+
+    @Test
+    @Order(7)
+    public void dropFailedFlush() {
+        MongoCollection<WriteBehindEntity> collection = repository.getNativeCollection();
+        AtomicReference<RuntimeException> exceptionReference = new AtomicReference<>();
+        BulkWriteEngine failingEngine = new BulkWriteEngine(new SettingsBuilder(), null) {
+            @Override
+            public <E> BulkResult execute(MongoCollection<E> entityCollection, List<WriteModel<E>> writeModelList) {
+                throw exceptionReference.get();
+            }
+        };
+        WriteBehindBuffer<WriteBehindEntity, String> buffer = new WriteBehindBuffer<>(failingEngine, collection, null,
+            100, 2);
+
+        // A transient failure is only retried until the maximum attempts are reached.
+        exceptionReference.set(new MongoSocketException("Simulated failure of the bulk write", new ServerAddress()));
+        buffer.bufferSave("tenth", new WriteBehindEntity("tenth", 1));
+        assertThrows(MongoSocketException.class, buffer::flush);
+        assertEquals(1, buffer.size());
+        assertThrows(MongoSocketException.class, buffer::flush);
+        assertEquals(0, buffer.size());
+        assertEquals(1, buffer.getMetrics().getRetriedWrites());
+        assertEquals(1, buffer.getMetrics().getDroppedWrites());
+
+        // Any other failure isn't retried at all.
+        exceptionReference.set(new MongoException("Simulated failure of the bulk write"));
+        buffer.bufferSave("eleventh", new WriteBehindEntity("eleventh", 1));
+        assertThrows(MongoException.class, buffer::flush);
+        assertEquals(0, buffer.size());
+        assertEquals(2, buffer.getMetrics().getDroppedWrites());
+        assertEquals(0.0, buffer.getMetrics().getCoalescingRatio());
+    }
+}